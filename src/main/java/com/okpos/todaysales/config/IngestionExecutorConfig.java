@@ -0,0 +1,63 @@
+package com.okpos.todaysales.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class IngestionExecutorConfig {
+
+    /**
+     * 웹훅 매출 수집 전용 스레드 풀
+     *
+     * DB 저장을 Tomcat 요청 스레드와 분리하여, DB 가 느려져도 대시보드 조회를 처리할 요청 스레드가 남도록 한다.
+     * 대기열이 가득 차면 작업을 받지 않고 즉시 거절하며(컨트롤러에서 503), 호출 스레드에서 대신 실행하지 않는다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor ingestionExecutor(MeterRegistry meterRegistry,
+                                                    @Value("${sales.ingestion.executor.core-size:16}") int coreSize,
+                                                    @Value("${sales.ingestion.executor.max-size:32}") int maxSize,
+                                                    @Value("${sales.ingestion.executor.queue-capacity:500}") int queueCapacity) {
+        Counter rejectedCounter = Counter.builder("sales.ingestion.executor.rejected")
+                .description("Webhook tasks rejected because the ingestion queue was full")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ingestion-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("매출 수집 대기열이 가득 찼습니다: " + pool.getQueue().size());
+        });
+
+        // 애플리케이션 종료 시 접수된 매출 저장 완료 대기
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Gauge.builder("sales.ingestion.executor.queue", pool, p -> p.getQueue().size())
+                .description("Webhook tasks waiting in the ingestion queue")
+                .register(meterRegistry);
+        Gauge.builder("sales.ingestion.executor.queue.remaining", pool, p -> p.getQueue().remainingCapacity())
+                .description("Free slots left in the ingestion queue")
+                .register(meterRegistry);
+        Gauge.builder("sales.ingestion.executor.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Ingestion threads currently storing sales")
+                .register(meterRegistry);
+        Gauge.builder("sales.ingestion.executor.pool", pool, ThreadPoolExecutor::getPoolSize)
+                .description("Ingestion threads currently alive")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
@@ -38,6 +38,9 @@ public class RabbitMQConfig {
     @Value("${spring.rabbitmq.virtual-host:/}")
     private String virtualHost;
     
+    @Value("${sales.threads.virtual.listener-max-consumers:50}")
+    private int virtualListenerMaxConsumers;
+    
     public static final String SALES_EXCHANGE = "sales.exchange";
     public static final String SALES_QUEUE = "sales.queue";
     public static final String SETTLEMENT_QUEUE = "settlement.queue";
@@ -111,7 +114,7 @@ public class RabbitMQConfig {
     
     @Bean
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-            ConnectionFactory connectionFactory) {
+            ConnectionFactory connectionFactory, VirtualThreadSupport virtualThreadSupport) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(jsonMessageConverter());
@@ -120,6 +123,11 @@ public class RabbitMQConfig {
         factory.setPrefetchCount(10);
         factory.setDefaultRequeueRejected(false);
         factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        if (virtualThreadSupport.isEnabled()) {
+            // 소비자마다 가상 스레드를 사용하므로 스레드 수 대신 소비자 수 상한만 늘림
+            factory.setTaskExecutor(virtualThreadSupport.newThreadPerTaskExecutor("rabbit-vt-"));
+            factory.setMaxConcurrentConsumers(Math.max(10, virtualListenerMaxConsumers));
+        }
         return factory;
     }
     
@@ -241,6 +249,18 @@ public class RabbitMQConfig {
                 .with(NOTIFICATION_ROUTING_KEY);
     }
     
+    /**
+     * 매출 생성 이벤트(sales.created)를 알림 큐에도 라우팅
+     * 한 번의 발행(직렬화 1회, confirm 1회)으로 sales.queue 와 notification.queue 에 모두 전달된다.
+     */
+    @Bean
+    public Binding notificationSaleCreatedBinding() {
+        return BindingBuilder
+                .bind(notificationQueue())
+                .to(salesExchange())
+                .with(SALES_ROUTING_KEY);
+    }
+    
     @Bean
     public Binding dlqSalesBinding() {
         return BindingBuilder
@@ -1,5 +1,6 @@
 package com.okpos.todaysales.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
@@ -12,14 +13,21 @@ public class SchedulerConfig {
      * 스케줄러 전용 스레드 풀 설정
      */
     @Bean
-    public TaskScheduler taskScheduler() {
+    public TaskScheduler taskScheduler(VirtualThreadSupport virtualThreadSupport,
+                                       @Value("${sales.threads.virtual.scheduler-pool-size:32}") int virtualPoolSize) {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
 
-        // 기본 스레드 수 (동시 실행 가능한 스케줄 작업 수)
-        scheduler.setPoolSize(5);
-
-        // 스레드 이름 접두사
-        scheduler.setThreadNamePrefix("settlement-scheduler-");
+        if (virtualThreadSupport.isEnabled()) {
+            // 가상 스레드 모드: 블로킹 작업이 서로를 지연시키지 않도록 스케줄 작업 수보다 넉넉한 가상 스레드 사용
+            scheduler.setPoolSize(virtualPoolSize);
+            scheduler.setThreadFactory(virtualThreadSupport.threadFactory("settlement-scheduler-vt-"));
+        } else {
+            // 기본 스레드 수 (동시 실행 가능한 스케줄 작업 수)
+            scheduler.setPoolSize(5);
+
+            // 스레드 이름 접두사
+            scheduler.setThreadNamePrefix("settlement-scheduler-");
+        }
 
         // 애플리케이션 종료 시 실행 중인 작업 완료 대기
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
@@ -0,0 +1,24 @@
+package com.okpos.todaysales.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class VirtualThreadConfig {
+
+    /**
+     * 가상 스레드 모드에서 Tomcat 요청 처리를 요청마다 새 가상 스레드로 실행
+     * (server.tomcat.threads.max 대신 server.tomcat.max-connections 가 동시 요청 수의 상한이 됨)
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            VirtualThreadSupport virtualThreadSupport) {
+        return protocolHandler -> {
+            if (virtualThreadSupport.isEnabled()) {
+                protocolHandler.setExecutor(virtualThreadSupport.newThreadPerTaskExecutor("http-vt-"));
+            }
+        };
+    }
+}
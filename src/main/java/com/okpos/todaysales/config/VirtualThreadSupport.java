@@ -0,0 +1,94 @@
+package com.okpos.todaysales.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(JDK 21+) 실행 모드
+ *
+ * sales.threads.mode=virtual 이고 런타임이 JDK 21 이상인 경우에만 활성화되며, 그 외에는 기존 플랫폼 스레드 풀 설정을 그대로 사용한다.
+ * 소스 레벨(Java 11)에서 컴파일할 수 있도록 가상 스레드 API 는 리플렉션으로 호출한다.
+ *
+ * 가상 스레드는 스레드 수가 아닌 커넥션 풀(Hikari)과 부하 차단 한도가 동시성의 상한이 되므로,
+ * 모드 전환 시 sales.load-shedding.max-in-flight 와 커넥션 풀 크기를 함께 검토해야 한다.
+ */
+@Slf4j
+@Component
+public class VirtualThreadSupport implements DisposableBean {
+
+    private static final int MIN_FEATURE_VERSION = 21;
+
+    private final boolean enabled;
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+
+    public VirtualThreadSupport(@Value("${sales.threads.mode:platform}") String mode) {
+        boolean requested = "virtual".equalsIgnoreCase(mode);
+        boolean supported = isSupported();
+        this.enabled = requested && supported;
+
+        if (requested && !supported) {
+            log.warn("가상 스레드 모드는 JDK {} 이상에서만 지원됩니다 (현재 {}) - 플랫폼 스레드로 실행합니다",
+                    MIN_FEATURE_VERSION, Runtime.version());
+        } else if (enabled) {
+            log.info("가상 스레드 실행 모드 활성화 (JDK {})", Runtime.version());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 생성하는 Executor (컨텍스트 종료 시 함께 종료)
+     */
+    public ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory(threadNamePrefix));
+            executors.add(executor);
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 Executor 생성 실패", e);
+        }
+    }
+
+    /**
+     * 이름이 prefix + 순번인 가상 스레드 ThreadFactory
+     */
+    public ThreadFactory threadFactory(String threadNamePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 ThreadFactory 생성 실패", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executors.forEach(ExecutorService::shutdown);
+    }
+
+    private static boolean isSupported() {
+        if (Runtime.version().feature() < MIN_FEATURE_VERSION) {
+            return false;
+        }
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
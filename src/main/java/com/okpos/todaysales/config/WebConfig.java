@@ -0,0 +1,39 @@
+package com.okpos.todaysales.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.okpos.todaysales.ratelimit.LoadSheddingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LoadSheddingInterceptor loadSheddingInterceptor;
+
+    /**
+     * POS 웹훅 수집 경로에만 부하 차단 적용 (조회 API 는 대상 아님)
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(loadSheddingInterceptor)
+                .addPathPatterns("/api/v1/sales/webhook", "/api/v1/sales/webhook/**");
+    }
+
+    /**
+     * application/cbor 요청·응답 변환기
+     *
+     * JSON 변환기와 같은 spring.jackson 설정(날짜 형식, 모듈)을 적용한 빌더로 만들어
+     * 같은 DTO 와 @Valid 검증을 JSON 경로와 동일하게 사용한다.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,47 @@
+package com.okpos.todaysales.controller;
+
+import com.okpos.todaysales.dto.FeeScheduleRequest;
+import com.okpos.todaysales.dto.ServerApiResponse;
+import com.okpos.todaysales.entity.FeeSchedule;
+import com.okpos.todaysales.service.FeeScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/fee-schedules")
+@RequiredArgsConstructor
+@Tag(name = "FeeSchedule", description = "계약 수수료율 관리 API")
+public class FeeScheduleController {
+
+    private final FeeScheduleService feeScheduleService;
+
+    @GetMapping
+    @Operation(summary = "계약 수수료율 목록", description = "등록된 가맹점/업종별 계약 수수료율을 적용일 순으로 조회합니다")
+    public ResponseEntity<ServerApiResponse<List<FeeSchedule>>> getSchedules() {
+        return ResponseEntity.ok(ServerApiResponse.success(feeScheduleService.getSchedules()));
+    }
+
+    @PostMapping
+    @Operation(summary = "계약 수수료율 등록",
+            description = "가맹점 또는 업종의 결제수단별 수수료율을 적용 시작일과 함께 등록합니다. 등록 즉시 수수료 계산에 반영됩니다.")
+    public ResponseEntity<ServerApiResponse<FeeSchedule>> createSchedule(
+            @Valid @RequestBody FeeScheduleRequest request) {
+        FeeSchedule schedule = feeScheduleService.createSchedule(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ServerApiResponse.success("계약 수수료율이 등록되었습니다", schedule));
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "계약 수수료율 다시 읽기", description = "DB 에 직접 변경한 계약 수수료율을 즉시 반영합니다")
+    public ResponseEntity<ServerApiResponse<Void>> reload() {
+        feeScheduleService.reload();
+        return ResponseEntity.ok(ServerApiResponse.success("계약 수수료율을 다시 읽었습니다", null));
+    }
+}
@@ -1,5 +1,8 @@
 package com.okpos.todaysales.controller;
 
+import com.okpos.todaysales.logging.LogSamplingService;
+import com.okpos.todaysales.service.DashboardHashConsistencyChecker;
+import com.okpos.todaysales.service.SaleStageMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
@@ -7,12 +10,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.metrics.MetricsEndpoint;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,6 +32,9 @@ public class MonitoringController {
     private final HealthEndpoint healthEndpoint;
     private final MetricsEndpoint metricsEndpoint;
     private final MeterRegistry meterRegistry;
+    private final SaleStageMetrics saleStageMetrics;
+    private final LogSamplingService logSamplingService;
+    private final DashboardHashConsistencyChecker dashboardHashConsistencyChecker;
 
     @GetMapping("/health")
     @Operation(summary = "시스템 헬스 체크", description = "전체 시스템의 상태를 확인합니다")
@@ -68,6 +78,39 @@ public class MonitoringController {
         }
     }
 
+    @GetMapping("/sales/stages")
+    @Operation(summary = "매출 등록 단계별 지연 시간", description = "단건 매출 등록 경로의 단계별 최근 p50/p95/p99/max (ms) 를 조회합니다")
+    public ResponseEntity<Map<String, Object>> getSaleStageLatency() {
+        return ResponseEntity.ok(saleStageMetrics.summarize());
+    }
+
+    @GetMapping("/logging/sampling")
+    @Operation(summary = "로그 샘플링 상태", description = "로거별 샘플링 비율과 샘플링·비동기 큐 초과로 버려진 로그 건수를 조회합니다")
+    public ResponseEntity<Map<String, Object>> getLogSampling() {
+        return ResponseEntity.ok(logSamplingService.getStatus());
+    }
+
+    @PutMapping("/logging/sampling")
+    @Operation(summary = "로그 샘플링 비율 변경", description = "로거(또는 패키지)의 INFO 이하 로그 기록 비율을 변경합니다 (1.0 이면 해제)")
+    public ResponseEntity<Map<String, Object>> updateLogSampling(
+            @RequestParam String logger,
+            @RequestParam double rate) {
+        logSamplingService.setRate(logger, rate);
+        return ResponseEntity.ok(logSamplingService.getStatus());
+    }
+
+    @PostMapping("/dashboard-hash/check")
+    @Operation(summary = "대시보드 해시 정합성 점검",
+               description = "표본 가맹점의 대시보드 해시를 DB 집계와 비교하고 어긋난 해시를 지웁니다 (날짜를 생략하면 Redis 에 있는 모든 날짜의 해시에서 표본 추출)")
+    public ResponseEntity<Map<String, Object>> checkDashboardHash(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date) {
+        return ResponseEntity.ok(date == null
+                ? dashboardHashConsistencyChecker.checkCachedHashes()
+                : dashboardHashConsistencyChecker.check(date));
+    }
+
     @GetMapping("/prometheus")
     @Operation(summary = "Prometheus 메트릭", description = "Prometheus 형식의 메트릭을 조회합니다")
     public ResponseEntity<String> getPrometheusMetrics() {
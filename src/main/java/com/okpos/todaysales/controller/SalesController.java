@@ -1,6 +1,13 @@
 package com.okpos.todaysales.controller;
 
 import com.okpos.todaysales.dto.*;
+import com.okpos.todaysales.exception.InvalidRequestException;
+import com.okpos.todaysales.exception.RateLimitExceededException;
+import com.okpos.todaysales.exception.ServiceOverloadedException;
+import com.okpos.todaysales.exception.StoreNotFoundException;
+import com.okpos.todaysales.journal.SaleJournal;
+import com.okpos.todaysales.ratelimit.StoreRateLimiter;
+import com.okpos.todaysales.service.SaleImportService;
 import com.okpos.todaysales.service.SalesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,14 +24,26 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -35,33 +54,77 @@ import java.time.YearMonth;
 public class SalesController {
     
     private final SalesService salesService;
+    private final SaleJournal saleJournal;
+    private final SaleImportService saleImportService;
+    private final StoreRateLimiter storeRateLimiter;
+    private final ThreadPoolTaskExecutor ingestionExecutor;
+    
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CBOR_SEQ_MEDIA_TYPE = "application/cbor-seq";
+    private static final long INGESTION_RETRY_AFTER_SECONDS = 1;
     
     @Operation(
             summary = "매출 데이터 수신",
-            description = "외부 POS 시스템이나 결제 시스템에서 매출 데이터를 전송받아 시스템에 등록합니다."
+            description = "외부 POS 시스템이나 결제 시스템에서 매출 데이터를 전송받아 시스템에 등록합니다. " +
+                    "본문은 JSON 또는 CBOR(Content-Type: application/cbor, 스키마 /schemas/sale-request.cddl)로 보낼 수 있습니다."
     )
     @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "이미 등록된 매출의 재전송 (기존 매출을 duplicate=true 와 함께 반환)",
+                    content = @Content(schema = @Schema(implementation = ServerApiResponse.class))),
             @ApiResponse(responseCode = "201", description = "매출 등록 성공",
                     content = @Content(schema = @Schema(implementation = ServerApiResponse.class))),
+            @ApiResponse(responseCode = "202", description = "매출 접수 성공 (쓰기 지연 수집 모드, 저널 기록 후 비동기 반영)",
+                    content = @Content(schema = @Schema(implementation = ServerApiResponse.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터",
                     content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "가맹점을 찾을 수 없음",
                     content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "가맹점별 요청 한도 초과 (Retry-After 이후 재시도)",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "서버 내부 오류",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "서버 과부하 (Retry-After 이후 재시도)",
                     content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class)))
     })
     @PostMapping("/webhook")
-    public ResponseEntity<ServerApiResponse<SaleResponse>> createSale(
+    public CompletableFuture<ResponseEntity<ServerApiResponse<SaleResponse>>> createSale(
             @Parameter(description = "매출 데이터", required = true)
             @Valid @RequestBody SaleRequest request) {
+        // 한도 초과 시 GlobalExceptionHandler 에서 429 로 응답
+        storeRateLimiter.acquire(request.getBusinessNumber(), 1);
+
+        // 저장은 수집 전용 스레드 풀에서 처리하고 요청 스레드는 즉시 반환
+        return submitIngestion(() -> handleSale(request));
+    }
+    
+    private ResponseEntity<ServerApiResponse<SaleResponse>> handleSale(SaleRequest request) {
         try {
-            log.info("매출 데이터 수신: {}", request.getOrderNumber());
+            log.info("매출 데이터 수신: orderNumber={}", request.getOrderNumber());
+            
+            if (saleJournal.isEnabled()) {
+                // 쓰기 지연 모드: 검증 후 저널에 기록(fsync)하고 즉시 접수 응답
+                salesService.validateSale(request);
+                saleJournal.append(request);
+                
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(ServerApiResponse.success("매출이 접수되었습니다", null));
+            }
             
             SaleResponse response = salesService.createSale(request);
             
+            if (Boolean.TRUE.equals(response.getDuplicate())) {
+                // POS 재전송: 기존 매출을 그대로 반환
+                return ResponseEntity.ok(ServerApiResponse.success("이미 등록된 매출입니다", response));
+            }
+            
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ServerApiResponse.success("매출이 성공적으로 등록되었습니다", response));
                     
+        } catch (InvalidRequestException | StoreNotFoundException
+                 | RateLimitExceededException | ServiceOverloadedException e) {
+            // GlobalExceptionHandler 에서 400/404/429/503 (Retry-After 포함) 으로 응답
+            throw e;
+            
         } catch (IllegalArgumentException e) {
             log.error("매출 등록 실패 - 유효하지 않은 데이터: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -74,6 +137,179 @@ public class SalesController {
         }
     }
     
+    @Operation(
+            summary = "매출 데이터 일괄 수신",
+            description = "POS 집계 시스템에서 여러 건의 매출 데이터를 한 번에 전송받아 등록합니다. " +
+                    "건별로 등록(CREATED), 중복(DUPLICATE), 검증 실패(INVALID) 결과를 반환하며 일부 건의 실패가 전체 요청을 실패시키지 않습니다. " +
+                    "본문은 JSON 배열 또는 CBOR array(Content-Type: application/cbor)로 보낼 수 있습니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "일괄 등록 처리 완료 (건별 결과 포함)",
+                    content = @Content(schema = @Schema(implementation = ServerApiResponse.class))),
+            @ApiResponse(responseCode = "400", description = "빈 요청 또는 최대 건수 초과",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "가맹점별 요청 한도 초과 (Retry-After 이후 재시도)",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "서버 과부하 (Retry-After 이후 재시도)",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class)))
+    })
+    @PostMapping("/webhook/batch")
+    public CompletableFuture<ResponseEntity<ServerApiResponse<SaleBatchResponse>>> createSales(
+            @Parameter(description = "매출 데이터 목록 (최대 1000건)", required = true)
+            @RequestBody
+            @NotEmpty(message = "매출 데이터가 비어 있습니다")
+            @Size(max = 1000, message = "한 번에 최대 1000건까지 등록할 수 있습니다")
+            List<SaleRequest> requests) {
+        // 가맹점별 건수만큼 차감 (한도 초과 시 요청 전체를 429 로 거절)
+        requests.stream()
+                .filter(request -> request != null && request.getBusinessNumber() != null)
+                .collect(Collectors.groupingBy(SaleRequest::getBusinessNumber, Collectors.counting()))
+                .forEach((businessNumber, count) -> storeRateLimiter.acquire(businessNumber, count.intValue()));
+
+        return submitIngestion(() -> handleSales(requests));
+    }
+
+    private ResponseEntity<ServerApiResponse<SaleBatchResponse>> handleSales(List<SaleRequest> requests) {
+        try {
+            log.info("매출 데이터 일괄 수신: count={}", requests.size());
+
+            SaleBatchResponse response = salesService.createSales(requests);
+
+            log.info("매출 일괄 등록 결과: created={}, duplicate={}, invalid={}",
+                    response.getCreatedCount(), response.getDuplicateCount(), response.getInvalidCount());
+
+            return ResponseEntity.ok(ServerApiResponse.success("매출 일괄 등록이 처리되었습니다", response));
+
+        } catch (Exception e) {
+            log.error("매출 일괄 등록 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ServerApiResponse.error("매출 일괄 등록 중 오류가 발생했습니다"));
+        }
+    }
+
+    /**
+     * 수집 전용 스레드 풀에 작업 제출 (대기열이 가득 차면 GlobalExceptionHandler 에서 503 으로 응답)
+     */
+    private <T> CompletableFuture<T> submitIngestion(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, ingestionExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("매출 수집 대기열 포화로 요청 거절: {}", e.getMessage());
+            throw new ServiceOverloadedException("ingestion_queue", INGESTION_RETRY_AFTER_SECONDS);
+        }
+    }
+
+    @Operation(
+            summary = "매출 데이터 대량 가져오기 (NDJSON)",
+            description = "오프라인 모드에서 복귀한 POS 의 대량 매출을 한 줄에 하나의 매출 JSON 인 NDJSON 본문으로 전송받아 등록합니다. " +
+                    "본문을 스트리밍으로 읽어 일정 건수(chunk) 단위로 커밋하며, 커밋된 줄별 결과를 NDJSON 으로 즉시 응답합니다. " +
+                    "마지막 줄에는 전체 처리 결과(summary)가 포함됩니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "가져오기 처리 (줄별 결과 NDJSON 스트림)",
+                    content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                            schema = @Schema(implementation = SaleImportReport.LineResult.class)))
+    })
+    @PostMapping(value = "/import", consumes = NDJSON_MEDIA_TYPE, produces = NDJSON_MEDIA_TYPE)
+    public void importSales(
+            @Parameter(description = "매출 데이터 NDJSON (한 줄에 매출 1건)", required = true)
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        log.info("매출 데이터 가져오기 시작");
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        SaleImportReport.Summary summary = saleImportService.importSales(body, response.getOutputStream());
+
+        log.info("매출 가져오기 완료 - 전체: {}, 등록: {}, 중복: {}, 실패: {}, 소요: {}ms",
+                summary.getTotalCount(), summary.getCreatedCount(), summary.getDuplicateCount(),
+                summary.getInvalidCount(), summary.getElapsedMillis());
+    }
+
+    @Operation(
+            summary = "매출 데이터 대량 가져오기 (CBOR sequence)",
+            description = "NDJSON 가져오기와 같은 처리를 매출 CBOR map 을 구분자 없이 이어 붙인 CBOR sequence(RFC 8742) 본문으로 수행합니다. " +
+                    "레코드 스키마는 /schemas/sale-request.cddl 을 따르며, 결과는 레코드 순번을 줄 번호로 하는 NDJSON 으로 응답합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "가져오기 처리 (레코드별 결과 NDJSON 스트림)",
+                    content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                            schema = @Schema(implementation = SaleImportReport.LineResult.class)))
+    })
+    @PostMapping(value = "/import", consumes = CBOR_SEQ_MEDIA_TYPE, produces = NDJSON_MEDIA_TYPE)
+    public void importCborSales(
+            @Parameter(description = "매출 데이터 CBOR sequence", required = true)
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        log.info("매출 데이터 가져오기 시작 (CBOR)");
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        SaleImportReport.Summary summary = saleImportService.importCborSequence(body, response.getOutputStream());
+
+        log.info("매출 가져오기 완료 (CBOR) - 전체: {}, 등록: {}, 중복: {}, 실패: {}, 소요: {}ms",
+                summary.getTotalCount(), summary.getCreatedCount(), summary.getDuplicateCount(),
+                summary.getInvalidCount(), summary.getElapsedMillis());
+    }
+
+    @Operation(
+            summary = "매출 취소",
+            description = "주문번호의 매출을 취소합니다. 캐시된 대시보드 집계에서 해당 매출만큼 차감하며, " +
+                    "이미 정산된 매출은 다음 정산에 반영할 음수 조정을 생성합니다. 이미 취소된 매출이면 변경 없이 200 으로 응답합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "매출 취소 성공 (또는 이미 취소된 매출)",
+                    content = @Content(schema = @Schema(implementation = ServerApiResponse.class))),
+            @ApiResponse(responseCode = "400", description = "취소할 수 없는 매출 상태 (환불 완료 등)",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "매출을 찾을 수 없음",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class)))
+    })
+    @PostMapping("/orders/{orderNumber}/cancel")
+    public ResponseEntity<ServerApiResponse<SaleResponse>> cancelSale(
+            @Parameter(description = "주문번호", required = true, example = "ORDER-20240115-001")
+            @PathVariable String orderNumber,
+            @Parameter(description = "취소 사유")
+            @Valid @RequestBody(required = false) SaleReversalRequest request) {
+        log.info("매출 취소 요청: {}", orderNumber);
+
+        SaleResponse response = salesService.cancelSale(orderNumber, request != null ? request.getReason() : null);
+        String message = Boolean.TRUE.equals(response.getDuplicate()) ? "이미 취소된 매출입니다" : "매출이 취소되었습니다";
+        return ResponseEntity.ok(ServerApiResponse.success(message, response));
+    }
+
+    @Operation(
+            summary = "매출 환불",
+            description = "주문번호의 매출을 환불 처리합니다. 캐시된 대시보드 집계에서 해당 매출만큼 차감하며, " +
+                    "이미 정산된 매출은 다음 정산에 반영할 음수 조정을 생성합니다. 이미 환불된 매출이면 변경 없이 200 으로 응답합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "매출 환불 성공 (또는 이미 환불된 매출)",
+                    content = @Content(schema = @Schema(implementation = ServerApiResponse.class))),
+            @ApiResponse(responseCode = "400", description = "환불할 수 없는 매출 상태 (취소 완료 등)",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "매출을 찾을 수 없음",
+                    content = @Content(schema = @Schema(implementation = com.okpos.todaysales.dto.ErrorResponse.class)))
+    })
+    @PostMapping("/orders/{orderNumber}/refund")
+    public ResponseEntity<ServerApiResponse<SaleResponse>> refundSale(
+            @Parameter(description = "주문번호", required = true, example = "ORDER-20240115-001")
+            @PathVariable String orderNumber,
+            @Parameter(description = "환불 사유")
+            @Valid @RequestBody(required = false) SaleReversalRequest request) {
+        log.info("매출 환불 요청: {}", orderNumber);
+
+        SaleResponse response = salesService.refundSale(orderNumber, request != null ? request.getReason() : null);
+        String message = Boolean.TRUE.equals(response.getDuplicate()) ? "이미 환불된 매출입니다" : "매출이 환불되었습니다";
+        return ResponseEntity.ok(ServerApiResponse.success(message, response));
+    }
+
     @Operation(
             summary = "대시보드 조회",
             description = "특정 날짜의 매출 대시보드 데이터를 조회합니다. 일일 총매출, 거래건수, 결제수단별 통계, 시간대별 매출을 포함합니다."
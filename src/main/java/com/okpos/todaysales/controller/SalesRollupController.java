@@ -0,0 +1,34 @@
+package com.okpos.todaysales.controller;
+
+import com.okpos.todaysales.dto.ServerApiResponse;
+import com.okpos.todaysales.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/sales/rollups")
+@RequiredArgsConstructor
+@Tag(name = "SalesRollup", description = "시간대별 매출 집계 관리 API")
+public class SalesRollupController {
+
+    private final SalesRollupService salesRollupService;
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "시간대별 매출 집계 재계산",
+            description = "기간(종료일 포함)의 대시보드·월별 리포트용 집계를 원본 매출에서 하루 단위로 다시 계산합니다")
+    public ResponseEntity<ServerApiResponse<Integer>> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "시작 날짜") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "종료 날짜") LocalDate endDate) {
+        int rows = salesRollupService.rebuild(startDate, endDate);
+        return ResponseEntity.ok(ServerApiResponse.success("시간대별 매출 집계를 다시 계산했습니다", rows));
+    }
+}
@@ -2,7 +2,9 @@ package com.okpos.todaysales.controller;
 
 import com.okpos.todaysales.entity.Sale;
 import com.okpos.todaysales.entity.Settlement;
+import com.okpos.todaysales.entity.SettlementDelta;
 import com.okpos.todaysales.repository.SettlementRepository;
+import com.okpos.todaysales.service.LateSaleSettlementService;
 import com.okpos.todaysales.service.SettlementBatchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,6 +26,7 @@ public class SettlementController {
 
     private final SettlementBatchService settlementBatchService;
     private final SettlementRepository settlementRepository;
+    private final LateSaleSettlementService lateSaleSettlementService;
 
     @PostMapping("/manual")
     @Operation(summary = "수동 정산 실행", description = "특정 날짜의 매출을 수동으로 정산합니다")
@@ -103,4 +106,18 @@ public class SettlementController {
         boolean exists = settlementRepository.existsBySettlementDate(date);
         return ResponseEntity.ok(exists);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/late")
+    @Operation(summary = "지연 매출 증분 정산", description = "일일 정산 이후 도착한 매출을 매출일별 증분 정산으로 반영합니다")
+    public ResponseEntity<List<SettlementDelta>> runLateSettlement() {
+        return ResponseEntity.ok(lateSaleSettlementService.settleLateSales());
+    }
+
+    @GetMapping("/date/{date}/deltas")
+    @Operation(summary = "날짜별 증분 정산 조회", description = "특정 날짜의 지연 매출 증분 정산 목록을 조회합니다")
+    public ResponseEntity<List<SettlementDelta>> getSettlementDeltas(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        return ResponseEntity.ok(lateSaleSettlementService.getDeltas(date));
+    }
+}
@@ -0,0 +1,40 @@
+package com.okpos.todaysales.dto;
+
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "계약 수수료율 등록 요청 데이터 (storeId 와 category 중 하나만 지정, 둘 다 없으면 전체 가맹점)")
+public class FeeScheduleRequest {
+
+    @Schema(description = "가맹점 ID (가맹점별 계약)", example = "1")
+    private Long storeId;
+
+    @Schema(description = "업종 (업종별 계약)", example = "CAFE")
+    private StoreCategory category;
+
+    @Schema(description = "결제수단", example = "CARD")
+    @NotNull(message = "결제수단은 필수입니다")
+    private PaymentType paymentType;
+
+    @Schema(description = "수수료율 (basis point, 1bp = 0.01%)", example = "220")
+    @NotNull(message = "수수료율은 필수입니다")
+    @Min(value = 0, message = "수수료율은 0 이상이어야 합니다")
+    @Max(value = 10000, message = "수수료율은 10000bp(100%)를 초과할 수 없습니다")
+    private Integer basisPoints;
+
+    @Schema(description = "적용 시작일 (매출일 기준)", example = "2024-02-01")
+    @NotNull(message = "적용 시작일은 필수입니다")
+    private LocalDate effectiveFrom;
+}
@@ -0,0 +1,60 @@
+package com.okpos.todaysales.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "매출 일괄 등록 응답 데이터")
+public class SaleBatchResponse {
+
+    @Schema(description = "요청 건수", example = "3")
+    private Integer totalCount;
+
+    @Schema(description = "등록 건수", example = "1")
+    private Integer createdCount;
+
+    @Schema(description = "중복 건수", example = "1")
+    private Integer duplicateCount;
+
+    @Schema(description = "검증 실패 건수", example = "1")
+    private Integer invalidCount;
+
+    @Schema(description = "요청 순서별 처리 결과")
+    private List<ItemResult> results;
+
+    public enum ItemStatus {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "매출 건별 처리 결과")
+    public static class ItemResult {
+
+        @Schema(description = "요청 목록 내 순번 (0부터 시작)", example = "0")
+        private Integer index;
+
+        @Schema(description = "주문번호", example = "ORDER-20240115-001")
+        private String orderNumber;
+
+        @Schema(description = "처리 결과", example = "CREATED")
+        private ItemStatus status;
+
+        @Schema(description = "실패 사유", example = "이미 존재하는 주문번호입니다")
+        private String message;
+
+        @Schema(description = "등록된 매출 (CREATED 인 경우)")
+        private SaleResponse sale;
+    }
+}
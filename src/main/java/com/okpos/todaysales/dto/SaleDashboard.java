@@ -19,6 +19,9 @@ public class SaleDashboard {
     private List<PaymentTypeStatistic> paymentTypeStatistics;
     private List<HourlyStatistic> hourlyStatistics;
     
+    /** 집계 계산 시각 (epoch millis) */
+    private Long computedAt;
+    
     @Getter
     @Setter
     @NoArgsConstructor
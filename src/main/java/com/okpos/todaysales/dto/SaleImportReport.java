@@ -0,0 +1,64 @@
+package com.okpos.todaysales.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * NDJSON 일괄 가져오기 결과 스트림의 레코드
+ * 처리된 줄마다 {@link LineResult} 한 줄을, 마지막에 {@link Summary} 한 줄을 출력한다.
+ */
+public final class SaleImportReport {
+
+    private SaleImportReport() {
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "가져오기 줄별 처리 결과")
+    public static class LineResult {
+
+        @Schema(description = "요청 본문 내 줄 번호 (1부터 시작)", example = "1")
+        private Long line;
+
+        @Schema(description = "주문번호", example = "ORDER-20240115-001")
+        private String orderNumber;
+
+        @Schema(description = "처리 결과", example = "CREATED")
+        private SaleBatchResponse.ItemStatus status;
+
+        @Schema(description = "등록된 매출 ID (CREATED 인 경우)", example = "1")
+        private Long saleId;
+
+        @Schema(description = "실패 사유", example = "이미 존재하는 주문번호입니다")
+        private String message;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "가져오기 전체 처리 결과")
+    public static class Summary {
+
+        @Schema(description = "처리한 줄 수 (빈 줄 제외)", example = "50000")
+        private Long totalCount;
+
+        @Schema(description = "등록 건수", example = "49990")
+        private Long createdCount;
+
+        @Schema(description = "중복 건수", example = "8")
+        private Long duplicateCount;
+
+        @Schema(description = "검증 실패 건수", example = "2")
+        private Long invalidCount;
+
+        @Schema(description = "처리 시간 (ms)", example = "41250")
+        private Long elapsedMillis;
+    }
+}
@@ -3,6 +3,7 @@ package com.okpos.todaysales.dto;
 import com.okpos.todaysales.entity.enums.PaymentType;
 import com.okpos.todaysales.entity.enums.SaleChannel;
 import com.okpos.todaysales.entity.enums.SaleStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -49,4 +50,8 @@ public class SaleResponse {
     
     @Schema(description = "매출 상태", example = "COMPLETED")
     private SaleStatus status;
+    
+    @Schema(description = "이미 등록된 매출의 재전송 여부 (재전송인 경우에만 true 로 포함)", example = "true")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean duplicate;
 }
\ No newline at end of file
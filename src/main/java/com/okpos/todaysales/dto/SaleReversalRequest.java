@@ -0,0 +1,19 @@
+package com.okpos.todaysales.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import javax.validation.constraints.Size;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "매출 취소/환불 요청 데이터")
+public class SaleReversalRequest {
+
+    @Schema(description = "취소/환불 사유", example = "고객 요청 환불", maxLength = 200)
+    @Size(max = 200, message = "사유는 200자를 초과할 수 없습니다")
+    private String reason;
+}
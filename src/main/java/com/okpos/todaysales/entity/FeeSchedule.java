@@ -0,0 +1,62 @@
+package com.okpos.todaysales.entity;
+
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import javax.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 계약 수수료율
+ *
+ * 적용 범위는 가맹점(storeId) > 업종(category) > 전체(둘 다 없음) 순으로 우선하며,
+ * 같은 범위에서는 매출일 기준으로 effectiveFrom 이 가장 늦은 행이 적용된다.
+ */
+@Entity
+@Table(name = "fee_schedules", indexes = {
+    @Index(name = "idx_fee_schedule_store", columnList = "store_id"),
+    @Index(name = "idx_fee_schedule_category", columnList = "category")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = "id")
+public class FeeSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_id")
+    private Long storeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private StoreCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false, length = 20)
+    private PaymentType paymentType;
+
+    /** 수수료율 (basis point, 1bp = 0.01%) */
+    @Column(name = "basis_points", nullable = false)
+    private Integer basisPoints;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
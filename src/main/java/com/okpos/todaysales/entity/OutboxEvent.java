@@ -0,0 +1,58 @@
+package com.okpos.todaysales.entity;
+
+import javax.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스 레코드
+ *
+ * 도메인 변경과 같은 트랜잭션에서 저장되며, OutboxRelay 가 브로커 confirm 을 받은 뒤 삭제한다.
+ * 발행 중인 레코드는 claimed_until 까지 해당 relay 가 점유한다.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "payload")
+@EqualsAndHashCode(of = "id")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_event_id_generator")
+    @TableGenerator(
+            name = "outbox_event_id_generator",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "outbox_events",
+            allocationSize = 100
+    )
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    /** 소비자의 Jackson2JsonMessageConverter 가 역직렬화할 타입 (__TypeId__ 헤더) */
+    @Column(name = "event_type", nullable = false, length = 200)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /** relay 가 발행 중으로 점유한 기한 (null 이거나 지나면 다른 relay 가 가져감) */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
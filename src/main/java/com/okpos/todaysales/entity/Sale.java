@@ -9,11 +9,16 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * 가맹점별 조회는 store_id 로 시작하는 복합 인덱스를 사용한다.
+ * 가맹점·기간 집계는 sales_hourly_rollup 에서 읽으므로 sales 에는 집계용 커버링 인덱스를 두지 않는다.
+ */
 @Entity
 @Table(name = "sales", indexes = {
-    @Index(name = "idx_store_id", columnList = "store_id"),
+    @Index(name = "idx_sales_store_time", columnList = "store_id, transaction_time"),
     @Index(name = "idx_transaction_time", columnList = "transaction_time"),
-    @Index(name = "idx_order_number", columnList = "order_number")
+    @Index(name = "idx_order_number", columnList = "order_number"),
+    @Index(name = "idx_unsettled_transaction_time", columnList = "is_settled, transaction_time")
 })
 @Getter
 @Setter
@@ -24,8 +29,20 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class Sale {
     
+    /**
+     * IDENTITY 전략은 INSERT 배치를 비활성화하므로 테이블 기반 pooled-lo 시퀀스로 ID를 미리 할당받는다.
+     * (allocationSize 만큼 메모리에서 발급하여 saveAll/정산 시 JDBC 배치가 동작)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sale_id_generator")
+    @TableGenerator(
+            name = "sale_id_generator",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "sales",
+            allocationSize = 100
+    )
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -69,6 +86,14 @@ public class Sale {
     @Builder.Default
     private Boolean isSettled = false;
 
+    /** 일일 정산 이후 증분 정산으로 반영된 경우의 SettlementDelta id */
+    @Column(name = "settlement_delta_id")
+    private Long settlementDeltaId;
+
+    /** 취소·환불 처리 시각 */
+    @Column(name = "reversed_at")
+    private LocalDateTime reversedAt;
+
     @PrePersist
     @PreUpdate
     public void calculateNetAmount() {
@@ -0,0 +1,75 @@
+package com.okpos.todaysales.entity;
+
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import javax.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 가맹점·매출일·시간대·결제수단·채널별 완료 매출 집계
+ *
+ * 매출 등록·취소와 같은 트랜잭션에서 upsert 로 증감하므로 대시보드와 월별 리포트는 원본 매출 대신 이 테이블을 읽는다.
+ * 행은 {@link com.okpos.todaysales.repository.SalesHourlyRollupRepository} 의 네이티브 쿼리로만 기록한다.
+ * version 은 upsert 마다 1씩 증가하여, 커밋 이후 전달되는 증감이 먼저 읽은 집계에 이미 포함됐는지 판단하는 데 쓰인다.
+ */
+@Entity
+@Table(name = "sales_hourly_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uk_rollup_key",
+            columnNames = {"store_id", "sale_date", "sale_hour", "payment_type", "channel"}),
+    indexes = {
+        @Index(name = "idx_rollup_sale_date", columnList = "sale_date")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = "id")
+public class SalesHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    /** 0 ~ 23 */
+    @Column(name = "sale_hour", nullable = false)
+    private Integer saleHour;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false, length = 20)
+    private PaymentType paymentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SaleChannel channel;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal fee;
+
+    @Column(name = "net_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal netAmount;
+
+    @Column(name = "sale_count", nullable = false)
+    private Long saleCount;
+
+    /** upsert 마다 증가 (JPA 낙관적 잠금용이 아님) */
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
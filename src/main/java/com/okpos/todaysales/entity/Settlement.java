@@ -24,8 +24,17 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class Settlement {
 
+    // Sale 과 같은 id_sequences 테이블을 사용 (세그먼트만 분리)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "settlement_id_generator")
+    @TableGenerator(
+            name = "settlement_id_generator",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "settlements",
+            allocationSize = 100
+    )
     private Long id;
     
     @Column(name = "settlement_date", nullable = false, unique = true)
@@ -0,0 +1,77 @@
+package com.okpos.todaysales.entity;
+
+import com.okpos.todaysales.entity.enums.SaleStatus;
+import javax.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 정산 완료 후 취소·환불된 매출의 정산 조정
+ *
+ * 이미 지급 기준이 확정된 정산은 수정하지 않고, 매출 금액·수수료·순액을 음수로 기록해 두었다가
+ * 다음 정산 실행 시 합계에 반영하고 appliedSettlementId 를 채운다.
+ */
+@Entity
+@Table(name = "settlement_adjustments", indexes = {
+    @Index(name = "idx_adjustment_applied_settlement", columnList = "applied_settlement_id"),
+    @Index(name = "idx_adjustment_sale", columnList = "sale_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = "id")
+public class SettlementAdjustment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sale_id", nullable = false)
+    private Long saleId;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "order_number", nullable = false, length = 50)
+    private String orderNumber;
+
+    /** 조정 사유가 된 매출 상태 (CANCELLED / REFUNDED) */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SaleStatus type;
+
+    /** 원 매출 금액의 음수 */
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    /** 환급되는 수수료의 음수 */
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal fee;
+
+    @Column(name = "net_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal netAmount;
+
+    /** 원 매출이 포함된 정산 */
+    @Column(name = "original_settlement_id")
+    private Long originalSettlementId;
+
+    /** 조정이 반영된 정산 (반영 전에는 null) */
+    @Column(name = "applied_settlement_id")
+    private Long appliedSettlementId;
+
+    @Column(length = 200)
+    private String reason;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,59 @@
+package com.okpos.todaysales.entity;
+
+import javax.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일일 정산 이후 도착한 매출(지연 매출)의 증분 정산
+ *
+ * settlements.settlement_date 는 날짜당 1건이므로 원 정산은 수정하지 않고,
+ * 지연 매출을 원래 매출일의 정산에 연결한 뒤 그 실행분의 합계만 별도 레코드로 남긴다.
+ * 해당 날짜의 최종 정산 금액은 원 정산과 델타 합계의 합이다.
+ */
+@Entity
+@Table(name = "settlement_deltas", indexes = {
+    @Index(name = "idx_delta_settlement", columnList = "settlement_id"),
+    @Index(name = "idx_delta_settlement_date", columnList = "settlement_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = "id")
+public class SettlementDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 지연 매출이 연결된 원 정산 */
+    @Column(name = "settlement_id", nullable = false)
+    private Long settlementId;
+
+    /** 지연 매출의 원래 매출일 (원 정산의 정산일) */
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "total_fee", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalFee;
+
+    @Column(name = "net_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal netAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Integer transactionCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -13,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "stores")
+@EntityListeners(StoreChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
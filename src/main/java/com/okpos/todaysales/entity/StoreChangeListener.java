@@ -0,0 +1,29 @@
+package com.okpos.todaysales.entity;
+
+import com.okpos.todaysales.event.StoreChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * 가맹점 엔티티 변경을 {@link StoreChangedEvent} 로 알리는 JPA 엔티티 리스너
+ *
+ * EntityManagerFactory 생성 중에 만들어지므로 리포지토리에 의존하는 빈 대신 ApplicationEventPublisher 만 받는다.
+ */
+public class StoreChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StoreChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onStoreChanged(Store store) {
+        eventPublisher.publishEvent(new StoreChangedEvent(store.getId(), store.getBusinessNumber()));
+    }
+}
@@ -1,83 +1,109 @@
 package com.okpos.todaysales.event;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.okpos.todaysales.config.RabbitMQConfig;
+import com.okpos.todaysales.dto.SettlementEvent;
+import com.okpos.todaysales.entity.OutboxEvent;
 import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.repository.OutboxEventRepository;
+import com.okpos.todaysales.service.SaleStageMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * 도메인 이벤트를 아웃박스 테이블에 기록
+ *
+ * 호출한 트랜잭션과 함께 커밋되므로 브로커 장애가 DB 트랜잭션을 붙잡지 않으며,
+ * 실제 발행은 {@link OutboxRelay} 가 publisher confirm 을 받으며 수행한다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventPublisher {
-    
-    private final RabbitTemplate rabbitTemplate;
-    
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final SaleStageMetrics saleStageMetrics;
+
     public void publishSaleCreated(Sale sale) {
+        publishSaleCreated(sale, sale.getStore().getStoreName());
+    }
+
+    /**
+     * 가맹점명을 별도로 전달받아 Store 프록시를 초기화하지 않고 발행
+     */
+    public void publishSaleCreated(Sale sale, String storeName) {
+        long publishStart = System.nanoTime();
         try {
-            SaleCreatedEvent event = SaleCreatedEvent.from(
-                sale.getId(),
-                sale.getStore().getId(),
-                sale.getStore().getStoreName(),
-                "POS-001", // 기본값
-                sale.getOrderNumber(),
-                sale.getAmount(),
-                sale.getPaymentType().name(),
-                sale.getStatus().name(),
-                sale.getTransactionTime(),
-                "SYSTEM" // 기본값
-            );
-            
-            log.info("Publishing SaleCreatedEvent: saleId={}, storeId={}, amount={}", 
+            SaleCreatedEvent event = toSaleCreatedEvent(sale, storeName);
+
+            log.info("Publishing SaleCreatedEvent: saleId={}, storeId={}, amount={}",
                     event.getSaleId(), event.getStoreId(), event.getAmount());
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SALES_EXCHANGE,
-                RabbitMQConfig.SALES_ROUTING_KEY,
-                event
-            );
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SALES_EXCHANGE,
-                RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
-                event
-            );
-            
-            log.info("Successfully published SaleCreatedEvent: eventId={}", event.getEventId());
-            
+
+            outboxEventRepository.save(toSaleCreatedOutbox(event));
+
+            log.info("Queued SaleCreatedEvent in outbox: eventId={}", event.getEventId());
+
         } catch (Exception e) {
             log.error("Failed to publish SaleCreatedEvent for sale: {}", sale.getId(), e);
             throw new RuntimeException("Event publishing failed", e);
+        } finally {
+            saleStageMetrics.record(SaleStageMetrics.Stage.EVENT_PUBLISH, publishStart);
+        }
+    }
+
+    /**
+     * 여러 매출의 생성 이벤트를 아웃박스에 일괄 기록 (JDBC 배치 INSERT)
+     *
+     * @param storeNames 가맹점 id 별 가맹점명
+     */
+    public void publishSaleCreatedBatch(List<Sale> sales, Map<Long, String> storeNames) {
+        if (sales.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<OutboxEvent> outboxEvents = new ArrayList<>(sales.size());
+            for (Sale sale : sales) {
+                SaleCreatedEvent event = toSaleCreatedEvent(sale, storeNames.get(sale.getStore().getId()));
+                outboxEvents.add(toSaleCreatedOutbox(event));
+            }
+            outboxEventRepository.saveAll(outboxEvents);
+
+            log.info("Queued SaleCreatedEvent batch in outbox: count={}", sales.size());
+
+        } catch (Exception e) {
+            log.error("Failed to publish SaleCreatedEvent batch: count={}", sales.size(), e);
+            throw new RuntimeException("Event publishing failed", e);
         }
     }
-    
+
     public void publishSettlementRequest(Long storeId, LocalDate date) {
         try {
             SettlementRequestEvent event = SettlementRequestEvent.simpleCreate(storeId, date);
-            
-            log.info("Publishing SettlementRequestEvent: storeId={}, date={}", 
+
+            log.info("Publishing SettlementRequestEvent: storeId={}, date={}",
                     event.getStoreId(), event.getSettlementDate());
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SALES_EXCHANGE,
-                RabbitMQConfig.SETTLEMENT_ROUTING_KEY,
-                event
-            );
-            
-            log.info("Successfully published SettlementRequestEvent: eventId={}", event.getEventId());
-            
+
+            outboxEventRepository.save(toOutbox(RabbitMQConfig.SETTLEMENT_ROUTING_KEY, event, serialize(event)));
+
+            log.info("Queued SettlementRequestEvent in outbox: eventId={}", event.getEventId());
+
         } catch (Exception e) {
-            log.error("Failed to publish SettlementRequestEvent for storeId: {}, date: {}", 
+            log.error("Failed to publish SettlementRequestEvent for storeId: {}, date: {}",
                      storeId, date, e);
             throw new RuntimeException("Settlement event publishing failed", e);
         }
     }
-    
+
     public void publishSettlementRequest(Long storeId, String storeName, LocalDate settlementDate,
                                        BigDecimal totalAmount, Long transactionCount,
                                        Map<String, BigDecimal> paymentBreakdown,
@@ -87,50 +113,82 @@ public class EventPublisher {
                 storeId, storeName, settlementDate, totalAmount, transactionCount,
                 paymentBreakdown, paymentCounts, requestedBy
             );
-            
-            log.info("Publishing detailed SettlementRequestEvent: storeId={}, date={}, amount={}, count={}", 
+
+            log.info("Publishing detailed SettlementRequestEvent: storeId={}, date={}, amount={}, count={}",
                     event.getStoreId(), event.getSettlementDate(), event.getTotalAmount(), event.getTransactionCount());
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SALES_EXCHANGE,
-                RabbitMQConfig.SETTLEMENT_ROUTING_KEY,
-                event
-            );
-            
-            log.info("Successfully published detailed SettlementRequestEvent: eventId={}", event.getEventId());
-            
+
+            outboxEventRepository.save(toOutbox(RabbitMQConfig.SETTLEMENT_ROUTING_KEY, event, serialize(event)));
+
+            log.info("Queued detailed SettlementRequestEvent in outbox: eventId={}", event.getEventId());
+
         } catch (Exception e) {
-            log.error("Failed to publish detailed SettlementRequestEvent for storeId: {}, date: {}", 
+            log.error("Failed to publish detailed SettlementRequestEvent for storeId: {}, date: {}",
                      storeId, settlementDate, e);
             throw new RuntimeException("Detailed settlement event publishing failed", e);
         }
     }
-    
+
+    /**
+     * 정산 결과(완료/실패) 이벤트를 정산 트랜잭션과 함께 기록
+     */
+    public void publishSettlementEvent(SettlementEvent event) {
+        try {
+            outboxEventRepository.save(toOutbox(RabbitMQConfig.SETTLEMENT_ROUTING_KEY, event, serialize(event)));
+
+            log.info("Queued SettlementEvent in outbox: settlementId={}, status={}",
+                    event.getSettlementId(), event.getStatus());
+
+        } catch (Exception e) {
+            log.error("Failed to publish SettlementEvent for settlement: {}", event.getSettlementId(), e);
+            throw new RuntimeException("Settlement event publishing failed", e);
+        }
+    }
+
     public void publishSaleCreatedForNotification(Sale sale) {
         try {
-            SaleCreatedEvent event = SaleCreatedEvent.from(
-                sale.getId(),
-                sale.getStore().getId(),
-                sale.getStore().getStoreName(),
-                "POS-001", // 기본값
-                sale.getOrderNumber(),
-                sale.getAmount(),
-                sale.getPaymentType().name(),
-                sale.getStatus().name(),
-                sale.getTransactionTime(),
-                "SYSTEM" // 기본값
-            );
-            
+            SaleCreatedEvent event = toSaleCreatedEvent(sale, sale.getStore().getStoreName());
+
             log.info("Publishing SaleCreatedEvent for notification: saleId={}", sale.getId());
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SALES_EXCHANGE,
-                RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
-                event
-            );
-            
+
+            outboxEventRepository.save(toOutbox(RabbitMQConfig.NOTIFICATION_ROUTING_KEY, event, serialize(event)));
+
         } catch (Exception e) {
             log.warn("Failed to publish notification event for sale: {}", sale.getId(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 매출 생성 이벤트는 sales.created 로 1회 발행 (sales.queue 와 notification.queue 가 모두 바인딩됨)
+     */
+    private OutboxEvent toSaleCreatedOutbox(SaleCreatedEvent event) throws JsonProcessingException {
+        return toOutbox(RabbitMQConfig.SALES_ROUTING_KEY, event, serialize(event));
+    }
+
+    private OutboxEvent toOutbox(String routingKey, Object event, String payload) {
+        return OutboxEvent.builder()
+                .exchange(RabbitMQConfig.SALES_EXCHANGE)
+                .routingKey(routingKey)
+                .eventType(event.getClass().getName())
+                .payload(payload)
+                .build();
+    }
+
+    private String serialize(Object event) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    private SaleCreatedEvent toSaleCreatedEvent(Sale sale, String storeName) {
+        return SaleCreatedEvent.from(
+            sale.getId(),
+            sale.getStore().getId(),
+            storeName,
+            "POS-001", // 기본값
+            sale.getOrderNumber(),
+            sale.getAmount(),
+            sale.getPaymentType().name(),
+            sale.getStatus().name(),
+            sale.getTransactionTime(),
+            "SYSTEM" // 기본값
+        );
+    }
+}
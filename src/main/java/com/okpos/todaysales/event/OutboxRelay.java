@@ -0,0 +1,231 @@
+package com.okpos.todaysales.event;
+
+import com.okpos.todaysales.entity.OutboxEvent;
+import com.okpos.todaysales.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 아웃박스 레코드를 브로커로 발행하는 relay
+ *
+ * 점유되지 않은 가장 오래된 레코드부터 batch-size 건을 짧은 트랜잭션에서 잠가(SKIP LOCKED 로 노드 간 중복 방지)
+ * claim-lease-ms 동안 점유로 표시하고 바로 커밋한다. 발행과 publisher confirm 대기(RabbitTemplate 재시도 포함)는
+ * 트랜잭션 밖에서 하므로 행 잠금과 DB 커넥션을 잡고 있지 않는다. 이후 두 번째 짧은 트랜잭션에서 confirm(ack)을 받은
+ * 레코드만 삭제하고, nack 이나 confirm 시간 초과 레코드는 점유를 풀어 다음 주기에 다시 발행한다.
+ * relay 가 도중에 죽으면 점유 기한이 지난 뒤 다른 relay 가 다시 발행하므로, 소비자는 같은 이벤트를 두 번 이상 받을 수 있다
+ * (at-least-once).
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final long claimLeaseMs;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer relayLatencyTimer;
+    private final Timer batchTimer;
+    private final Counter relayedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${sales.outbox.relay-enabled:true}") boolean enabled,
+                       @Value("${sales.outbox.batch-size:200}") int batchSize,
+                       @Value("${sales.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                       @Value("${sales.outbox.claim-lease-ms:30000}") long claimLeaseMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.claimLeaseMs = claimLeaseMs;
+
+        Gauge.builder("sales.outbox.depth", depth, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+        this.relayLatencyTimer = Timer.builder("sales.outbox.relay.latency")
+                .description("Time from outbox insert to broker confirm")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("sales.outbox.relay.batch")
+                .description("Time to claim, publish and confirm one outbox batch")
+                .register(meterRegistry);
+        this.relayedCounter = Counter.builder("sales.outbox.relayed.total")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("sales.outbox.failed.total")
+                .description("Outbox events nacked or not confirmed in time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${sales.outbox.relay-interval-ms:100}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Integer confirmed;
+            do {
+                confirmed = batchTimer.recordCallable(this::relayBatch);
+            } while (confirmed != null && confirmed == batchSize);
+        } catch (Exception e) {
+            log.error("아웃박스 발행 중 오류 발생 - 다음 주기에 재시도합니다", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sales.outbox.depth-refresh-ms:10000}")
+    public void refreshDepth() {
+        try {
+            depth.set(outboxEventRepository.count());
+        } catch (Exception e) {
+            log.warn("아웃박스 적재량 조회 실패", e);
+        }
+    }
+
+    /**
+     * 레코드를 점유하여 발행하고 confirm 받은 레코드 수를 반환
+     */
+    private int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> correlations = new ArrayList<>(events.size());
+        try {
+            for (OutboxEvent event : events) {
+                CorrelationData correlation = new CorrelationData(String.valueOf(event.getId()));
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+                correlations.add(correlation);
+            }
+        } catch (RuntimeException e) {
+            // 이미 보낸 레코드도 confirm 을 기다리지 않고 다음 주기에 다시 발행
+            List<Long> ids = new ArrayList<>(events.size());
+            addIds(events, ids);
+            transactionTemplate.execute(status -> outboxEventRepository.claim(ids, null));
+            throw e;
+        }
+
+        List<Long> confirmedIds = new ArrayList<>(events.size());
+        List<Long> failedIds = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            CorrelationData correlation = correlations.get(i);
+            try {
+                CorrelationData.Confirm confirm = correlation.getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    log.warn("아웃박스 이벤트 nack: id={}, 사유={}", event.getId(), confirm.getReason());
+                    failedCounter.increment();
+                    failedIds.add(event.getId());
+                    continue;
+                }
+                if (correlation.getReturned() != null) {
+                    // 라우팅 불가 메시지는 재발행해도 같은 결과이므로 기록만 남기고 삭제
+                    log.warn("아웃박스 이벤트 라우팅 실패: id={}, routingKey={}, replyText={}",
+                            event.getId(), event.getRoutingKey(), correlation.getReturned().getReplyText());
+                }
+                confirmedIds.add(event.getId());
+                relayLatencyTimer.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (TimeoutException e) {
+                log.warn("아웃박스 confirm 대기 시간 초과: 미확인 {}건", events.size() - i);
+                failedCounter.increment(events.size() - i);
+                addIds(events.subList(i, events.size()), failedIds);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                addIds(events.subList(i, events.size()), failedIds);
+                break;
+            } catch (ExecutionException e) {
+                log.warn("아웃박스 confirm 실패: id={}", event.getId(), e);
+                failedCounter.increment();
+                failedIds.add(event.getId());
+            }
+        }
+
+        if (!confirmedIds.isEmpty() || !failedIds.isEmpty()) {
+            transactionTemplate.execute(status -> {
+                if (!confirmedIds.isEmpty()) {
+                    outboxEventRepository.deleteByIdIn(confirmedIds);
+                }
+                if (!failedIds.isEmpty()) {
+                    // 다음 주기에 바로 재발행하도록 점유 해제
+                    outboxEventRepository.claim(failedIds, null);
+                }
+                return null;
+            });
+        }
+        if (!confirmedIds.isEmpty()) {
+            relayedCounter.increment(confirmedIds.size());
+            depth.updateAndGet(current -> Math.max(0, current - confirmedIds.size()));
+        }
+        return confirmedIds.size();
+    }
+
+    /**
+     * 점유되지 않은 가장 오래된 레코드를 잠가 claim-lease-ms 동안 점유 (커밋되면 잠금은 풀림)
+     */
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockOldest(batchSize, now);
+        if (events.isEmpty()) {
+            return events;
+        }
+        List<Long> ids = new ArrayList<>(events.size());
+        addIds(events, ids);
+        outboxEventRepository.claim(ids, now.plus(claimLeaseMs, ChronoUnit.MILLIS));
+        return events;
+    }
+
+    private static void addIds(List<OutboxEvent> events, List<Long> ids) {
+        for (OutboxEvent event : events) {
+            ids.add(event.getId());
+        }
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()))
+                .setHeader(TYPE_ID_HEADER, event.getEventType())
+                .build();
+    }
+}
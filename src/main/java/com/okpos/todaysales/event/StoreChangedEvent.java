@@ -0,0 +1,17 @@
+package com.okpos.todaysales.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 가맹점 엔티티가 저장·수정·삭제되었음을 알리는 애플리케이션 내부 이벤트 (메시지 브로커로 발행하지 않음)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StoreChangedEvent {
+
+    private final Long storeId;
+    private final String businessNumber;
+}
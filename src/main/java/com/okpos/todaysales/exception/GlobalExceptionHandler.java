@@ -2,6 +2,7 @@ package com.okpos.todaysales.exception;
 
 import com.okpos.todaysales.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.validation.ConstraintViolation;
@@ -119,6 +121,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
+    @ExceptionHandler(SaleNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSaleNotFoundException(
+            SaleNotFoundException ex, WebRequest request) {
+        
+        log.warn("매출 조회 실패: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.of(
+                "SALE_NOT_FOUND",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", ""),
+                Map.of("orderNumber", ex.getOrderNumber())
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+    
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<ErrorResponse> handleInvalidRequestException(
             InvalidRequestException ex, WebRequest request) {
@@ -159,6 +177,63 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
     }
     
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(
+            RateLimitExceededException ex, WebRequest request) {
+
+        log.warn("처리율 제한 초과: businessNumber={}, retryAfter={}ms",
+                ex.getBusinessNumber(), ex.getRetryAfterMillis());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                "RATE_LIMIT_EXCEEDED",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", ""),
+                Map.of("businessNumber", ex.getBusinessNumber(),
+                        "retryAfterSeconds", ex.getRetryAfterSeconds())
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+
+        log.warn("과부하로 요청 거절: {}", ex.getReason());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                "SERVICE_OVERLOADED",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", ""),
+                Map.of("reason", ex.getReason(),
+                        "retryAfterSeconds", ex.getRetryAfterSeconds())
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleAsyncRequestTimeoutException(
+            AsyncRequestTimeoutException ex, WebRequest request) {
+
+        log.warn("비동기 요청 처리 시간 초과: {}", request.getDescription(false));
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                "SERVICE_OVERLOADED",
+                "요청 처리 시간이 초과되었습니다",
+                request.getDescription(false).replace("uri=", ""),
+                Map.of("reason", "async_timeout")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, WebRequest request) {
@@ -0,0 +1,31 @@
+package com.okpos.todaysales.exception;
+
+/**
+ * 가맹점별 처리율 제한을 초과한 경우 발생하는 예외 (429)
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String businessNumber;
+    private final long retryAfterMillis;
+
+    public RateLimitExceededException(String businessNumber, long retryAfterMillis) {
+        super("요청 한도를 초과했습니다: " + businessNumber);
+        this.businessNumber = businessNumber;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getBusinessNumber() {
+        return businessNumber;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 단위 올림, 최소 1초)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+}
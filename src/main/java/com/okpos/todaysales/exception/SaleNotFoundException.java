@@ -0,0 +1,18 @@
+package com.okpos.todaysales.exception;
+
+/**
+ * 주문번호에 해당하는 매출이 없을 때 발생하는 예외
+ */
+public class SaleNotFoundException extends RuntimeException {
+
+    private final String orderNumber;
+
+    public SaleNotFoundException(String orderNumber) {
+        super("매출을 찾을 수 없습니다: " + orderNumber);
+        this.orderNumber = orderNumber;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+}
@@ -0,0 +1,24 @@
+package com.okpos.todaysales.exception;
+
+/**
+ * 서버 과부하로 요청을 처리하지 않고 거절하는 경우 발생하는 예외 (503)
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final String reason;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String reason, long retryAfterSeconds) {
+        super("서버 부하가 높아 요청을 처리할 수 없습니다: " + reason);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,135 @@
+package com.okpos.todaysales.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑된 고정 크기 저널 세그먼트 파일
+ *
+ * 레코드 형식: [length(4)][crc32(4)][payload(length)]
+ * length 는 payload 와 crc 를 기록한 뒤 마지막에 기록하므로, 쓰기 도중 중단된 레코드는 length 가 0 으로 남아 읽히지 않는다.
+ */
+final class JournalSegment {
+
+    static final int HEADER_SIZE = 8;
+
+    private final long index;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    /** 읽기 가능한 마지막 위치 (쓰기 스레드만 갱신, 읽기 스레드는 이 위치까지만 읽음) */
+    private volatile int writePosition;
+
+    private JournalSegment(long index, Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.index = index;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    static JournalSegment open(Path path, long index, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        JournalSegment segment = new JournalSegment(index, path, channel, buffer, capacity);
+        segment.writePosition = segment.recover();
+        return segment;
+    }
+
+    long getIndex() {
+        return index;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    boolean hasRoom(int payloadLength) {
+        return writePosition + HEADER_SIZE + payloadLength <= capacity;
+    }
+
+    /**
+     * 레코드 추가 (호출자가 쓰기 락을 보유해야 함)
+     */
+    void append(byte[] payload) {
+        int position = writePosition;
+
+        ByteBuffer target = buffer.duplicate();
+        target.position(position + HEADER_SIZE);
+        target.put(payload);
+        buffer.putInt(position + 4, (int) checksum(payload));
+        buffer.putInt(position, payload.length);
+
+        writePosition = position + HEADER_SIZE + payload.length;
+    }
+
+    /**
+     * position 의 레코드 payload 를 반환 (레코드가 없거나 손상된 경우 null)
+     */
+    byte[] read(int position) {
+        if (position + HEADER_SIZE > capacity) {
+            return null;
+        }
+
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > capacity) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position + HEADER_SIZE);
+        source.get(payload);
+
+        if ((int) checksum(payload) != buffer.getInt(position + 4)) {
+            return null;
+        }
+        return payload;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * 재시작 시 유효한 마지막 레코드 위치를 찾고, 그 뒤의 손상된(부분 기록된) 영역을 0 으로 초기화
+     */
+    private int recover() {
+        int position = 0;
+        byte[] payload;
+        while ((payload = read(position)) != null) {
+            position += HEADER_SIZE + payload.length;
+        }
+
+        if (position + HEADER_SIZE <= capacity && buffer.getInt(position) != 0) {
+            buffer.putInt(position, 0);
+            buffer.force();
+        }
+        return position;
+    }
+
+    private static long checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,416 @@
+package com.okpos.todaysales.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okpos.todaysales.dto.SaleRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 쓰기 지연(write-behind) 수집 모드의 로컬 추가 전용 저널
+ *
+ * 매출 요청을 세그먼트 단위의 메모리 매핑 파일에 기록하고 fsync 완료 후 반환한다.
+ * 동시에 들어온 요청들은 하나의 fsync 를 공유한다 (group commit).
+ * 저널의 내용은 {@link SaleJournalDrainer} 가 DB 로 옮긴 뒤 checkpoint 를 전진시키며,
+ * 재시작 시 checkpoint 이후의 레코드는 다시 읽혀 DB 로 반영된다.
+ * 건별로 나누어도 반영할 수 없는 레코드는 같은 레코드 형식의 dead-letter 세그먼트로 옮긴 뒤 checkpoint 를 전진시킨다.
+ */
+@Slf4j
+@Component
+public class SaleJournal {
+
+    private static final String SEGMENT_PREFIX = "sales-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String DEAD_LETTER_PREFIX = "dead-letter-";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+
+    private final NavigableMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final Object deadLetterLock = new Object();
+
+    private JournalSegment writeSegment;
+    private JournalSegment deadLetterSegment;
+    private volatile long appendedCount;
+    private volatile long syncedCount;
+    private final AtomicLong drainedCount = new AtomicLong();
+    private volatile Position checkpoint = new Position(0, 0);
+
+    private Counter appendCounter;
+    private Counter deadLetterCounter;
+
+    public SaleJournal(ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${sales.ingestion.mode:sync}") String ingestionMode,
+                       @Value("${sales.journal.directory:./data/journal}") String directory,
+                       @Value("${sales.journal.segment-size-mb:64}") int segmentSizeMb) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = "journal".equalsIgnoreCase(ingestionMode);
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        checkpoint = readCheckpoint();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segmentFiles = new ArrayList<>();
+            files.filter(this::isSegmentFile).forEach(segmentFiles::add);
+            for (Path file : segmentFiles) {
+                long index = segmentIndex(file);
+                if (index < checkpoint.getSegment()) {
+                    // checkpoint 이전 세그먼트는 이미 DB 에 반영됨
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                segments.put(index, JournalSegment.open(file, index, segmentSize));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            long index = checkpoint.getSegment();
+            segments.put(index, JournalSegment.open(segmentPath(index), index, segmentSize));
+        }
+        writeSegment = segments.lastEntry().getValue();
+
+        appendedCount = countPendingEntries();
+        syncedCount = appendedCount;
+
+        appendCounter = Counter.builder("sales.journal.appended.total")
+                .description("Sales appended to the write-behind journal")
+                .register(meterRegistry);
+        deadLetterCounter = Counter.builder("sales.journal.dead-lettered.total")
+                .description("Journal entries moved to the dead-letter segment because they could not be drained")
+                .register(meterRegistry);
+        Gauge.builder("sales.journal.lag", this, SaleJournal::getLag)
+                .description("Journal entries not yet drained into the sales table")
+                .register(meterRegistry);
+        Gauge.builder("sales.journal.segments", segments, Map::size)
+                .description("Journal segment files on disk")
+                .register(meterRegistry);
+
+        log.info("매출 저널 초기화: directory={}, segments={}, 미반영 레코드={}",
+                directory.toAbsolutePath(), segments.size(), appendedCount);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (JournalSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 종료 실패: index={}", segment.getIndex(), e);
+            }
+        }
+        synchronized (deadLetterLock) {
+            if (deadLetterSegment != null) {
+                try {
+                    deadLetterSegment.close();
+                } catch (IOException e) {
+                    log.warn("dead-letter 세그먼트 종료 실패: index={}", deadLetterSegment.getIndex(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 매출 요청을 저널에 기록하고 디스크 동기화(fsync)가 끝난 뒤 반환
+     */
+    public void append(SaleRequest request) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("저널 기록을 위한 직렬화에 실패했습니다", e);
+        }
+
+        if (payload.length + JournalSegment.HEADER_SIZE > segmentSize) {
+            throw new IllegalArgumentException("저널 세그먼트 크기를 초과하는 매출 데이터입니다");
+        }
+
+        long sequence;
+        synchronized (appendLock) {
+            if (!writeSegment.hasRoom(payload.length)) {
+                rollSegment();
+            }
+            writeSegment.append(payload);
+            sequence = ++appendedCount;
+        }
+
+        syncUpTo(sequence);
+        appendCounter.increment();
+    }
+
+    /**
+     * checkpoint 이후의 레코드를 최대 maxEntries 건 읽음 (checkpoint 는 {@link #commit(Batch)} 호출 시 전진)
+     */
+    public Batch read(int maxEntries) {
+        return read(checkpoint, maxEntries);
+    }
+
+    private Batch read(Position from, int maxEntries) {
+        List<byte[]> payloads = new ArrayList<>();
+        long segmentIndex = from.getSegment();
+        int offset = from.getOffset();
+
+        while (payloads.size() < maxEntries) {
+            JournalSegment segment = segments.get(segmentIndex);
+            if (segment == null) {
+                break;
+            }
+
+            if (offset < segment.getWritePosition()) {
+                byte[] payload = segment.read(offset);
+                if (payload == null) {
+                    break;
+                }
+                payloads.add(payload);
+                offset += JournalSegment.HEADER_SIZE + payload.length;
+                continue;
+            }
+
+            Long next = segments.higherKey(segmentIndex);
+            if (next == null) {
+                break;
+            }
+            segmentIndex = next;
+            offset = 0;
+        }
+
+        return new Batch(payloads, new Position(segmentIndex, offset));
+    }
+
+    /**
+     * 읽은 레코드가 DB 에 반영되었음을 기록하고, 모두 반영된 세그먼트 파일을 삭제
+     */
+    public void commit(Batch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        writeCheckpoint(batch.getEnd());
+        checkpoint = batch.getEnd();
+        drainedCount.addAndGet(batch.size());
+
+        while (segments.firstKey() < checkpoint.getSegment()) {
+            JournalSegment drained = segments.pollFirstEntry().getValue();
+            try {
+                drained.delete();
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 삭제 실패: index={}", drained.getIndex(), e);
+            }
+        }
+    }
+
+    /**
+     * DB 에 반영할 수 없는 레코드를 dead-letter 세그먼트에 기록하고 디스크 동기화 후 반환
+     *
+     * 레코드는 checkpoint 와 무관하게 보관되며, 원인을 해결한 뒤 별도로 다시 반영한다.
+     */
+    public void deadLetter(byte[] payload) {
+        synchronized (deadLetterLock) {
+            try {
+                if (deadLetterSegment == null) {
+                    deadLetterSegment = openDeadLetterSegment(lastDeadLetterIndex());
+                }
+                if (!deadLetterSegment.hasRoom(payload.length)) {
+                    JournalSegment full = deadLetterSegment;
+                    deadLetterSegment = openDeadLetterSegment(full.getIndex() + 1);
+                    full.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("dead-letter 세그먼트 생성에 실패했습니다", e);
+            }
+            deadLetterSegment.append(payload);
+            deadLetterSegment.force();
+        }
+        deadLetterCounter.increment();
+    }
+
+    public SaleRequest decode(byte[] payload) throws IOException {
+        return objectMapper.readValue(payload, SaleRequest.class);
+    }
+
+    public long getLag() {
+        return appendedCount - drainedCount.get();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * group commit: 이미 다른 스레드의 fsync 에 포함된 레코드는 추가 fsync 없이 반환
+     */
+    private void syncUpTo(long sequence) {
+        if (syncedCount >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedCount >= sequence) {
+                return;
+            }
+            long target;
+            JournalSegment segment;
+            synchronized (appendLock) {
+                target = appendedCount;
+                segment = writeSegment;
+            }
+            segment.force();
+            syncedCount = target;
+        }
+    }
+
+    private void rollSegment() {
+        writeSegment.force();
+        long index = writeSegment.getIndex() + 1;
+        try {
+            JournalSegment segment = JournalSegment.open(segmentPath(index), index, segmentSize);
+            segments.put(index, segment);
+            writeSegment = segment;
+            log.info("저널 세그먼트 생성: index={}", index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 생성에 실패했습니다", e);
+        }
+    }
+
+    private JournalSegment openDeadLetterSegment(long index) throws IOException {
+        return JournalSegment.open(directory.resolve(String.format("%s%019d%s", DEAD_LETTER_PREFIX, index, SEGMENT_SUFFIX)),
+                index, segmentSize);
+    }
+
+    private long lastDeadLetterIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(DEAD_LETTER_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .mapToLong(name -> Long.parseLong(
+                            name.substring(DEAD_LETTER_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private long countPendingEntries() {
+        long count = 0;
+        Batch batch = read(checkpoint, 10_000);
+        while (!batch.isEmpty()) {
+            count += batch.size();
+            batch = read(batch.getEnd(), 10_000);
+        }
+        return count;
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    private void writeCheckpoint(Position position) {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        buffer.putLong(position.getSegment()).putInt(position.getOffset()).flip();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 checkpoint 기록에 실패했습니다", e);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 checkpoint 교체에 실패했습니다", e);
+        }
+    }
+
+    private boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    @Getter
+    public static final class Position {
+        private final long segment;
+        private final int offset;
+
+        Position(long segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+
+    @Getter
+    public static final class Batch {
+        private final List<byte[]> payloads;
+        private final Position end;
+
+        Batch(List<byte[]> payloads, Position end) {
+            this.payloads = Collections.unmodifiableList(payloads);
+            this.end = end;
+        }
+
+        public boolean isEmpty() {
+            return payloads.isEmpty();
+        }
+
+        public int size() {
+            return payloads.size();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.okpos.todaysales.journal;
+
+import com.okpos.todaysales.dto.SaleBatchResponse;
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.service.SalesService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 저널에 쌓인 매출을 대량 배치로 sales 테이블에 반영하는 group-commit writer
+ *
+ * 배치 반영이 성공한 경우에만 checkpoint 를 전진시키므로, DB 장애나 재시작 시에는 같은 레코드를 다시 처리한다.
+ * 이미 반영된 레코드는 일괄 등록의 중복 주문번호 검증에서 DUPLICATE 로 걸러진다.
+ *
+ * 연결 실패·잠금 대기 같은 일시적 오류는 횟수 제한 없이 재시도한다. 그 밖의 오류로 같은 배치가
+ * max-batch-attempts 회 연속 실패하면 한 건씩 나누어 반영하고, 그래도 실패하는 레코드는
+ * dead-letter 세그먼트로 옮겨 checkpoint 를 전진시킨다 (한 레코드가 뒤의 모든 레코드를 막지 않도록).
+ */
+@Slf4j
+@Component
+public class SaleJournalDrainer {
+
+    private final SaleJournal saleJournal;
+    private final SalesService salesService;
+    private final int drainBatchSize;
+    private final int maxBatchAttempts;
+
+    /** checkpoint 의 배치가 일시적이지 않은 오류로 연속 실패한 횟수 (스케줄러 스레드에서만 접근) */
+    private int failedAttempts;
+
+    public SaleJournalDrainer(SaleJournal saleJournal,
+                              SalesService salesService,
+                              @Value("${sales.journal.drain-batch-size:500}") int drainBatchSize,
+                              @Value("${sales.journal.max-batch-attempts:3}") int maxBatchAttempts) {
+        this.saleJournal = saleJournal;
+        this.salesService = salesService;
+        this.drainBatchSize = drainBatchSize;
+        this.maxBatchAttempts = maxBatchAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${sales.journal.drain-interval-ms:200}")
+    public void drain() {
+        if (!saleJournal.isEnabled()) {
+            return;
+        }
+
+        try {
+            SaleJournal.Batch batch = saleJournal.read(drainBatchSize);
+            while (!batch.isEmpty()) {
+                SaleBatchResponse response;
+                try {
+                    response = salesService.createSales(decode(batch));
+                } catch (RuntimeException e) {
+                    if (isTransient(e) || ++failedAttempts < maxBatchAttempts) {
+                        throw e;
+                    }
+                    log.warn("저널 배치 반영 {}회 연속 실패 - 건별로 나누어 반영합니다: {}건", failedAttempts, batch.size(), e);
+                    response = drainOneByOne(batch);
+                }
+                saleJournal.commit(batch);
+                failedAttempts = 0;
+
+                log.debug("저널 반영 완료 - 등록: {}, 중복: {}, 실패: {}, 잔여: {}",
+                        response.getCreatedCount(), response.getDuplicateCount(),
+                        response.getInvalidCount(), saleJournal.getLag());
+                response.getResults().stream()
+                        .filter(result -> result.getStatus() == SaleBatchResponse.ItemStatus.INVALID)
+                        .forEach(result -> log.warn("저널 매출 반영 실패: orderNumber={}, 사유={}",
+                                result.getOrderNumber(), result.getMessage()));
+
+                if (batch.size() < drainBatchSize) {
+                    break;
+                }
+                batch = saleJournal.read(drainBatchSize);
+            }
+        } catch (Exception e) {
+            log.error("저널 반영 중 오류 발생 - 다음 주기에 재시도합니다 (연속 실패: {}, 잔여: {})",
+                    failedAttempts, saleJournal.getLag(), e);
+        }
+    }
+
+    /**
+     * 배치를 한 건씩 반영하고, 일시적이지 않은 오류로 실패한 레코드는 dead-letter 세그먼트로 옮김
+     * (일시적 오류는 다시 던져 checkpoint 를 전진시키지 않음 - 이미 반영된 건은 재시도 시 DUPLICATE 로 걸러짐)
+     */
+    private SaleBatchResponse drainOneByOne(SaleJournal.Batch batch) {
+        List<SaleRequest> requests = decode(batch);
+        List<SaleBatchResponse.ItemResult> results = new ArrayList<>(requests.size());
+        int deadLettered = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            SaleRequest request = requests.get(i);
+            SaleBatchResponse.ItemResult result;
+            try {
+                result = salesService.createSales(Collections.singletonList(request)).getResults().get(0);
+                result.setIndex(i);
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                String orderNumber = request != null ? request.getOrderNumber() : null;
+                log.error("저널 매출 반영 불가 - dead-letter 로 옮깁니다: orderNumber={}", orderNumber, e);
+                saleJournal.deadLetter(batch.getPayloads().get(i));
+                deadLettered++;
+                result = SaleBatchResponse.ItemResult.builder()
+                        .index(i)
+                        .orderNumber(orderNumber)
+                        .status(SaleBatchResponse.ItemStatus.INVALID)
+                        .message("dead-letter: " + e.getMessage())
+                        .build();
+            }
+            results.add(result);
+        }
+        log.warn("저널 배치 건별 반영 완료 - dead-letter: {}건 / {}건", deadLettered, requests.size());
+
+        return SaleBatchResponse.builder()
+                .totalCount(results.size())
+                .createdCount(countByStatus(results, SaleBatchResponse.ItemStatus.CREATED))
+                .duplicateCount(countByStatus(results, SaleBatchResponse.ItemStatus.DUPLICATE))
+                .invalidCount(countByStatus(results, SaleBatchResponse.ItemStatus.INVALID))
+                .results(results)
+                .build();
+    }
+
+    /**
+     * DB 연결 실패·잠금 대기 초과처럼 레코드와 무관하게 다시 시도하면 성공할 수 있는 오류
+     */
+    private boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private int countByStatus(List<SaleBatchResponse.ItemResult> results, SaleBatchResponse.ItemStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    private List<SaleRequest> decode(SaleJournal.Batch batch) {
+        List<SaleRequest> requests = new ArrayList<>(batch.size());
+        for (byte[] payload : batch.getPayloads()) {
+            try {
+                requests.add(saleJournal.decode(payload));
+            } catch (IOException e) {
+                // 손상된 레코드는 일괄 등록에서 INVALID 로 처리되도록 null 로 전달
+                log.error("저널 레코드 역직렬화 실패", e);
+                requests.add(null);
+            }
+        }
+        return requests;
+    }
+}
@@ -3,27 +3,21 @@ package com.okpos.todaysales.listener;
 import com.okpos.todaysales.event.SaleCreatedEvent;
 import com.okpos.todaysales.event.SettlementRequestEvent;
 import com.rabbitmq.client.Channel;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.AmqpHeaders;
-import org.springframework.cache.CacheManager;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SalesEventListener {
     
-    private final CacheManager cacheManager;
-    
     @RabbitListener(queues = "sales.queue")
     public void handleSaleCreated(
             @Payload SaleCreatedEvent event,
@@ -35,8 +29,7 @@ public class SalesEventListener {
             log.info("매출 생성 이벤트 수신: saleId={}, storeId={}, amount={}", 
                     event.getSaleId(), event.getStoreId(), event.getAmount());
             
-            // 대시보드 캐시 무효화
-            invalidateDashboardCache(event);
+            // 대시보드는 커밋 시점에 가맹점별 대시보드 해시로 반영되므로 캐시 무효화는 하지 않음
             
             // 수동 ACK
             channel.basicAck(deliveryTag, false);
@@ -170,34 +163,6 @@ public class SalesEventListener {
         }
     }
     
-    private void invalidateDashboardCache(SaleCreatedEvent event) {
-        try {
-            // 오늘 날짜의 대시보드 캐시 무효화
-            LocalDate today = LocalDate.now();
-            String cacheKey = String.format("dashboard::%s::%s", event.getStoreId(), today);
-            
-            if (cacheManager.getCache("dashboards") != null) {
-                cacheManager.getCache("dashboards").evict(cacheKey);
-                log.info("대시보드 캐시 무효화 완료: key={}", cacheKey);
-            }
-            
-            // 매출 날짜의 대시보드 캐시도 무효화 (과거 데이터 수정 등을 위해)
-            if (event.getSaleDate() != null) {
-                LocalDate saleDate = event.getSaleDate().toLocalDate();
-                String saleDateCacheKey = String.format("dashboard::%s::%s", event.getStoreId(), saleDate);
-                
-                if (cacheManager.getCache("dashboards") != null) {
-                    cacheManager.getCache("dashboards").evict(saleDateCacheKey);
-                    log.info("매출 날짜 대시보드 캐시 무효화 완료: key={}", saleDateCacheKey);
-                }
-            }
-            
-        } catch (Exception e) {
-            log.error("대시보드 캐시 무효화 중 오류 발생", e);
-            throw e;
-        }
-    }
-    
     private void processSettlement(SettlementRequestEvent event) {
         try {
             log.info("정산 처리 시작: storeId={}, date={}", event.getStoreId(), event.getSettlementDate());
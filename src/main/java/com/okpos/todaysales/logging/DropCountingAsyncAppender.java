@@ -0,0 +1,42 @@
+package com.okpos.todaysales.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 버려진 이벤트 수를 세는 AsyncAppender
+ *
+ * 기본 AsyncAppender 는 큐 여유가 discardingThreshold 미만이면 INFO 이하를 버리고,
+ * neverBlock 이면 큐가 가득 찼을 때 나머지도 조용히 버린다. 두 경우를 각각 세어 메트릭으로 노출한다.
+ * (큐 여유는 추가 직전에 확인하므로 동시 기록 중에는 근사값)
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0 && isNeverBlock()) {
+            overflowed.increment();
+        }
+        super.append(event);
+    }
+
+    /** 큐 여유 부족으로 버려진 INFO 이하 이벤트 */
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    /** neverBlock 상태에서 큐가 가득 차 버려진 이벤트 */
+    public long getOverflowed() {
+        return overflowed.sum();
+    }
+}
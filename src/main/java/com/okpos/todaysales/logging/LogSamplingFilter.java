@@ -0,0 +1,77 @@
+package com.okpos.todaysales.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로거별 샘플링 비율에 따라 INFO 이하 로그를 확률적으로 버리는 TurboFilter
+ *
+ * 메시지 포맷팅과 appender 진입 전에 판정하므로 버려진 이벤트는 문자열·이벤트 객체를 만들지 않는다.
+ * 비율은 로거 이름 또는 상위 패키지 이름 단위로 지정하며 가장 구체적인 설정을 적용한다. WARN 이상은 항상 기록한다.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private final ConcurrentMap<String, Double> rates = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isInfoEnabled() 같은 레벨 확인 호출(format == null)과 어차피 기록되지 않을 레벨은 판정하지 않음
+        if (rates.isEmpty() || format == null || level == null
+                || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Double rate = rateOf(logger.getName());
+        if (rate == null || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * @param rate 0.0 ~ 1.0 (1.0 이면 설정 제거)
+     */
+    public void setRate(String loggerName, double rate) {
+        if (rate >= 1.0) {
+            rates.remove(loggerName);
+        } else {
+            rates.put(loggerName, rate);
+        }
+    }
+
+    public Map<String, Double> getRates() {
+        return Collections.unmodifiableMap(new TreeMap<>(rates));
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    private Double rateOf(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Double rate = rates.get(name);
+            if (rate != null) {
+                return rate;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+}
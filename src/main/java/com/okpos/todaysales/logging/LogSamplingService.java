@@ -0,0 +1,135 @@
+package com.okpos.todaysales.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.okpos.todaysales.exception.InvalidRequestException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 핫패스 로그 샘플링 비율 관리와 로그 유실 메트릭
+ *
+ * logging.sampling.rates ("로거=비율" 쉼표 구분) 로 초기 비율을 지정하고, 실행 중에는 모니터링 API 로 바꾼다.
+ * 샘플링으로 버린 이벤트와 비동기 appender(운영 프로파일) 가 버린 이벤트를 logging.events.dropped{reason} 로 노출한다.
+ */
+@Slf4j
+@Component
+public class LogSamplingService {
+
+    private static final String ASYNC_APPENDER_NAME = "ASYNC";
+
+    private final LoggerContext loggerContext;
+    private final LogSamplingFilter samplingFilter = new LogSamplingFilter();
+
+    public LogSamplingService(MeterRegistry meterRegistry,
+                              @Value("${logging.sampling.rates:}") String initialRates) {
+        this.loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        parseRates(initialRates).forEach(this::setRate);
+
+        FunctionCounter.builder("logging.events.dropped", samplingFilter, LogSamplingFilter::getSampledOut)
+                .description("Log events dropped before formatting, by cause")
+                .tag("reason", "sampled")
+                .register(meterRegistry);
+        FunctionCounter.builder("logging.events.dropped", this, service -> service.asyncAppenderCount(true))
+                .description("Log events dropped before formatting, by cause")
+                .tag("reason", "discarded")
+                .register(meterRegistry);
+        FunctionCounter.builder("logging.events.dropped", this, service -> service.asyncAppenderCount(false))
+                .description("Log events dropped before formatting, by cause")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        Gauge.builder("logging.async.queue.remaining", this, LogSamplingService::asyncQueueRemaining)
+                .description("Free slots in the asynchronous log appender queue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        samplingFilter.setName("sampling");
+        samplingFilter.setContext(loggerContext);
+        samplingFilter.start();
+        loggerContext.addTurboFilter(samplingFilter);
+    }
+
+    @PreDestroy
+    public void stop() {
+        loggerContext.getTurboFilterList().remove(samplingFilter);
+        samplingFilter.stop();
+    }
+
+    /**
+     * @param rate 기록할 비율 0.0 ~ 1.0 (1.0 이면 샘플링 해제)
+     */
+    public void setRate(String loggerName, double rate) {
+        if (loggerName == null || loggerName.isBlank()) {
+            throw new InvalidRequestException("logger", loggerName, "로거 이름이 필요합니다");
+        }
+        if (Double.isNaN(rate) || rate < 0.0 || rate > 1.0) {
+            throw new InvalidRequestException("rate", rate, "샘플링 비율은 0.0 ~ 1.0 이어야 합니다: " + rate);
+        }
+        samplingFilter.setRate(loggerName, rate);
+        log.info("로그 샘플링 비율 변경: logger={}, rate={}", loggerName, rate);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("rates", samplingFilter.getRates());
+        status.put("async_appender", findAsyncAppender() != null);
+
+        Map<String, Object> dropped = new LinkedHashMap<>();
+        dropped.put("sampled", samplingFilter.getSampledOut());
+        dropped.put("discarded", asyncAppenderCount(true));
+        dropped.put("queue_full", asyncAppenderCount(false));
+        status.put("dropped", dropped);
+        return status;
+    }
+
+    private long asyncAppenderCount(boolean discarded) {
+        DropCountingAsyncAppender appender = findAsyncAppender();
+        if (appender == null) {
+            return 0;
+        }
+        return discarded ? appender.getDiscarded() : appender.getOverflowed();
+    }
+
+    private double asyncQueueRemaining() {
+        DropCountingAsyncAppender appender = findAsyncAppender();
+        return appender == null ? Double.NaN : appender.getRemainingCapacity();
+    }
+
+    /**
+     * 운영 프로파일(logback-spring.xml)에서만 루트 로거에 연결됨
+     */
+    private DropCountingAsyncAppender findAsyncAppender() {
+        Appender<ILoggingEvent> appender = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME)
+                .getAppender(ASYNC_APPENDER_NAME);
+        return appender instanceof DropCountingAsyncAppender ? (DropCountingAsyncAppender) appender : null;
+    }
+
+    static Map<String, Double> parseRates(String rates) {
+        Map<String, Double> parsed = new LinkedHashMap<>();
+        if (rates == null || rates.isBlank()) {
+            return parsed;
+        }
+        for (String entry : rates.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("로그 샘플링 설정 형식이 올바르지 않습니다 (로거=비율): " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,200 @@
+package com.okpos.todaysales.ratelimit;
+
+import com.okpos.todaysales.exception.ServiceOverloadedException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 웹훅 적응형 부하 차단
+ *
+ * 동시 처리 중인 요청 수를 적응형 한도(AIMD)로 제한한다. 주기적으로 커넥션 풀 획득 대기 시간(EWMA)과
+ * 대기 스레드 수를 표본 추출하여, 임계값을 넘으면 한도를 곱셈적으로 줄이고 정상이면 가산적으로 늘린다.
+ * 한도를 넘는 요청과 커넥션 대기 스레드가 임계값을 넘은 동안의 요청은 503 으로 즉시 거절하여
+ * DB 앞에 대기열이 쌓이는 대신 POS 측 재시도로 부하를 분산시킨다.
+ */
+@Slf4j
+@Component
+public class LoadShedder {
+
+    private static final String HIKARI_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    private static final double EWMA_WEIGHT = 0.3;
+    private static final double DECREASE_FACTOR = 0.75;
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final int minInFlight;
+    private final double maxPoolWaitMs;
+    private final int maxPendingConnections;
+    private final long retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile double poolWaitMs;
+    private volatile int pendingConnections;
+
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+
+    private final Counter inFlightRejectedCounter;
+    private final Counter poolWaitRejectedCounter;
+
+    public LoadShedder(DataSource dataSource,
+                       MeterRegistry meterRegistry,
+                       @Value("${sales.load-shedding.enabled:true}") boolean enabled,
+                       @Value("${sales.load-shedding.max-in-flight:200}") int maxInFlight,
+                       @Value("${sales.load-shedding.min-in-flight:10}") int minInFlight,
+                       @Value("${sales.load-shedding.max-pool-wait-ms:50}") double maxPoolWaitMs,
+                       @Value("${sales.load-shedding.max-pending-connections:20}") int maxPendingConnections,
+                       @Value("${sales.load-shedding.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.minInFlight = Math.min(minInFlight, maxInFlight);
+        this.maxPoolWaitMs = maxPoolWaitMs;
+        this.maxPendingConnections = maxPendingConnections;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limit = maxInFlight;
+
+        this.inFlightRejectedCounter = Counter.builder("sales.loadshed.rejected")
+                .tag("reason", "in_flight")
+                .description("Webhook requests shed before reaching the service")
+                .register(meterRegistry);
+        this.poolWaitRejectedCounter = Counter.builder("sales.loadshed.rejected")
+                .tag("reason", "pool_wait")
+                .description("Webhook requests shed before reaching the service")
+                .register(meterRegistry);
+        Gauge.builder("sales.loadshed.inflight", inFlight, AtomicInteger::get)
+                .description("Webhook requests currently being processed")
+                .register(meterRegistry);
+        Gauge.builder("sales.loadshed.limit", this, LoadShedder::getLimit)
+                .description("Current adaptive limit of concurrent webhook requests")
+                .register(meterRegistry);
+        Gauge.builder("sales.loadshed.pool_wait_ms", this, LoadShedder::getPoolWaitMs)
+                .description("Smoothed connection pool acquire time used for shedding")
+                .register(meterRegistry);
+        Gauge.builder("sales.loadshed.pending_connections", this, LoadShedder::getPendingConnections)
+                .description("Threads waiting for a pooled connection at the last sample")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 처리 시작 - 과부하 상태이면 {@link ServiceOverloadedException}
+     */
+    public void enter() {
+        if (!enabled) {
+            return;
+        }
+
+        if (pendingConnections > maxPendingConnections) {
+            poolWaitRejectedCounter.increment();
+            throw new ServiceOverloadedException("pool_wait", retryAfterSeconds);
+        }
+
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            inFlightRejectedCounter.increment();
+            throw new ServiceOverloadedException("in_flight", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * {@link #enter()} 에 성공한 요청의 처리 종료
+     */
+    public void exit() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${sales.load-shedding.sample-interval-ms:1000}")
+    public void sample() {
+        if (!enabled) {
+            return;
+        }
+        adjust(samplePoolWaitMs(), samplePendingConnections());
+    }
+
+    /**
+     * 표본으로 한도 조정 (AIMD)
+     */
+    void adjust(double sampledWaitMs, int pending) {
+        double smoothed = poolWaitMs * (1 - EWMA_WEIGHT) + sampledWaitMs * EWMA_WEIGHT;
+        poolWaitMs = smoothed;
+        pendingConnections = pending;
+
+        int previous = limit;
+        if (smoothed > maxPoolWaitMs || pending > maxPendingConnections) {
+            limit = Math.max(minInFlight, (int) (previous * DECREASE_FACTOR));
+        } else if (previous < maxInFlight) {
+            limit = Math.min(maxInFlight, previous + Math.max(1, maxInFlight / 20));
+        }
+
+        if (limit < previous) {
+            log.warn("웹훅 동시 처리 한도 축소: {} -> {} (커넥션 대기 {}ms, 대기 스레드 {})",
+                    previous, limit, String.format("%.1f", smoothed), pending);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public double getPoolWaitMs() {
+        return poolWaitMs;
+    }
+
+    public int getPendingConnections() {
+        return pendingConnections;
+    }
+
+    /**
+     * 직전 표본 이후 커넥션 획득 1건당 평균 대기 시간 (ms)
+     */
+    private double samplePoolWaitMs() {
+        Timer acquire = meterRegistry.find(HIKARI_ACQUIRE_TIMER).timer();
+        if (acquire == null) {
+            return 0;
+        }
+
+        long count = acquire.count();
+        double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+        long deltaCount = count - lastAcquireCount;
+        double deltaMs = totalMs - lastAcquireTotalMs;
+        lastAcquireCount = count;
+        lastAcquireTotalMs = totalMs;
+        return deltaCount > 0 ? deltaMs / deltaCount : 0;
+    }
+
+    private int samplePendingConnections() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return 0;
+            }
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        } catch (SQLException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.okpos.todaysales.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 웹훅 요청을 컨트롤러 진입 전에 {@link LoadShedder} 로 통과/거절
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    private static final String ENTERED_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".ENTERED";
+
+    private final LoadShedder loadShedder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ENTERED_ATTRIBUTE) != null) {
+            // 비동기 처리 결과 dispatch 는 이미 집계된 요청
+            return true;
+        }
+        loadShedder.enter();
+        request.setAttribute(ENTERED_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(ENTERED_ATTRIBUTE) != null && !request.isAsyncStarted()) {
+            request.removeAttribute(ENTERED_ATTRIBUTE);
+            loadShedder.exit();
+        }
+    }
+}
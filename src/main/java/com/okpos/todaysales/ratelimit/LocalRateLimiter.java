@@ -0,0 +1,47 @@
+package com.okpos.todaysales.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 로컬 처리율 제한
+ *
+ * 키별 버킷을 ConcurrentHashMap 에 두어 서로 다른 가맹점 간에는 경합이 없고(키 단위 striping),
+ * 같은 가맹점의 동시 요청은 버킷의 CAS 로만 조정된다.
+ */
+final class LocalRateLimiter implements RateLimiter {
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    LocalRateLimiter(double permitsPerSecond, double burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst, now));
+        long waitNanos = bucket.tryAcquire(permits, now);
+        return waitNanos == 0
+                ? RateLimitDecision.allowed()
+                : RateLimitDecision.rejected(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+    }
+
+    /**
+     * 토큰이 가득 찬(새 버킷과 동일한) 버킷 제거
+     */
+    int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
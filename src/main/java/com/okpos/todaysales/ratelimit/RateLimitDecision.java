@@ -0,0 +1,29 @@
+package com.okpos.todaysales.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 처리율 제한 판정 결과
+ */
+@Getter
+public final class RateLimitDecision {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    private final boolean allowed;
+    /** 거절된 경우 다시 시도할 수 있을 때까지의 시간 (ms) */
+    private final long retryAfterMillis;
+
+    private RateLimitDecision(boolean allowed, long retryAfterMillis) {
+        this.allowed = allowed;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public static RateLimitDecision allowed() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision rejected(long retryAfterMillis) {
+        return new RateLimitDecision(false, retryAfterMillis);
+    }
+}
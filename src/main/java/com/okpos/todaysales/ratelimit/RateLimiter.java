@@ -0,0 +1,9 @@
+package com.okpos.todaysales.ratelimit;
+
+/**
+ * 키(사업자번호)별 token bucket 처리율 제한
+ */
+interface RateLimiter {
+
+    RateLimitDecision tryAcquire(String key, int permits);
+}
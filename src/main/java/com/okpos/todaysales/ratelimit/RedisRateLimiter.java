@@ -0,0 +1,61 @@
+package com.okpos.todaysales.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collections;
+
+/**
+ * Redis 기반 클러스터 전체 처리율 제한
+ *
+ * 모든 노드가 같은 버킷을 공유하도록 충전·차감을 하나의 Lua 스크립트로 원자적으로 수행한다.
+ * 시각은 노드 간 시계 차이를 피하기 위해 Redis TIME 을 사용한다.
+ */
+final class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:store:";
+
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local rate = tonumber(ARGV[1])\n" +
+            "local capacity = tonumber(ARGV[2])\n" +
+            "local requested = math.min(tonumber(ARGV[3]), capacity)\n" +
+            "local time = redis.call('TIME')\n" +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)\n" +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+            "local tokens = tonumber(state[1]) or capacity\n" +
+            "local ts = tonumber(state[2]) or now\n" +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)\n" +
+            "local retry = 0\n" +
+            "if tokens >= requested then\n" +
+            "  tokens = tokens - requested\n" +
+            "else\n" +
+            "  retry = math.max(1, math.ceil((requested - tokens) * 1000 / rate))\n" +
+            "end\n" +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))\n" +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)\n" +
+            "return retry\n",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String rate;
+    private final String capacity;
+
+    RedisRateLimiter(StringRedisTemplate redisTemplate, double permitsPerSecond, double burst) {
+        this.redisTemplate = redisTemplate;
+        this.rate = String.valueOf(permitsPerSecond);
+        this.capacity = String.valueOf(burst);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        Long retryAfterMillis = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, Collections.singletonList(KEY_PREFIX + key),
+                rate, capacity, String.valueOf(permits));
+        if (retryAfterMillis == null) {
+            throw new IllegalStateException("처리율 제한 스크립트 결과가 없습니다");
+        }
+        return retryAfterMillis == 0
+                ? RateLimitDecision.allowed()
+                : RateLimitDecision.rejected(retryAfterMillis);
+    }
+}
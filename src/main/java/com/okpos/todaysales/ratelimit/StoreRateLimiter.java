@@ -0,0 +1,97 @@
+package com.okpos.todaysales.ratelimit;
+
+import com.okpos.todaysales.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가맹점(사업자번호)별 웹훅 처리율 제한
+ *
+ * mode=local 이면 노드마다 독립된 버킷을, mode=redis 이면 클러스터 전체가 공유하는 버킷을 사용한다.
+ * Redis 호출이 실패하면 수집을 막지 않도록 로컬 버킷으로 판정한다 (fail-open).
+ */
+@Slf4j
+@Component
+public class StoreRateLimiter {
+
+    private final boolean enabled;
+    private final LocalRateLimiter localLimiter;
+    private final RateLimiter clusterLimiter;
+
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+    private final Counter fallbackCounter;
+
+    public StoreRateLimiter(ObjectProvider<StringRedisTemplate> redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${sales.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${sales.rate-limit.mode:local}") String mode,
+                            @Value("${sales.rate-limit.permits-per-second:20}") double permitsPerSecond,
+                            @Value("${sales.rate-limit.burst:40}") double burst) {
+        this.enabled = enabled;
+        this.localLimiter = new LocalRateLimiter(permitsPerSecond, burst);
+        this.clusterLimiter = "redis".equalsIgnoreCase(mode)
+                ? new RedisRateLimiter(redisTemplate.getObject(), permitsPerSecond, burst)
+                : null;
+
+        this.allowedCounter = Counter.builder("sales.ratelimit.requests")
+                .tag("result", "allowed")
+                .description("Webhook requests checked against the per-store rate limit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("sales.ratelimit.requests")
+                .tag("result", "rejected")
+                .description("Webhook requests checked against the per-store rate limit")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("sales.ratelimit.redis.fallback")
+                .description("Rate limit decisions made locally because Redis was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("sales.ratelimit.buckets", localLimiter, LocalRateLimiter::size)
+                .description("Per-store token buckets held by this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사업자번호의 버킷에서 permits 만큼 차감하고, 부족하면 {@link RateLimitExceededException}
+     */
+    public void acquire(String businessNumber, int permits) {
+        if (!enabled || businessNumber == null || permits <= 0) {
+            return;
+        }
+
+        RateLimitDecision decision = decide(businessNumber, permits);
+        if (decision.isAllowed()) {
+            allowedCounter.increment();
+            return;
+        }
+
+        rejectedCounter.increment();
+        throw new RateLimitExceededException(businessNumber, decision.getRetryAfterMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${sales.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = localLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("유휴 처리율 제한 버킷 정리: {}개", evicted);
+        }
+    }
+
+    private RateLimitDecision decide(String businessNumber, int permits) {
+        if (clusterLimiter != null) {
+            try {
+                return clusterLimiter.tryAcquire(businessNumber, permits);
+            } catch (Exception e) {
+                fallbackCounter.increment();
+                log.warn("Redis 처리율 제한 실패 - 로컬 버킷으로 판정합니다: {}", e.getMessage());
+            }
+        }
+        return localLimiter.tryAcquire(businessNumber, permits);
+    }
+}
@@ -0,0 +1,63 @@
+package com.okpos.todaysales.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * lock-free token bucket
+ *
+ * 남은 토큰과 마지막 충전 시각을 불변 상태 객체로 묶어 CAS 로만 갱신한다.
+ * 토큰은 경과 시간에 비례하여 burst(capacity)까지 충전된다.
+ * capacity 보다 많은 토큰을 요청하면(대량 일괄 요청) 버킷이 가득 찬 경우에만 허용하고 버킷을 비운다.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double permitsPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(double permitsPerSecond, double capacity, long nowNanos) {
+        this.capacity = capacity;
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * 토큰을 획득하면 0, 부족하면 필요한 토큰이 충전될 때까지의 대기 시간(ns)을 반환
+     */
+    long tryAcquire(int permits, long nowNanos) {
+        double requested = Math.min(permits, capacity);
+        while (true) {
+            State current = state.get();
+            double tokens = available(current, nowNanos);
+            if (tokens < requested) {
+                return Math.max(1, (long) Math.ceil((requested - tokens) / permitsPerNano));
+            }
+            State next = new State(tokens - requested, Math.max(nowNanos, current.refilledAt));
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 마지막 사용 이후 토큰이 가득 찰 만큼 시간이 지났는지 (새 버킷과 같은 상태이므로 제거 가능)
+     */
+    boolean isIdle(long nowNanos) {
+        return available(state.get(), nowNanos) >= capacity;
+    }
+
+    private double available(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.refilledAt);
+        return Math.min(capacity, current.tokens + elapsed * permitsPerNano);
+    }
+
+    private static final class State {
+        private final double tokens;
+        private final long refilledAt;
+
+        private State(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
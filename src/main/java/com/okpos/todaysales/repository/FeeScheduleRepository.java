@@ -0,0 +1,22 @@
+package com.okpos.todaysales.repository;
+
+import com.okpos.todaysales.entity.FeeSchedule;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeeScheduleRepository extends JpaRepository<FeeSchedule, Long> {
+
+    List<FeeSchedule> findAllByOrderByEffectiveFromAscIdAsc();
+
+    /**
+     * 같은 범위·결제수단·적용일의 계약 존재 여부 (storeId/category 가 null 이면 IS NULL 로 비교)
+     */
+    boolean existsByStoreIdAndCategoryAndPaymentTypeAndEffectiveFrom(Long storeId, StoreCategory category,
+                                                                     PaymentType paymentType, LocalDate effectiveFrom);
+}
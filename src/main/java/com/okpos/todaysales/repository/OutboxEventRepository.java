@@ -0,0 +1,38 @@
+package com.okpos.todaysales.repository;
+
+import com.okpos.todaysales.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 점유되지 않은 가장 오래된 아웃박스 레코드를 잠금 (다른 노드의 relay 가 잠근 레코드는 건너뜀)
+     */
+    @Query(value = "SELECT * FROM outbox_events " +
+                   "WHERE claimed_until IS NULL OR claimed_until < :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockOldest(@Param("limit") int limit,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * 레코드를 기한까지 점유 (null 이면 점유 해제)
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -4,14 +4,19 @@ import com.okpos.todaysales.entity.Sale;
 import com.okpos.todaysales.entity.enums.PaymentType;
 import com.okpos.todaysales.entity.enums.SaleChannel;
 import com.okpos.todaysales.entity.enums.SaleStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +25,22 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     
     Optional<Sale> findByOrderNumber(String orderNumber);
     
+    /**
+     * 취소·환불 처리용 조회 (같은 매출의 동시 취소와 정산 반영을 직렬화)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sale s JOIN FETCH s.store WHERE s.orderNumber = :orderNumber")
+    Optional<Sale> findByOrderNumberForUpdate(@Param("orderNumber") String orderNumber);
+    
+    @Query("SELECT s.orderNumber FROM Sale s WHERE s.orderNumber IN :orderNumbers")
+    List<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+    
+    @Query("SELECT s.id, s.orderNumber FROM Sale s WHERE s.id > :afterId " +
+           "AND s.transactionTime >= :since ORDER BY s.id")
+    List<Object[]> findRecentOrderNumbers(@Param("afterId") Long afterId,
+                                          @Param("since") LocalDateTime since,
+                                          Pageable pageable);
+    
     List<Sale> findByStoreId(Long storeId);
     
     List<Sale> findByPaymentType(PaymentType paymentType);
@@ -28,129 +49,80 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     
     List<Sale> findByStatus(SaleStatus status);
     
+    /**
+     * 아래 조회는 모두 transaction_time 의 반열린 구간 [start, end) 와 store_id 로 걸러
+     * DATE() 변환이나 stores 조인 없이 (store_id, transaction_time) 인덱스 범위 스캔으로 처리된다.
+     * (인덱스·실행 계획 회귀 검증: SaleQueryPlanIntegrationTest)
+     */
     @Query("SELECT s FROM Sale s WHERE s.store.id = :storeId " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
+           "AND s.transactionTime >= :startTime AND s.transactionTime < :endTime " +
            "ORDER BY s.transactionTime DESC")
     List<Sale> findByStoreIdAndDateRange(@Param("storeId") Long storeId,
-                                       @Param("startDate") LocalDateTime startDate,
-                                       @Param("endDate") LocalDateTime endDate);
+                                       @Param("startTime") LocalDateTime startTime,
+                                       @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT s FROM Sale s WHERE s.store.id = :storeId " +
+           "AND s.transactionTime >= :startTime AND s.transactionTime < :endTime " +
+           "ORDER BY s.transactionTime DESC")
+    Page<Sale> findByStoreIdAndDateRange(@Param("storeId") Long storeId,
+                                         @Param("startTime") LocalDateTime startTime,
+                                         @Param("endTime") LocalDateTime endTime,
+                                         Pageable pageable);
     
     @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Sale s " +
-           "WHERE DATE(s.transactionTime) = :date " +
+           "WHERE s.transactionTime >= :startTime AND s.transactionTime < :endTime " +
            "AND s.status = 'COMPLETED'")
-    BigDecimal findTotalAmountByDate(@Param("date") LocalDate date);
+    BigDecimal findTotalAmountByTimeRange(@Param("startTime") LocalDateTime startTime,
+                                          @Param("endTime") LocalDateTime endTime);
+
+    default BigDecimal findTotalAmountByDate(LocalDate date) {
+        return findTotalAmountByTimeRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
     
     @Query("SELECT s FROM Sale s WHERE s.isSettled = false " +
            "AND s.status = 'COMPLETED' " +
-           "AND DATE(s.transactionTime) = :date " +
+           "AND s.transactionTime >= :startTime AND s.transactionTime < :endTime " +
            "ORDER BY s.transactionTime DESC")
-    List<Sale> findUnsettledSalesByDate(@Param("date") LocalDate date);
+    List<Sale> findUnsettledSalesByTimeRange(@Param("startTime") LocalDateTime startTime,
+                                             @Param("endTime") LocalDateTime endTime);
+
+    default List<Sale> findUnsettledSalesByDate(LocalDate date) {
+        return findUnsettledSalesByTimeRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
+    /**
+     * 정산 대상 매출 (정산 트랜잭션이 끝날 때까지 잠가 동시 취소·환불이 정산 반영 이후에 처리되도록 함)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Sale s WHERE s.isSettled = false " +
            "AND s.status = 'COMPLETED' " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
+           "AND s.transactionTime >= :startTime AND s.transactionTime < :endTime " +
            "ORDER BY s.transactionTime DESC")
-    List<Sale> findUnsettledSalesByDateRange(@Param("startDate") LocalDateTime startDate,
-                                              @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Sale s " +
-           "WHERE s.store.id = :storeId " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
-           "AND s.status = 'COMPLETED'")
-    BigDecimal findTotalAmountByStoreAndDateRange(@Param("storeId") Long storeId,
-                                                @Param("startDate") LocalDateTime startDate,
-                                                @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT COUNT(s) FROM Sale s WHERE s.store.id = :storeId " +
-           "AND DATE(s.transactionTime) = :date")
-    Long countByStoreIdAndDate(@Param("storeId") Long storeId, 
-                               @Param("date") LocalDate date);
-    
-    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND DATE(s.transactionTime) = :date " +
-           "AND s.status = 'COMPLETED'")
-    BigDecimal findTotalAmountByBusinessNumberAndDate(@Param("businessNumber") String businessNumber,
-                                                    @Param("date") LocalDate date);
-    
-    @Query("SELECT COUNT(s) FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND DATE(s.transactionTime) = :date " +
-           "AND s.status = 'COMPLETED'")
-    Long countByBusinessNumberAndDate(@Param("businessNumber") String businessNumber,
-                                    @Param("date") LocalDate date);
-    
-    @Query("SELECT s.paymentType as paymentType, " +
-           "COALESCE(SUM(s.amount), 0) as amount, " +
-           "COUNT(s) as count, " +
-           "COALESCE(SUM(s.fee), 0) as fee, " +
-           "COALESCE(SUM(s.netAmount), 0) as netAmount " +
-           "FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND DATE(s.transactionTime) = :date " +
-           "AND s.status = 'COMPLETED' " +
-           "GROUP BY s.paymentType")
-    List<Object[]> findPaymentTypeStatisticsByBusinessNumberAndDate(@Param("businessNumber") String businessNumber,
-                                                                  @Param("date") LocalDate date);
-    
-    @Query("SELECT HOUR(s.transactionTime) as hour, " +
-           "COALESCE(SUM(s.amount), 0) as amount, " +
-           "COUNT(s) as count " +
-           "FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND DATE(s.transactionTime) = :date " +
-           "AND s.status = 'COMPLETED' " +
-           "GROUP BY HOUR(s.transactionTime) " +
-           "ORDER BY hour ")
-    List<Object[]> findHourlyStatisticsByBusinessNumberAndDate(@Param("businessNumber") String businessNumber,
-                                                             @Param("date") LocalDate date);
-    
-    @Query("SELECT s FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
-           "ORDER BY s.transactionTime DESC")
-    org.springframework.data.domain.Page<Sale> findByBusinessNumberAndDateRange(
-            @Param("businessNumber") String businessNumber,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            org.springframework.data.domain.Pageable pageable);
-    
-    @Query("SELECT COALESCE(SUM(s.amount), 0), " +
-           "COUNT(s), " +
-           "COALESCE(SUM(s.fee), 0), " +
-           "COALESCE(SUM(s.netAmount), 0) " +
-           "FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
-           "AND s.status = 'COMPLETED'")
-    Object[] findMonthlyTotalByBusinessNumberAndDateRange(@Param("businessNumber") String businessNumber,
-                                                        @Param("startDate") LocalDateTime startDate,
-                                                        @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT DAY(s.transactionTime) as day, " +
-           "COALESCE(SUM(s.amount), 0) as amount, " +
-           "COUNT(s) as count " +
-           "FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
+    List<Sale> findUnsettledSalesByDateRange(@Param("startTime") LocalDateTime startTime,
+                                              @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 일일 정산이 끝난 날짜에 뒤늦게 들어온 미정산 매출 (매출일 순, 정산일 구분 없이 한 번에 조회)
+     *
+     * (is_settled, transaction_time) 인덱스로 미정산 행만 읽으며, 증분 정산 트랜잭션이 끝날 때까지 잠근다.
+     * EXISTS 의 DATE() 는 조회된 매출 행의 값으로 settlements.settlement_date 유니크 인덱스를 찾는 데만 쓰인다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sale s JOIN FETCH s.store WHERE s.isSettled = false " +
            "AND s.status = 'COMPLETED' " +
-           "GROUP BY DAY(s.transactionTime) " +
-           "ORDER BY day")
-    List<Object[]> findDailyStatisticsByBusinessNumberAndDateRange(@Param("businessNumber") String businessNumber,
-                                                                 @Param("startDate") LocalDateTime startDate,
-                                                                 @Param("endDate") LocalDateTime endDate);
+           "AND s.transactionTime < :before " +
+           "AND EXISTS (SELECT st.id FROM Settlement st WHERE st.settlementDate = DATE(s.transactionTime) " +
+           "AND st.status = 'COMPLETED') " +
+           "ORDER BY s.transactionTime ASC")
+    List<Sale> findLateUnsettledSales(@Param("before") LocalDateTime before, Pageable pageable);
     
-    @Query("SELECT s.paymentType as paymentType, " +
-           "COALESCE(SUM(s.amount), 0) as amount, " +
-           "COUNT(s) as count, " +
-           "COALESCE(SUM(s.fee), 0) as fee, " +
-           "COALESCE(SUM(s.netAmount), 0) as netAmount " +
-           "FROM Sale s " +
-           "WHERE s.store.businessNumber = :businessNumber " +
-           "AND s.transactionTime BETWEEN :startDate AND :endDate " +
-           "AND s.status = 'COMPLETED' " +
-           "GROUP BY s.paymentType")
-    List<Object[]> findMonthlyPaymentTypeStatisticsByBusinessNumberAndDateRange(@Param("businessNumber") String businessNumber,
-                                                                              @Param("startDate") LocalDateTime startDate,
-                                                                              @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    @Query("SELECT COUNT(s) FROM Sale s WHERE s.store.id = :storeId " +
+           "AND s.transactionTime >= :startTime AND s.transactionTime < :endTime")
+    Long countByStoreIdAndTimeRange(@Param("storeId") Long storeId,
+                                    @Param("startTime") LocalDateTime startTime,
+                                    @Param("endTime") LocalDateTime endTime);
+
+    default Long countByStoreIdAndDate(Long storeId, LocalDate date) {
+        return countByStoreIdAndTimeRange(storeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+}
@@ -0,0 +1,128 @@
+package com.okpos.todaysales.repository;
+
+import com.okpos.todaysales.entity.SalesHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesHourlyRollupRepository extends JpaRepository<SalesHourlyRollup, Long> {
+
+    /**
+     * 집계 행에 증감분을 더하고 version 을 1 증가 (행이 없으면 version 1 로 생성, 음수 증감으로 차감)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sales_hourly_rollup " +
+                   "(store_id, sale_date, sale_hour, payment_type, channel, amount, fee, net_amount, sale_count, version, updated_at) " +
+                   "VALUES (:storeId, :saleDate, :saleHour, :paymentType, :channel, :amount, :fee, :netAmount, :saleCount, 1, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount), fee = fee + VALUES(fee), " +
+                   "net_amount = net_amount + VALUES(net_amount), sale_count = sale_count + VALUES(sale_count), " +
+                   "version = version + 1, updated_at = VALUES(updated_at)",
+           nativeQuery = true)
+    int upsert(@Param("storeId") Long storeId,
+               @Param("saleDate") LocalDate saleDate,
+               @Param("saleHour") int saleHour,
+               @Param("paymentType") String paymentType,
+               @Param("channel") String channel,
+               @Param("amount") BigDecimal amount,
+               @Param("fee") BigDecimal fee,
+               @Param("netAmount") BigDecimal netAmount,
+               @Param("saleCount") long saleCount);
+
+    /**
+     * upsert 직후 같은 트랜잭션에서 집계 행의 version 조회 (행 잠금을 보유하므로 이 upsert 가 만든 version)
+     */
+    @Query(value = "SELECT version FROM sales_hourly_rollup " +
+                   "WHERE store_id = :storeId AND sale_date = :saleDate AND sale_hour = :saleHour " +
+                   "AND payment_type = :paymentType AND channel = :channel",
+           nativeQuery = true)
+    long findVersion(@Param("storeId") Long storeId,
+                     @Param("saleDate") LocalDate saleDate,
+                     @Param("saleHour") int saleHour,
+                     @Param("paymentType") String paymentType,
+                     @Param("channel") String channel);
+
+    @Query("SELECT COALESCE(MAX(r.version), 0) FROM SalesHourlyRollup r WHERE r.saleDate = :date")
+    long findMaxVersionBySaleDate(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query("DELETE FROM SalesHourlyRollup r WHERE r.saleDate BETWEEN :startDate AND :endDate")
+    int deleteBySaleDateBetween(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * 기간의 완료 매출을 원본 테이블에서 다시 집계하여 기록 (deleteBySaleDateBetween 이후 같은 트랜잭션에서 실행)
+     *
+     * @param version 새 행의 version (지우기 전 최대 version 보다 크게 주어 이전 증감이 다시 더해지지 않도록 함)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sales_hourly_rollup " +
+                   "(store_id, sale_date, sale_hour, payment_type, channel, amount, fee, net_amount, sale_count, version, updated_at) " +
+                   "SELECT s.store_id, DATE(s.transaction_time), HOUR(s.transaction_time), s.payment_type, s.channel, " +
+                   "SUM(s.amount), SUM(s.fee), SUM(s.net_amount), COUNT(*), :version, NOW() " +
+                   "FROM sales s " +
+                   "WHERE s.transaction_time >= :startTime AND s.transaction_time < :endTime " +
+                   "AND s.status = 'COMPLETED' " +
+                   "GROUP BY s.store_id, DATE(s.transaction_time), HOUR(s.transaction_time), s.payment_type, s.channel",
+           nativeQuery = true)
+    int insertFromSales(@Param("startTime") LocalDateTime startTime,
+                        @Param("endTime") LocalDateTime endTime,
+                        @Param("version") long version);
+
+    /**
+     * 일별 대시보드 집계 (시간대 × 결제수단 단위 1회 조회, 합계·결제수단별·시간대별 값은 SalesReportFolder 에서 계산)
+     */
+    @Query("SELECT r.saleHour, r.paymentType, SUM(r.amount), SUM(r.saleCount), SUM(r.fee), SUM(r.netAmount) " +
+           "FROM SalesHourlyRollup r " +
+           "WHERE r.storeId = :storeId AND r.saleDate = :date " +
+           "GROUP BY r.saleHour, r.paymentType " +
+           "HAVING SUM(r.saleCount) > 0")
+    List<Object[]> findDashboardRows(@Param("storeId") Long storeId,
+                                     @Param("date") LocalDate date);
+
+    /**
+     * 가맹점·날짜의 집계 행과 version (대시보드 해시 생성용, 해시가 불러온 version 이하의 증감을 버리도록 행마다 1행)
+     *
+     * 행 형식: [saleHour, PaymentType, amount, saleCount, fee, netAmount, SaleChannel, version]
+     */
+    @Query("SELECT r.saleHour, r.paymentType, r.amount, r.saleCount, r.fee, r.netAmount, r.channel, r.version " +
+           "FROM SalesHourlyRollup r " +
+           "WHERE r.storeId = :storeId AND r.saleDate = :date")
+    List<Object[]> findVersionedDashboardRows(@Param("storeId") Long storeId,
+                                              @Param("date") LocalDate date);
+
+    /**
+     * 월별 리포트 집계 (일자 × 결제수단 단위 1회 조회, 합계·일별·결제수단별 값은 SalesReportFolder 에서 계산)
+     */
+    @Query("SELECT r.saleDate, r.paymentType, SUM(r.amount), SUM(r.saleCount), SUM(r.fee), SUM(r.netAmount) " +
+           "FROM SalesHourlyRollup r " +
+           "WHERE r.storeId = :storeId AND r.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.saleDate, r.paymentType " +
+           "HAVING SUM(r.saleCount) > 0")
+    List<Object[]> findMonthlyReportRows(@Param("storeId") Long storeId,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * 하루치 전 가맹점 집계 행과 version (실시간 대시보드 엔진 적재용)
+     *
+     * 행 형식: [storeId, saleHour, PaymentType, SaleChannel, amount, saleCount, fee, version]
+     */
+    @Query("SELECT r.storeId, r.saleHour, r.paymentType, r.channel, r.amount, r.saleCount, r.fee, r.version " +
+           "FROM SalesHourlyRollup r " +
+           "WHERE r.saleDate = :date")
+    List<Object[]> findDayRows(@Param("date") LocalDate date);
+
+    /**
+     * 날짜에 집계가 있는 가맹점 (대시보드 해시 삭제·정합성 점검 대상)
+     */
+    @Query("SELECT DISTINCT r.storeId FROM SalesHourlyRollup r WHERE r.saleDate = :date")
+    List<Long> findStoreIdsBySaleDate(@Param("date") LocalDate date);
+}
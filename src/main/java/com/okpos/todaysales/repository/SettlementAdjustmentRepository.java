@@ -0,0 +1,23 @@
+package com.okpos.todaysales.repository;
+
+import com.okpos.todaysales.entity.SettlementAdjustment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface SettlementAdjustmentRepository extends JpaRepository<SettlementAdjustment, Long> {
+
+    /**
+     * 아직 정산에 반영되지 않은 조정 (동시 정산이 같은 조정을 두 번 반영하지 않도록 잠금)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM SettlementAdjustment a WHERE a.appliedSettlementId IS NULL ORDER BY a.id")
+    List<SettlementAdjustment> findPendingForUpdate();
+
+    List<SettlementAdjustment> findByAppliedSettlementIdOrderByIdAsc(Long appliedSettlementId);
+}
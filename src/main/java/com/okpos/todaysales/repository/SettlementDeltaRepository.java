@@ -0,0 +1,14 @@
+package com.okpos.todaysales.repository;
+
+import com.okpos.todaysales.entity.SettlementDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SettlementDeltaRepository extends JpaRepository<SettlementDelta, Long> {
+
+    List<SettlementDelta> findBySettlementDateOrderByIdAsc(LocalDate settlementDate);
+}
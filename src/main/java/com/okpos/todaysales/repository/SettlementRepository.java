@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,8 @@ public interface SettlementRepository extends JpaRepository<Settlement, Long> {
     Optional<Settlement> findBySettlementDate(LocalDate settlementDate);
 
     boolean existsBySettlementDate(LocalDate settlementDate);
+
+    List<Settlement> findBySettlementDateIn(Collection<LocalDate> settlementDates);
     
     @Query("SELECT s FROM Settlement s WHERE s.settlementDate BETWEEN :startDate AND :endDate " +
            "ORDER BY s.settlementDate DESC")
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface StoreRepository extends JpaRepository<Store, Long> {
     
     Optional<Store> findByBusinessNumber(String businessNumber);
     
+    List<Store> findByBusinessNumberIn(Collection<String> businessNumbers);
+    
     List<Store> findByCategory(StoreCategory category);
     
     List<Store> findByStatus(StoreStatus status);
@@ -0,0 +1,409 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.SaleDashboard;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 가맹점·날짜별 대시보드 집계를 Redis 해시로 유지
+ *
+ * 커밋된 매출 증감(SalesRollupService 의 afterCommit)은 Lua 스크립트 한 번으로 합계·시간대별·결제수단별 필드에 HINCRBY 하고,
+ * 조회는 HGETALL 한 번으로 SaleDashboard 를 만든다. 금액·수수료는 최소 단위(소수 2자리) 정수로 보관한다.
+ *
+ * 해시가 없으면 증감을 버리고 다음 조회가 DB 집계로 해시를 만든다. 만드는 동안에는 _building 표시를 두고
+ * 그 사이 도착한 증감은 해시 안의 대기 필드(q:n)에 쌓는다. 집계 행(sales_hourly_rollup)마다 upsert 때 올라가는 version 을
+ * 증감과 함께 받고, 불러온 행의 version 을 v:{시간대}:{결제수단}:{채널} 필드로 기록하여 불러온 version 이하의 증감은 버린다.
+ * 따라서 불러온 집계에 이미 포함된 증감(표시 전후에 커밋되어 afterCommit 이 늦게 도착한 것 포함)은 두 번 더해지지 않고,
+ * 포함되지 않은 증감은 대기 필드에서 다시 반영되어 빠지지 않는다. 표시가 있는 해시는 조회하지 않는다.
+ * Redis 오류는 매출 처리를 막지 않으며 (조회는 DB 집계로 응답), 어긋난 해시는 DashboardHashConsistencyChecker 가 지운다.
+ */
+@Slf4j
+@Component
+public class DashboardHashCache {
+
+    private static final String KEY_PREFIX = "dashboard:hash:";
+    static final String BUILDING = "_building";
+    private static final String PENDING = "_pending";
+    static final String VERSION_PREFIX = "v:";
+    private static final String QUEUED_PREFIX = "q:";
+    private static final int MINOR_UNIT_SCALE = 2;
+    private static final long BUILDING_TTL_SECONDS = 30;
+    private static final int SCAN_COUNT = 1000;
+
+    static final String AMOUNT = "amount";
+    static final String COUNT = "count";
+    static final String FEE = "fee";
+
+    /**
+     * 증감 1건 반영 (금액, 건수, 수수료, 시간대, 결제수단, 채널, version — 불러온 행 version 이하이면 버리고 0)
+     */
+    private static final String APPLY_DELTA_FUNCTION =
+            "local function applyDelta(key, amount, count, fee, hour, payment, channel, version)\n" +
+            "  local loaded = redis.call('HGET', key, '" + VERSION_PREFIX + "' .. hour .. ':' .. payment .. ':' .. channel)\n" +
+            "  if loaded and tonumber(version) <= tonumber(loaded) then return 0 end\n" +
+            "  local h = 'h:' .. hour .. ':'\n" +
+            "  local p = 'p:' .. payment .. ':'\n" +
+            "  redis.call('HINCRBY', key, 'amount', amount)\n" +
+            "  redis.call('HINCRBY', key, 'count', count)\n" +
+            "  redis.call('HINCRBY', key, 'fee', fee)\n" +
+            "  redis.call('HINCRBY', key, h .. 'amount', amount)\n" +
+            "  redis.call('HINCRBY', key, h .. 'count', count)\n" +
+            "  redis.call('HINCRBY', key, p .. 'amount', amount)\n" +
+            "  redis.call('HINCRBY', key, p .. 'count', count)\n" +
+            "  redis.call('HINCRBY', key, p .. 'fee', fee)\n" +
+            "  return 1\n" +
+            "end\n";
+
+    /**
+     * KEYS[1] 해시, ARGV: 금액, 건수, 수수료, 시간대, 결제수단, 채널, version
+     * (해시가 없으면 반영하지 않고 0, 만드는 중이면 대기 필드에 쌓고 2)
+     */
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+            APPLY_DELTA_FUNCTION +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end\n" +
+            "if redis.call('HEXISTS', KEYS[1], '" + BUILDING + "') == 1 then\n" +
+            "  local n = redis.call('HINCRBY', KEYS[1], '" + PENDING + "', 1)\n" +
+            "  redis.call('HSET', KEYS[1], '" + QUEUED_PREFIX + "' .. n, table.concat(ARGV, ',', 1, 7))\n" +
+            "  return 2\n" +
+            "end\n" +
+            "return applyDelta(KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4], ARGV[5], ARGV[6], ARGV[7])\n",
+            Long.class);
+
+    /**
+     * KEYS[1] 해시, ARGV[1] 생성 중 TTL (해시가 없을 때만 _building 표시로 만들고 1)
+     */
+    private static final RedisScript<Long> BEGIN_BUILD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end\n" +
+            "redis.call('HSET', KEYS[1], '" + BUILDING + "', '1')\n" +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1])\n" +
+            "return 1\n",
+            Long.class);
+
+    /**
+     * KEYS[1] 해시, ARGV[1] TTL, ARGV[2..] 필드·값 쌍 (집계 필드와 행별 version 필드)
+     * 생성 중 표시가 남아 있을 때만 더하고, 대기 필드의 증감을 version 과 비교하여 반영한 뒤 표시를 지움
+     */
+    private static final RedisScript<Long> FINISH_BUILD_SCRIPT = new DefaultRedisScript<>(
+            APPLY_DELTA_FUNCTION +
+            "if redis.call('HEXISTS', KEYS[1], '" + BUILDING + "') == 0 then return 0 end\n" +
+            "for i = 2, #ARGV, 2 do\n" +
+            "  redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])\n" +
+            "end\n" +
+            "local pending = tonumber(redis.call('HGET', KEYS[1], '" + PENDING + "') or '0')\n" +
+            "for n = 1, pending do\n" +
+            "  local field = '" + QUEUED_PREFIX + "' .. n\n" +
+            "  local delta = redis.call('HGET', KEYS[1], field)\n" +
+            "  if delta then\n" +
+            "    local d = {}\n" +
+            "    for part in string.gmatch(delta, '[^,]+') do d[#d + 1] = part end\n" +
+            "    applyDelta(KEYS[1], d[1], d[2], d[3], d[4], d[5], d[6], d[7])\n" +
+            "    redis.call('HDEL', KEYS[1], field)\n" +
+            "  end\n" +
+            "end\n" +
+            "redis.call('HDEL', KEYS[1], '" + BUILDING + "', '" + PENDING + "')\n" +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1])\n" +
+            "return 1\n",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final String ttlSeconds;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter errorCounter;
+
+    public DashboardHashCache(StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${sales.dashboard-hash.enabled:true}") boolean enabled,
+                              @Value("${sales.dashboard-hash.ttl-hours:26}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttlSeconds = String.valueOf(TimeUnit.HOURS.toSeconds(ttlHours));
+
+        this.hitCounter = Counter.builder("sales.dashboard.hash.reads")
+                .tag("result", "hit")
+                .description("Dashboard reads served from the per-store Redis hash")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("sales.dashboard.hash.reads")
+                .tag("result", "miss")
+                .description("Dashboard reads served from the per-store Redis hash")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("sales.dashboard.hash.errors")
+                .description("Redis failures while reading or updating dashboard hashes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 커밋된 증감 1건을 해시에 반영 (해시가 없으면 무시, 만드는 중이면 대기)
+     *
+     * @param version 증감을 반영한 뒤의 집계 행 version (해시를 만들 때 불러온 version 이하이면 버림)
+     */
+    public void apply(Long storeId, LocalDate saleDate, int saleHour, PaymentType paymentType, SaleChannel channel,
+                      long version, long count, BigDecimal amount, BigDecimal fee) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(APPLY_SCRIPT, Collections.singletonList(key(storeId, saleDate)),
+                    String.valueOf(toMinorUnits(amount)), String.valueOf(count), String.valueOf(toMinorUnits(fee)),
+                    String.valueOf(saleHour), paymentType.name(), channel.name(), String.valueOf(version));
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("대시보드 해시 증감 반영 실패: storeId={}, date={}", storeId, saleDate, e);
+        }
+    }
+
+    /**
+     * HGETALL 한 번으로 대시보드 조회 (해시가 없거나 만드는 중이면 empty)
+     */
+    public Optional<SaleDashboard> get(Long storeId, LocalDate date) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Map<String, String> fields;
+        try {
+            fields = entries(storeId, date);
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("대시보드 해시 조회 실패 - DB 집계로 조회합니다: storeId={}, date={}", storeId, date, e);
+            return Optional.empty();
+        }
+        if (fields.isEmpty() || fields.containsKey(BUILDING)) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(toDashboard(date, fields, System.currentTimeMillis()));
+    }
+
+    /**
+     * 해시가 없을 때 DB 집계로 만듦 (다른 요청이 이미 만들고 있거나 만든 경우 그대로 둠)
+     *
+     * @param loader 생성 중 표시를 둔 뒤 호출되는 집계 행 조회
+     *               ([saleHour, PaymentType, amount, saleCount, fee, netAmount, SaleChannel, version], 집계 행마다 1행)
+     * @return loader 를 호출했으면 그 결과로 만든 대시보드, 호출하지 않았으면 empty
+     */
+    public Optional<SaleDashboard> build(Long storeId, LocalDate date, Supplier<List<Object[]>> loader) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = key(storeId, date);
+        Long started;
+        try {
+            started = redisTemplate.execute(BEGIN_BUILD_SCRIPT, Collections.singletonList(key),
+                    String.valueOf(BUILDING_TTL_SECONDS));
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("대시보드 해시 생성 실패: storeId={}, date={}", storeId, date, e);
+            return Optional.empty();
+        }
+        if (started == null || started == 0) {
+            return Optional.empty();
+        }
+
+        long computedAt = System.currentTimeMillis();
+        List<Object[]> rows = loader.get();
+        Map<String, Long> fields = toFields(rows);
+        List<String> args = new ArrayList<>();
+        args.add(ttlSeconds);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(String.valueOf(value));
+        });
+        versionFields(rows).forEach((field, value) -> {
+            args.add(field);
+            args.add(String.valueOf(value));
+        });
+        try {
+            redisTemplate.execute(FINISH_BUILD_SCRIPT, Collections.singletonList(key), args.toArray());
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("대시보드 해시 생성 실패: storeId={}, date={}", storeId, date, e);
+        }
+        Map<String, String> snapshot = new HashMap<>(fields.size() * 2);
+        fields.forEach((field, value) -> snapshot.put(field, String.valueOf(value)));
+        return Optional.of(toDashboard(date, snapshot, computedAt));
+    }
+
+    /**
+     * 가맹점들의 날짜 해시를 지움 (집계 재계산 이후, 불일치 발견 시)
+     */
+    public void evict(Collection<Long> storeIds, LocalDate date) {
+        if (!enabled || storeIds.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(storeIds.stream().map(storeId -> key(storeId, date)).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("대시보드 해시 삭제 실패: date={}, stores={}", date, storeIds.size(), e);
+        }
+    }
+
+    /**
+     * 지금 Redis 에 있는 해시를 날짜와 무관하게 최대 size 개 무작위로 골라 날짜별 가맹점 ID 로 반환 (SCAN, 저수지 표본)
+     */
+    Map<LocalDate, List<Long>> sampleStores(int size) {
+        List<String> sample = new ArrayList<>(size);
+        long seen = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_COUNT).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                seen++;
+                if (sample.size() < size) {
+                    sample.add(key);
+                } else {
+                    long slot = ThreadLocalRandom.current().nextLong(seen);
+                    if (slot < size) {
+                        sample.set((int) slot, key);
+                    }
+                }
+            }
+        }
+
+        Map<LocalDate, List<Long>> stores = new TreeMap<>();
+        for (String key : sample) {
+            String[] parts = key.substring(KEY_PREFIX.length()).split(":");
+            stores.computeIfAbsent(LocalDate.parse(parts[0]), date -> new ArrayList<>()).add(Long.valueOf(parts[1]));
+        }
+        return stores;
+    }
+
+    Map<String, String> entries(Long storeId, LocalDate date) {
+        Map<Object, Object> raw = redisTemplate.opsForHash().entries(key(storeId, date));
+        Map<String, String> fields = new HashMap<>(raw.size() * 2);
+        raw.forEach((field, value) -> fields.put(String.valueOf(field), String.valueOf(value)));
+        return fields;
+    }
+
+    static String key(Long storeId, LocalDate date) {
+        return KEY_PREFIX + date + ":" + storeId;
+    }
+
+    static SaleDashboard toDashboard(LocalDate date, Map<String, String> fields, long computedAt) {
+        List<SaleDashboard.PaymentTypeStatistic> paymentTypeStatistics = new ArrayList<>();
+        for (PaymentType paymentType : PaymentType.values()) {
+            String prefix = "p:" + paymentType.name() + ":";
+            long count = longValue(fields, prefix + COUNT);
+            if (count <= 0) {
+                continue;
+            }
+            BigDecimal amount = fromMinorUnits(longValue(fields, prefix + AMOUNT));
+            BigDecimal fee = fromMinorUnits(longValue(fields, prefix + FEE));
+            paymentTypeStatistics.add(SaleDashboard.PaymentTypeStatistic.builder()
+                    .paymentType(paymentType.getDescription())
+                    .amount(amount)
+                    .count((int) count)
+                    .fee(fee)
+                    .netAmount(amount.subtract(fee))
+                    .build());
+        }
+
+        List<SaleDashboard.HourlyStatistic> hourlyStatistics = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            long count = longValue(fields, "h:" + hour + ":" + COUNT);
+            if (count <= 0) {
+                continue;
+            }
+            hourlyStatistics.add(SaleDashboard.HourlyStatistic.builder()
+                    .hour(hour)
+                    .amount(fromMinorUnits(longValue(fields, "h:" + hour + ":" + AMOUNT)))
+                    .count((int) count)
+                    .build());
+        }
+
+        return SaleDashboard.builder()
+                .date(date)
+                .totalAmount(fromMinorUnits(longValue(fields, AMOUNT)))
+                .totalCount((int) longValue(fields, COUNT))
+                .paymentTypeStatistics(paymentTypeStatistics)
+                .hourlyStatistics(hourlyStatistics)
+                .computedAt(computedAt)
+                .build();
+    }
+
+    /**
+     * 집계 행을 해시 필드로 변환 (앞 6열이 SalesReportFolder 행 형식, 같은 시간대·결제수단의 행은 합산)
+     */
+    static Map<String, Long> toFields(List<Object[]> rows) {
+        // 매출이 없는 날도 해시가 남아 이후 증감을 받도록 합계 필드는 항상 기록
+        Map<String, Long> fields = new HashMap<>();
+        fields.put(AMOUNT, 0L);
+        fields.put(COUNT, 0L);
+        fields.put(FEE, 0L);
+        for (Object[] row : rows) {
+            String hour = "h:" + row[0] + ":";
+            String payment = "p:" + ((PaymentType) row[1]).name() + ":";
+            long amount = toMinorUnits((BigDecimal) row[2]);
+            long count = ((Number) row[3]).longValue();
+            long fee = toMinorUnits((BigDecimal) row[4]);
+
+            fields.merge(AMOUNT, amount, Long::sum);
+            fields.merge(COUNT, count, Long::sum);
+            fields.merge(FEE, fee, Long::sum);
+            fields.merge(hour + AMOUNT, amount, Long::sum);
+            fields.merge(hour + COUNT, count, Long::sum);
+            fields.merge(payment + AMOUNT, amount, Long::sum);
+            fields.merge(payment + COUNT, count, Long::sum);
+            fields.merge(payment + FEE, fee, Long::sum);
+        }
+        return fields;
+    }
+
+    /**
+     * 집계 행별 version 필드 (v:{시간대}:{결제수단}:{채널})
+     */
+    static Map<String, Long> versionFields(List<Object[]> rows) {
+        Map<String, Long> fields = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            fields.put(VERSION_PREFIX + row[0] + ":" + ((PaymentType) row[1]).name() + ":" + ((SaleChannel) row[6]).name(),
+                    ((Number) row[7]).longValue());
+        }
+        return fields;
+    }
+
+    private static long longValue(Map<String, String> fields, String field) {
+        String value = fields.get(field);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static long toMinorUnits(BigDecimal value) {
+        return value.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinorUnits(long value) {
+        return BigDecimal.valueOf(value, MINOR_UNIT_SCALE);
+    }
+}
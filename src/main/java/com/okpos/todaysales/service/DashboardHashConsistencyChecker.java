@@ -0,0 +1,275 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 대시보드 해시·실시간 대시보드 엔진과 DB 집계(sales_hourly_rollup)의 정합성 점검
+ *
+ * 주기 점검은 지금 Redis 에 있는 해시를 날짜와 무관하게 무작위로 골라 (지난 날짜 해시도 취소·환불로 계속 바뀜)
+ * 해시 필드를 같은 DB 집계로 만든 필드와 비교한다. 비교 사이에 커밋된 매출로 잠깐 어긋날 수 있으므로
+ * 한 번 더 읽어 그래도 다르면 불일치로 보고 해시를 지운다 (다음 조회가 DB 집계로 다시 만든다).
+ * 해시가 없거나 만드는 중인 가맹점은 건너뛴다. 날짜를 지정한 점검은 그날 집계가 있는 가맹점에서 표본을 고른다.
+ * 실시간 대시보드 엔진이 제공하는 날짜이면 표본 가맹점의 엔진 집계도 비교하고, 불일치가 있으면 엔진을 다시 적재한다.
+ */
+@Slf4j
+@Component
+public class DashboardHashConsistencyChecker {
+
+    private final DashboardHashCache dashboardHashCache;
+    private final LiveDashboardEngine liveDashboardEngine;
+    private final SalesHourlyRollupRepository rollupRepository;
+    private final int sampleSize;
+
+    private final Counter matchCounter;
+    private final Counter mismatchCounter;
+    private final Counter engineMatchCounter;
+    private final Counter engineMismatchCounter;
+
+    public DashboardHashConsistencyChecker(DashboardHashCache dashboardHashCache,
+                                           LiveDashboardEngine liveDashboardEngine,
+                                           SalesHourlyRollupRepository rollupRepository,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${sales.dashboard-hash.check-sample-size:200}") int sampleSize) {
+        this.dashboardHashCache = dashboardHashCache;
+        this.liveDashboardEngine = liveDashboardEngine;
+        this.rollupRepository = rollupRepository;
+        this.sampleSize = sampleSize;
+
+        this.matchCounter = Counter.builder("sales.dashboard.hash.check")
+                .tag("result", "match")
+                .description("Sampled dashboard hashes compared against the hourly rollup")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("sales.dashboard.hash.check")
+                .tag("result", "mismatch")
+                .description("Sampled dashboard hashes compared against the hourly rollup")
+                .register(meterRegistry);
+        this.engineMatchCounter = Counter.builder("sales.live.dashboard.check")
+                .tag("result", "match")
+                .description("Sampled live dashboard engine stores compared against the hourly rollup")
+                .register(meterRegistry);
+        this.engineMismatchCounter = Counter.builder("sales.live.dashboard.check")
+                .tag("result", "mismatch")
+                .description("Sampled live dashboard engine stores compared against the hourly rollup")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${sales.dashboard-hash.check-interval-ms:300000}",
+               initialDelayString = "${sales.dashboard-hash.check-interval-ms:300000}")
+    public void scheduledCheck() {
+        try {
+            if (dashboardHashCache.isEnabled()) {
+                checkCachedHashes();
+            }
+            LocalDate today = liveDashboardEngine.today();
+            if (liveDashboardEngine.serves(today)) {
+                checkLiveEngine(today, sample(rollupRepository.findStoreIdsBySaleDate(today)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("대시보드 해시 정합성 점검 실패", e);
+        }
+    }
+
+    /**
+     * 지금 Redis 에 있는 해시를 날짜와 무관하게 표본 추출하여 점검
+     *
+     * @return 표본·일치·불일치·건너뛴 해시 수와 날짜별 불일치 가맹점 ID
+     */
+    public Map<String, Object> checkCachedHashes() {
+        Map<LocalDate, List<Long>> sample = dashboardHashCache.sampleStores(sampleSize);
+
+        HashCheck total = new HashCheck();
+        Map<LocalDate, List<Long>> mismatched = new TreeMap<>();
+        sample.forEach((date, storeIds) -> {
+            HashCheck check = checkHashes(date, storeIds);
+            total.add(check);
+            if (!check.mismatched.isEmpty()) {
+                mismatched.put(date, check.mismatched);
+            }
+        });
+        log.info("대시보드 해시 정합성 점검: 날짜 {}개, 표본={}, 일치={}, 불일치={}, 건너뜀={}",
+                sample.size(), total.sampled, total.matched, total.mismatched.size(), total.skipped);
+
+        Map<String, Object> result = total.toMap();
+        result.put("mismatchedStoreIds", mismatched);
+        return result;
+    }
+
+    /**
+     * 날짜에 집계가 있는 가맹점을 표본 추출하여 점검
+     *
+     * @return 점검 날짜, 표본·일치·불일치·건너뛴 가맹점 수와 불일치 가맹점 ID
+     *         (실시간 대시보드 엔진이 제공하는 날짜이면 liveEngine 에 엔진 점검 결과)
+     */
+    public Map<String, Object> check(LocalDate date) {
+        List<Long> sample = sample(rollupRepository.findStoreIdsBySaleDate(date));
+        HashCheck check = checkHashes(date, sample);
+        log.info("대시보드 해시 정합성 점검: date={}, 표본={}, 일치={}, 불일치={}, 건너뜀={}",
+                date, check.sampled, check.matched, check.mismatched.size(), check.skipped);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", date);
+        result.putAll(check.toMap());
+        result.put("mismatchedStoreIds", check.mismatched);
+        if (liveDashboardEngine.serves(date)) {
+            result.put("liveEngine", checkLiveEngine(date, sample));
+        }
+        return result;
+    }
+
+    private List<Long> sample(List<Long> storeIds) {
+        List<Long> shuffled = new ArrayList<>(storeIds);
+        Collections.shuffle(shuffled);
+        return shuffled.subList(0, Math.min(sampleSize, shuffled.size()));
+    }
+
+    /**
+     * 날짜의 가맹점 해시를 DB 집계와 비교하고 다시 비교해도 다른 해시는 지움
+     */
+    private HashCheck checkHashes(LocalDate date, List<Long> storeIds) {
+        HashCheck check = new HashCheck();
+        check.sampled = storeIds.size();
+        for (Long storeId : storeIds) {
+            Boolean consistent = compare(storeId, date);
+            if (consistent != null && !consistent) {
+                // 읽는 사이 커밋된 증감일 수 있으므로 한 번 더 비교
+                consistent = compare(storeId, date);
+            }
+            if (consistent == null) {
+                check.skipped++;
+            } else if (consistent) {
+                check.matched++;
+                matchCounter.increment();
+            } else {
+                check.mismatched.add(storeId);
+                mismatchCounter.increment();
+            }
+        }
+
+        if (!check.mismatched.isEmpty()) {
+            log.warn("대시보드 해시 불일치 - 해시를 지웁니다: date={}, stores={}", date, check.mismatched);
+            dashboardHashCache.evict(check.mismatched, date);
+        }
+        return check;
+    }
+
+    /**
+     * 표본 가맹점의 실시간 대시보드 엔진 집계를 DB 집계와 비교하고, 불일치가 있으면 엔진을 다시 적재
+     */
+    private Map<String, Object> checkLiveEngine(LocalDate date, List<Long> sample) {
+        int matched = 0;
+        List<Long> mismatched = new ArrayList<>();
+        for (Long storeId : sample) {
+            Boolean consistent = compareLiveEngine(storeId, date);
+            if (consistent != null && !consistent) {
+                consistent = compareLiveEngine(storeId, date);
+            }
+            if (consistent == null) {
+                continue;
+            }
+            if (consistent) {
+                matched++;
+                engineMatchCounter.increment();
+            } else {
+                mismatched.add(storeId);
+                engineMismatchCounter.increment();
+            }
+        }
+
+        if (!mismatched.isEmpty()) {
+            log.warn("실시간 대시보드 집계 불일치 - 다시 적재합니다: date={}, stores={}", date, mismatched);
+            liveDashboardEngine.rebuild(date);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("matched", matched);
+        result.put("mismatched", mismatched.size());
+        result.put("mismatchedStoreIds", mismatched);
+        return result;
+    }
+
+    /**
+     * @return 일치 여부, 해시가 없거나 만드는 중이면 null
+     */
+    private Boolean compare(Long storeId, LocalDate date) {
+        Map<String, String> entries = dashboardHashCache.entries(storeId, date);
+        if (entries.isEmpty() || entries.containsKey(DashboardHashCache.BUILDING)) {
+            return null;
+        }
+        Map<String, Long> actual = new HashMap<>(entries.size() * 2);
+        entries.forEach((field, value) -> {
+            // 집계 행별 version 은 증감 중복 판단용
+            if (!field.startsWith(DashboardHashCache.VERSION_PREFIX)) {
+                actual.put(field, Long.parseLong(value));
+            }
+        });
+        return matches("대시보드 해시", storeId, date, actual);
+    }
+
+    /**
+     * @return 일치 여부, 엔진이 날짜를 제공하지 않으면 null
+     */
+    private Boolean compareLiveEngine(Long storeId, LocalDate date) {
+        Optional<List<Object[]>> rows = liveDashboardEngine.rows(storeId, date);
+        if (!rows.isPresent()) {
+            return null;
+        }
+        return matches("실시간 대시보드 집계", storeId, date, DashboardHashCache.toFields(rows.get()));
+    }
+
+    private boolean matches(String source, Long storeId, LocalDate date, Map<String, Long> actual) {
+        Map<String, Long> expected = DashboardHashCache.toFields(rollupRepository.findDashboardRows(storeId, date));
+
+        // 취소로 0 이 된 필드는 해시에만 남으므로 0 인 필드는 없는 것으로 봄
+        actual.values().removeIf(value -> value == 0);
+        expected.values().removeIf(value -> value == 0);
+        if (actual.equals(expected)) {
+            return true;
+        }
+
+        TreeSet<String> fields = new TreeSet<>(actual.keySet());
+        fields.addAll(expected.keySet());
+        fields.removeIf(field -> actual.getOrDefault(field, 0L).equals(expected.getOrDefault(field, 0L)));
+        log.debug("{} 필드 불일치: storeId={}, date={}, fields={}", source, storeId, date, fields);
+        return false;
+    }
+
+    private static final class HashCheck {
+        private int sampled;
+        private int matched;
+        private int skipped;
+        private final List<Long> mismatched = new ArrayList<>();
+
+        private void add(HashCheck other) {
+            sampled += other.sampled;
+            matched += other.matched;
+            skipped += other.skipped;
+            mismatched.addAll(other.mismatched);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("sampled", sampled);
+            result.put("matched", matched);
+            result.put("mismatched", mismatched.size());
+            result.put("skipped", skipped);
+            return result;
+        }
+    }
+}
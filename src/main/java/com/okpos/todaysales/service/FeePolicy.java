@@ -0,0 +1,124 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.FeeSchedule;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제수단별 수수료 정책 (매출 수집과 정산이 공유)
+ *
+ * 수수료율은 basis point(1bp = 0.01%) 단위로 PaymentType.ordinal() 인덱스 배열에 미리 계산해 두고,
+ * 금액은 원 단위 long 으로 계산하므로 건별 계산에서 객체를 생성하지 않는다.
+ * 1원 미만은 반올림(HALF_UP, 음수 금액은 0 에서 먼 쪽)한다.
+ *
+ * 가맹점/업종별 계약 수수료율({@link FeeSchedule})은 불변 {@link FeeRateTable} 로 컴파일하여 volatile 참조를 통째로 교체하므로,
+ * 조회 경로에는 잠금이나 DB 조회가 없다. 계약이 없는 경우 기본 수수료율을 적용한다.
+ */
+@Component
+public class FeePolicy {
+
+    private static final long BASIS_POINTS_SCALE = 10_000;
+
+    private final int[] basisPoints;
+    private volatile FeeRateTable table;
+
+    public FeePolicy() {
+        this(defaultBasisPoints());
+    }
+
+    FeePolicy(Map<PaymentType, Integer> rates) {
+        PaymentType[] types = PaymentType.values();
+        this.basisPoints = new int[types.length];
+        for (PaymentType type : types) {
+            Integer rate = rates.get(type);
+            if (rate == null || rate < 0 || rate > BASIS_POINTS_SCALE) {
+                throw new IllegalArgumentException("수수료율이 올바르지 않습니다: " + type + "=" + rate);
+            }
+            basisPoints[type.ordinal()] = rate;
+        }
+        this.table = FeeRateTable.of(basisPoints);
+    }
+
+    /**
+     * 계약 수수료율 교체 (컴파일 후 참조를 한 번에 교체하므로 조회 중인 스레드는 이전 또는 새 테이블 중 하나만 본다)
+     */
+    public void apply(List<FeeSchedule> schedules) {
+        this.table = FeeRateTable.compile(basisPoints, schedules);
+    }
+
+    public int getScheduleEntries() {
+        return table.getEntries();
+    }
+
+    /**
+     * 원 단위 금액의 수수료 (원)
+     */
+    public long feeOf(long amount, PaymentType paymentType) {
+        return applyRate(amount, basisPoints[paymentType.ordinal()]);
+    }
+
+    /**
+     * 가맹점의 매출일 기준 계약 수수료율을 적용한 수수료 (원)
+     */
+    public long feeOf(long amount, PaymentType paymentType, StoreCategory category, Long storeId, LocalDate date) {
+        return applyRate(amount, table.basisPoints(paymentType, category, storeId, date));
+    }
+
+    /**
+     * 엔티티/DTO 금액(BigDecimal)의 수수료 - 금액을 원 단위로 반올림하여 계산
+     */
+    public BigDecimal feeOf(BigDecimal amount, PaymentType paymentType) {
+        return toAmount(feeOf(toWon(amount), paymentType));
+    }
+
+    public BigDecimal feeOf(BigDecimal amount, PaymentType paymentType, StoreCategory category, Long storeId,
+                            LocalDate date) {
+        return toAmount(feeOf(toWon(amount), paymentType, category, storeId, date));
+    }
+
+    /**
+     * 기본 수수료율 (계약 미적용)
+     */
+    public int basisPoints(PaymentType paymentType) {
+        return basisPoints[paymentType.ordinal()];
+    }
+
+    public int basisPoints(PaymentType paymentType, StoreCategory category, Long storeId, LocalDate date) {
+        return table.basisPoints(paymentType, category, storeId, date);
+    }
+
+    public static long toWon(BigDecimal amount) {
+        return amount.setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * 원 단위 금액을 금액 컬럼 scale(2)의 BigDecimal 로 변환
+     */
+    public static BigDecimal toAmount(long won) {
+        return BigDecimal.valueOf(won, 0).setScale(2);
+    }
+
+    private static long applyRate(long amount, int rate) {
+        long fee = (Math.abs(amount) * rate + BASIS_POINTS_SCALE / 2) / BASIS_POINTS_SCALE;
+        return amount < 0 ? -fee : fee;
+    }
+
+    private static Map<PaymentType, Integer> defaultBasisPoints() {
+        Map<PaymentType, Integer> rates = new EnumMap<>(PaymentType.class);
+        rates.put(PaymentType.CARD, 250);          // 2.5%
+        rates.put(PaymentType.CASH, 0);            // 0%
+        rates.put(PaymentType.BANK_TRANSFER, 100); // 1%
+        rates.put(PaymentType.MOBILE_PAY, 300);    // 3%
+        rates.put(PaymentType.POINT, 200);         // 2%
+        rates.put(PaymentType.VOUCHER, 300);       // 3%
+        return rates;
+    }
+}
@@ -0,0 +1,162 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.FeeSchedule;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 수수료 계약을 조회용으로 컴파일한 불변 테이블
+ *
+ * 범위(가맹점/업종/전체)마다 PaymentType.ordinal() 인덱스 배열에 적용일 오름차순 타임라인을 두고,
+ * 매출일의 수수료율은 타임라인 이진 탐색으로 찾는다. 생성 후에는 변경하지 않으므로 잠금 없이 여러 스레드에서 조회한다.
+ */
+final class FeeRateTable {
+
+    private static final int PAYMENT_TYPES = PaymentType.values().length;
+
+    private final int[] defaults;
+    private final Timeline[] global;
+    private final Map<StoreCategory, Timeline[]> categories;
+    private final Map<Long, Timeline[]> stores;
+    private final int entries;
+
+    private FeeRateTable(int[] defaults, Timeline[] global, Map<StoreCategory, Timeline[]> categories,
+                         Map<Long, Timeline[]> stores, int entries) {
+        this.defaults = defaults;
+        this.global = global;
+        this.categories = categories;
+        this.stores = stores;
+        this.entries = entries;
+    }
+
+    /**
+     * 계약이 없는 기본 테이블
+     */
+    static FeeRateTable of(int[] defaults) {
+        return new FeeRateTable(defaults.clone(), new Timeline[PAYMENT_TYPES],
+                Collections.emptyMap(), Collections.emptyMap(), 0);
+    }
+
+    static FeeRateTable compile(int[] defaults, List<FeeSchedule> schedules) {
+        Map<Long, List<FeeSchedule>> byStore = new HashMap<>();
+        Map<StoreCategory, List<FeeSchedule>> byCategory = new EnumMap<>(StoreCategory.class);
+        List<FeeSchedule> globalSchedules = new ArrayList<>();
+        for (FeeSchedule schedule : schedules) {
+            if (schedule.getStoreId() != null) {
+                byStore.computeIfAbsent(schedule.getStoreId(), id -> new ArrayList<>()).add(schedule);
+            } else if (schedule.getCategory() != null) {
+                byCategory.computeIfAbsent(schedule.getCategory(), category -> new ArrayList<>()).add(schedule);
+            } else {
+                globalSchedules.add(schedule);
+            }
+        }
+
+        Map<StoreCategory, Timeline[]> categories = new EnumMap<>(StoreCategory.class);
+        byCategory.forEach((category, rows) -> categories.put(category, timelines(rows)));
+        Map<Long, Timeline[]> stores = new HashMap<>(byStore.size() * 2);
+        byStore.forEach((storeId, rows) -> stores.put(storeId, timelines(rows)));
+
+        return new FeeRateTable(defaults.clone(), timelines(globalSchedules),
+                categories, stores, schedules.size());
+    }
+
+    /**
+     * 매출일에 적용되는 수수료율 (가맹점 > 업종 > 전체 > 기본값)
+     */
+    int basisPoints(PaymentType paymentType, StoreCategory category, Long storeId, LocalDate date) {
+        int ordinal = paymentType.ordinal();
+        long day = date.toEpochDay();
+
+        if (storeId != null && !stores.isEmpty()) {
+            int rate = find(stores.get(storeId), ordinal, day);
+            if (rate >= 0) {
+                return rate;
+            }
+        }
+        if (category != null && !categories.isEmpty()) {
+            int rate = find(categories.get(category), ordinal, day);
+            if (rate >= 0) {
+                return rate;
+            }
+        }
+        int rate = find(global, ordinal, day);
+        return rate >= 0 ? rate : defaults[ordinal];
+    }
+
+    int defaultBasisPoints(PaymentType paymentType) {
+        return defaults[paymentType.ordinal()];
+    }
+
+    int getEntries() {
+        return entries;
+    }
+
+    private static int find(Timeline[] timelines, int ordinal, long day) {
+        if (timelines == null) {
+            return -1;
+        }
+        Timeline timeline = timelines[ordinal];
+        return timeline == null ? -1 : timeline.find(day);
+    }
+
+    private static Timeline[] timelines(List<FeeSchedule> rows) {
+        Timeline[] timelines = new Timeline[PAYMENT_TYPES];
+        for (PaymentType type : PaymentType.values()) {
+            List<FeeSchedule> typed = new ArrayList<>();
+            for (FeeSchedule row : rows) {
+                if (row.getPaymentType() == type) {
+                    typed.add(row);
+                }
+            }
+            if (!typed.isEmpty()) {
+                timelines[type.ordinal()] = Timeline.of(typed);
+            }
+        }
+        return timelines;
+    }
+
+    /**
+     * 적용일 오름차순 수수료율 이력
+     */
+    private static final class Timeline {
+        private final long[] days;
+        private final int[] rates;
+
+        private Timeline(long[] days, int[] rates) {
+            this.days = days;
+            this.rates = rates;
+        }
+
+        static Timeline of(List<FeeSchedule> rows) {
+            List<FeeSchedule> sorted = new ArrayList<>(rows);
+            sorted.sort((a, b) -> a.getEffectiveFrom().compareTo(b.getEffectiveFrom()));
+            long[] days = new long[sorted.size()];
+            int[] rates = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                days[i] = sorted.get(i).getEffectiveFrom().toEpochDay();
+                rates[i] = sorted.get(i).getBasisPoints();
+            }
+            return new Timeline(days, rates);
+        }
+
+        /**
+         * day 이전(포함) 가장 늦은 적용일의 수수료율, 없으면 -1
+         */
+        int find(long day) {
+            int index = Arrays.binarySearch(days, day);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index < 0 ? -1 : rates[index];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.FeeScheduleRequest;
+import com.okpos.todaysales.entity.FeeSchedule;
+import com.okpos.todaysales.exception.InvalidRequestException;
+import com.okpos.todaysales.repository.FeeScheduleRepository;
+import com.okpos.todaysales.repository.StoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 계약 수수료율 관리 및 {@link FeePolicy} 반영
+ *
+ * 변경한 노드는 커밋 직후 다시 컴파일하여 반영하고, 다른 노드는 refresh-interval-ms 주기로 반영한다.
+ */
+@Slf4j
+@Service
+public class FeeScheduleService {
+
+    private final FeeScheduleRepository feeScheduleRepository;
+    private final StoreRepository storeRepository;
+    private final FeePolicy feePolicy;
+    private final Counter reloadFailureCounter;
+
+    public FeeScheduleService(FeeScheduleRepository feeScheduleRepository,
+                              StoreRepository storeRepository,
+                              FeePolicy feePolicy,
+                              MeterRegistry meterRegistry) {
+        this.feeScheduleRepository = feeScheduleRepository;
+        this.storeRepository = storeRepository;
+        this.feePolicy = feePolicy;
+
+        this.reloadFailureCounter = Counter.builder("sales.fee_schedule.reload.failures")
+                .description("Fee schedule reloads that kept the previous table")
+                .register(meterRegistry);
+        Gauge.builder("sales.fee_schedule.entries", feePolicy, FeePolicy::getScheduleEntries)
+                .description("Contract fee rates compiled into the active lookup table")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${sales.fee-schedule.refresh-interval-ms:60000}",
+            fixedDelayString = "${sales.fee-schedule.refresh-interval-ms:60000}")
+    public void reload() {
+        try {
+            List<FeeSchedule> schedules = feeScheduleRepository.findAllByOrderByEffectiveFromAscIdAsc();
+            int previous = feePolicy.getScheduleEntries();
+            feePolicy.apply(schedules);
+            if (previous != schedules.size()) {
+                log.info("계약 수수료율 반영: {}건", schedules.size());
+            }
+        } catch (Exception e) {
+            // 기존 테이블을 유지하고 다음 주기에 재시도
+            reloadFailureCounter.increment();
+            log.error("계약 수수료율 반영 실패 - 기존 수수료율을 유지합니다", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<FeeSchedule> getSchedules() {
+        return feeScheduleRepository.findAllByOrderByEffectiveFromAscIdAsc();
+    }
+
+    @Transactional
+    public FeeSchedule createSchedule(FeeScheduleRequest request) {
+        if (request.getStoreId() != null && request.getCategory() != null) {
+            throw new InvalidRequestException("category", request.getCategory(),
+                    "가맹점과 업종 중 하나의 범위만 지정할 수 있습니다");
+        }
+        if (request.getStoreId() != null && !storeRepository.existsById(request.getStoreId())) {
+            throw new InvalidRequestException("storeId", request.getStoreId(),
+                    "존재하지 않는 가맹점입니다: " + request.getStoreId());
+        }
+        if (feeScheduleRepository.existsByStoreIdAndCategoryAndPaymentTypeAndEffectiveFrom(request.getStoreId(),
+                request.getCategory(), request.getPaymentType(), request.getEffectiveFrom())) {
+            throw new InvalidRequestException("effectiveFrom", request.getEffectiveFrom(),
+                    "같은 범위와 적용일의 수수료율이 이미 등록되어 있습니다");
+        }
+
+        FeeSchedule schedule = feeScheduleRepository.save(FeeSchedule.builder()
+                .storeId(request.getStoreId())
+                .category(request.getCategory())
+                .paymentType(request.getPaymentType())
+                .basisPoints(request.getBasisPoints())
+                .effectiveFrom(request.getEffectiveFrom())
+                .build());
+
+        reloadAfterCommit();
+        log.info("계약 수수료율 등록: {}", schedule);
+        return schedule;
+    }
+
+    private void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+}
@@ -0,0 +1,215 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.SettlementEvent;
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.Settlement;
+import com.okpos.todaysales.entity.SettlementDelta;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.event.EventPublisher;
+import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SettlementDeltaRepository;
+import com.okpos.todaysales.repository.SettlementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 지연 매출 증분 정산
+ *
+ * 일일 정산(새벽 2시)이 끝난 날짜로 뒤늦게 들어온 매출(배달 채널 등)은 정산일이 이미 존재하여 다시 정산할 수 없으므로,
+ * 미정산 매출만 매출일별로 모아 원 정산에 연결하고 그 실행분의 합계를 {@link SettlementDelta} 로 기록한다.
+ * 하루 전체를 다시 읽지 않고 (is_settled, transaction_time) 인덱스로 새로 들어온 행만 chunk 단위로 처리한다.
+ */
+@Slf4j
+@Service
+public class LateSaleSettlementService {
+
+    private static final String BATCH_NAME = "late-settlement";
+
+    private final SaleRepository saleRepository;
+    private final SettlementRepository settlementRepository;
+    private final SettlementDeltaRepository settlementDeltaRepository;
+    private final FeePolicy feePolicy;
+    private final SalesRollupService salesRollupService;
+    private final EventPublisher eventPublisher;
+    private final MetricsService metricsService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public LateSaleSettlementService(SaleRepository saleRepository,
+                                     SettlementRepository settlementRepository,
+                                     SettlementDeltaRepository settlementDeltaRepository,
+                                     FeePolicy feePolicy,
+                                     SalesRollupService salesRollupService,
+                                     EventPublisher eventPublisher,
+                                     MetricsService metricsService,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${settlement.late.enabled:true}") boolean enabled,
+                                     @Value("${settlement.late.chunk-size:1000}") int chunkSize) {
+        this.saleRepository = saleRepository;
+        this.settlementRepository = settlementRepository;
+        this.settlementDeltaRepository = settlementDeltaRepository;
+        this.feePolicy = feePolicy;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
+        this.metricsService = metricsService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 주기적으로 지연 매출 증분 정산 실행 (일일 정산 시각과 겹치지 않도록 cron 으로 지정)
+     */
+    @Scheduled(cron = "${settlement.late.cron:0 30 * * * *}", zone = "Asia/Seoul")
+    public void runLateSettlement() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            settleLateSales();
+        } catch (Exception e) {
+            log.error("지연 매출 증분 정산 실패", e);
+        }
+    }
+
+    /**
+     * 정산이 완료된 날짜의 미정산 매출을 모두 증분 정산 (chunk 마다 별도 트랜잭션)
+     *
+     * @return 이번 실행에서 생성된 증분 정산
+     */
+    public List<SettlementDelta> settleLateSales() {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime before = LocalDate.now().atStartOfDay();
+        List<SettlementDelta> deltas = new ArrayList<>();
+
+        try {
+            Integer fetched;
+            do {
+                fetched = transactionTemplate.execute(status -> settleChunk(before, deltas));
+            } while (fetched != null && fetched == chunkSize);
+        } catch (RuntimeException e) {
+            metricsService.recordBatchExecution(BATCH_NAME, "FAILED", System.currentTimeMillis() - startTime);
+            throw e;
+        }
+
+        metricsService.recordBatchExecution(BATCH_NAME, "SUCCESS", System.currentTimeMillis() - startTime);
+        if (!deltas.isEmpty()) {
+            log.info("지연 매출 증분 정산 완료: 증분 {}건, 매출 {}건", deltas.size(),
+                    deltas.stream().mapToInt(SettlementDelta::getTransactionCount).sum());
+        }
+        return deltas;
+    }
+
+    /**
+     * 한 chunk 의 지연 매출을 매출일별로 묶어 원 정산에 연결하고 매출일마다 증분 정산 1건을 기록
+     *
+     * @return 조회된 매출 건수 (chunkSize 와 같으면 남은 지연 매출이 더 있을 수 있음)
+     */
+    int settleChunk(LocalDateTime before, List<SettlementDelta> deltas) {
+        List<Sale> lateSales = saleRepository.findLateUnsettledSales(before, PageRequest.of(0, chunkSize));
+        if (lateSales.isEmpty()) {
+            return 0;
+        }
+
+        Map<LocalDate, List<Sale>> salesByDate = lateSales.stream()
+                .collect(Collectors.groupingBy(sale -> sale.getTransactionTime().toLocalDate(),
+                        TreeMap::new, Collectors.toList()));
+        Map<LocalDate, Settlement> settlements = settlementRepository.findBySettlementDateIn(salesByDate.keySet())
+                .stream()
+                .collect(Collectors.toMap(Settlement::getSettlementDate, Function.identity()));
+
+        for (Map.Entry<LocalDate, List<Sale>> entry : salesByDate.entrySet()) {
+            Settlement settlement = settlements.get(entry.getKey());
+            if (settlement == null) {
+                // 조회 조건상 발생하지 않지만, 원 정산이 사라진 날짜는 다음 일일 정산/재정산에 맡김
+                log.warn("원 정산이 없어 지연 매출을 건너뜁니다: {} ({}건)", entry.getKey(), entry.getValue().size());
+                continue;
+            }
+            deltas.add(settle(settlement, entry.getValue()));
+        }
+        saleRepository.saveAll(lateSales);
+        return lateSales.size();
+    }
+
+    private SettlementDelta settle(Settlement settlement, List<Sale> sales) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long totalFeeWon = 0;
+
+        for (Sale sale : sales) {
+            // 원 정산과 같은 기준(원 단위, 매출일 기준 계약 수수료율)으로 수수료 계산
+            Store store = sale.getStore();
+            long feeWon = feePolicy.feeOf(FeePolicy.toWon(sale.getAmount()), sale.getPaymentType(),
+                    store.getCategory(), store.getId(), sale.getTransactionTime().toLocalDate());
+            BigDecimal fee = FeePolicy.toAmount(feeWon);
+            BigDecimal previousFee = sale.getFee();
+            sale.setFee(fee);
+            sale.setNetAmount(sale.getAmount().subtract(fee));
+            sale.setSettlement(settlement);
+            sale.setIsSettled(true);
+            salesRollupService.adjustFee(sale, previousFee);
+
+            totalAmount = totalAmount.add(sale.getAmount());
+            totalFeeWon += feeWon;
+        }
+
+        BigDecimal totalFee = FeePolicy.toAmount(totalFeeWon);
+        SettlementDelta delta = settlementDeltaRepository.save(SettlementDelta.builder()
+                .settlementId(settlement.getId())
+                .settlementDate(settlement.getSettlementDate())
+                .totalAmount(totalAmount)
+                .totalFee(totalFee)
+                .netAmount(totalAmount.subtract(totalFee))
+                .transactionCount(sales.size())
+                .build());
+        for (Sale sale : sales) {
+            sale.setSettlementDeltaId(delta.getId());
+        }
+
+        log.info("지연 매출 증분 정산 - 날짜: {}, 원 정산: {}, 거래수: {}, 총액: {}, 수수료: {}, 순액: {}",
+                delta.getSettlementDate(), settlement.getId(), delta.getTransactionCount(),
+                totalAmount, totalFee, delta.getNetAmount());
+
+        publishDeltaEvent(delta);
+        return delta;
+    }
+
+    /**
+     * 증분 정산 이벤트 발행 (원 정산 id 와 증분 합계, 트랜잭션과 함께 아웃박스에 기록)
+     */
+    private void publishDeltaEvent(SettlementDelta delta) {
+        SettlementEvent event = SettlementEvent.builder()
+                .settlementId(delta.getSettlementId())
+                .settlementDate(delta.getSettlementDate())
+                .totalAmount(delta.getTotalAmount())
+                .totalFee(delta.getTotalFee())
+                .netAmount(delta.getNetAmount())
+                .transactionCount(delta.getTransactionCount())
+                .status("DELTA")
+                .processedAt(LocalDateTime.now())
+                .message("settlementDeltaId=" + delta.getId())
+                .build();
+
+        eventPublisher.publishSettlementEvent(event);
+    }
+
+    public List<SettlementDelta> getDeltas(LocalDate settlementDate) {
+        return settlementDeltaRepository.findBySettlementDateOrderByIdAsc(settlementDate);
+    }
+}
@@ -0,0 +1,314 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.SaleDashboard;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 오늘 날짜 대시보드의 프로세스 내 실시간 집계
+ *
+ * 가맹점마다 24시간 × 결제수단 × {금액, 건수, 수수료} 칸을 하나의 AtomicLongArray 에 두고,
+ * 커밋된 매출 증감(SalesRollupService 의 afterCommit)을 칸 단위 원자적 덧셈으로 반영한다.
+ * 금액·수수료는 최소 단위(소수 2자리) 정수로 보관하며 순매출은 금액 - 수수료로 계산한다.
+ *
+ * 기동 시와 날짜가 바뀔 때 sales_hourly_rollup 에서 다시 적재하며, 적재가 끝나기 전에는 DB 집계로 조회한다.
+ * 새 날짜 상태는 적재 조회 전에 설치하고, 적재가 끝날 때까지 들어온 증감은 따로 모아 두었다가 적재 후 반영한다.
+ * 증감에는 upsert 로 바뀐 집계 행의 version 이 함께 오므로, 적재한 행의 version 이하인 증감(이미 스냅샷에 포함)은 버린다.
+ * 날짜 판단과 자정 전환은 sales.live-dashboard.zone 한 곳의 시간대를 따른다.
+ * 이 인스턴스에서 커밋된 매출만 반영하므로 기본값은 꺼짐이며, 단일 인스턴스로 운영할 때만 켠다.
+ */
+@Slf4j
+@Component
+public class LiveDashboardEngine {
+
+    static final int HOURS = 24;
+    static final int FIELDS = 3;
+    static final int AMOUNT = 0;
+    static final int COUNT = 1;
+    static final int FEE = 2;
+
+    private static final int MINOR_UNIT_SCALE = 2;
+    private static final PaymentType[] PAYMENT_TYPES = PaymentType.values();
+    private static final SaleChannel[] CHANNELS = SaleChannel.values();
+    private static final int CELLS = HOURS * PAYMENT_TYPES.length * FIELDS;
+    private static final int ROLLUP_ROWS = HOURS * PAYMENT_TYPES.length * CHANNELS.length;
+
+    /**
+     * 가맹점 1곳의 예상 메모리 (AtomicLongArray + long[] 본체, 적재한 집계 행 version 배열, 가맹점 객체,
+     * 맵 노드와 Long 키 — 64bit, compressed oops 기준)
+     */
+    static final long BYTES_PER_STORE = 16 + (16 + 8L * CELLS) + (16 + 8L * ROLLUP_ROWS) + 16 + 32 + 16;
+
+    private final SalesHourlyRollupRepository rollupRepository;
+    private final boolean enabled;
+    private final ZoneId zone;
+
+    private volatile DayState current;
+
+    public LiveDashboardEngine(SalesHourlyRollupRepository rollupRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${sales.live-dashboard.enabled:false}") boolean enabled,
+                               @Value("${sales.live-dashboard.zone:Asia/Seoul}") String zone) {
+        this.rollupRepository = rollupRepository;
+        this.enabled = enabled;
+        this.zone = ZoneId.of(zone);
+
+        Gauge.builder("sales.live.dashboard.stores", this, LiveDashboardEngine::storeCount)
+                .description("Stores with today's sales held in the live dashboard engine")
+                .register(meterRegistry);
+        Gauge.builder("sales.live.dashboard.memory.per.store", () -> BYTES_PER_STORE)
+                .description("Estimated heap used by one store's counters in the live dashboard engine")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("sales.live.dashboard.memory", this, engine -> engine.storeCount() * (double) BYTES_PER_STORE)
+                .description("Estimated heap used by all store counters in the live dashboard engine")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild(today());
+    }
+
+    /**
+     * 자정에 새 날짜로 전환 (전날 배열은 버리고, 미리 들어온 새 날짜 매출을 포함해 DB 에서 적재)
+     */
+    @Scheduled(cron = "${sales.live-dashboard.rollover-cron:0 0 0 * * *}", zone = "${sales.live-dashboard.zone:Asia/Seoul}")
+    public void rollover() {
+        rebuild(today());
+    }
+
+    /**
+     * 엔진이 제공하는 오늘 날짜 (자정 전환과 같은 시간대 기준)
+     */
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /**
+     * 날짜의 집계를 sales_hourly_rollup 에서 다시 적재
+     *
+     * 상태를 먼저 설치하므로 적재 조회 이후 커밋된 증감은 모두 새 상태로 들어온다. 적재가 끝나기 전에 들어온 증감은
+     * 어느 행 version 까지 적재됐는지 알 수 없으므로 모아 두었다가, 적재 후 같은 version 비교로 반영한다.
+     */
+    public synchronized void rebuild(LocalDate date) {
+        if (!enabled) {
+            return;
+        }
+
+        DayState state = new DayState(date);
+        current = state;
+        try {
+            List<Object[]> rows = rollupRepository.findDayRows(date);
+            for (Object[] row : rows) {
+                StoreCounters counters = state.counters((Long) row[0]);
+                int hour = (Integer) row[1];
+                PaymentType paymentType = (PaymentType) row[2];
+                add(counters, hour, paymentType, ((Number) row[5]).longValue(),
+                        toMinorUnits((BigDecimal) row[4]), toMinorUnits((BigDecimal) row[6]));
+                counters.setLoadedVersion(hour, paymentType, (SaleChannel) row[3], ((Number) row[7]).longValue());
+            }
+        } catch (RuntimeException e) {
+            // 적재되지 않은 날짜는 DB 집계로 조회 (모아 둔 증감도 버림)
+            current = null;
+            log.warn("실시간 대시보드 집계 적재 실패 - DB 집계로 조회합니다: date={}", date, e);
+            return;
+        }
+
+        int pending;
+        synchronized (state) {
+            pending = state.pending.size();
+            for (PendingDelta delta : state.pending) {
+                applyLoaded(state, delta.storeId, delta.saleHour, delta.paymentType, delta.channel, delta.version,
+                        delta.count, delta.amount, delta.fee);
+            }
+            state.pending.clear();
+            state.ready = true;
+        }
+        log.info("실시간 대시보드 집계 적재: date={}, stores={}, 적재 중 증감={}", date, state.stores.size(), pending);
+    }
+
+    /**
+     * 날짜의 대시보드를 이 엔진에서 조회할 수 있는지 여부 (대시보드 캐시 조건에도 사용)
+     */
+    public boolean serves(LocalDate date) {
+        DayState state = current;
+        return enabled && state != null && state.ready && state.date.equals(date);
+    }
+
+    public Optional<SaleDashboard> getDashboard(Long storeId, LocalDate date) {
+        long computedAt = System.currentTimeMillis();
+        return rows(storeId, date).map(rows -> SalesReportFolder.foldDashboard(date, rows, computedAt));
+    }
+
+    /**
+     * 가맹점의 시간대 × 결제수단 집계 행 (형식은 SalesReportFolder 와 같음, 이 엔진에서 제공하지 않는 날짜는 empty)
+     */
+    Optional<List<Object[]>> rows(Long storeId, LocalDate date) {
+        DayState state = current;
+        if (!enabled || state == null || !state.ready || !state.date.equals(date)) {
+            return Optional.empty();
+        }
+
+        StoreCounters counters = state.stores.get(storeId);
+        List<Object[]> rows = new ArrayList<>();
+        if (counters != null) {
+            // 칸마다 한 번씩만 읽어 합계와 결제수단별·시간대별 값이 같은 스냅샷에서 계산되도록 함
+            for (int hour = 0; hour < HOURS; hour++) {
+                for (PaymentType paymentType : PAYMENT_TYPES) {
+                    int base = index(hour, paymentType);
+                    long count = counters.cells.get(base + COUNT);
+                    if (count <= 0) {
+                        continue;
+                    }
+                    BigDecimal amount = fromMinorUnits(counters.cells.get(base + AMOUNT));
+                    BigDecimal fee = fromMinorUnits(counters.cells.get(base + FEE));
+                    rows.add(new Object[]{hour, paymentType, amount, count, fee, amount.subtract(fee)});
+                }
+            }
+        }
+        return Optional.of(rows);
+    }
+
+    /**
+     * 커밋된 증감 1건을 반영 (다른 날짜는 DB 집계로 조회하므로 무시, 자정 직전에 들어온 다음 날 매출은 전환 시 적재)
+     *
+     * @param version upsert 이후 집계 행의 version (적재한 스냅샷의 version 이하이면 이미 포함된 증감)
+     */
+    public void apply(Long storeId, LocalDate saleDate, int saleHour, PaymentType paymentType, SaleChannel channel,
+                      long version, long count, BigDecimal amount, BigDecimal fee) {
+        DayState state = current;
+        if (!enabled || state == null || !state.date.equals(saleDate)) {
+            return;
+        }
+
+        if (!state.ready) {
+            synchronized (state) {
+                if (!state.ready) {
+                    state.pending.add(new PendingDelta(storeId, saleHour, paymentType, channel, version,
+                            count, toMinorUnits(amount), toMinorUnits(fee)));
+                    return;
+                }
+            }
+        }
+        applyLoaded(state, storeId, saleHour, paymentType, channel, version, count,
+                toMinorUnits(amount), toMinorUnits(fee));
+    }
+
+    private void applyLoaded(DayState state, Long storeId, int saleHour, PaymentType paymentType, SaleChannel channel,
+                             long version, long count, long amount, long fee) {
+        StoreCounters counters = state.counters(storeId);
+        if (version <= counters.loadedVersion(saleHour, paymentType, channel)) {
+            return;
+        }
+        add(counters, saleHour, paymentType, count, amount, fee);
+    }
+
+    private static void add(StoreCounters counters, int hour, PaymentType paymentType, long count, long amount, long fee) {
+        int base = index(hour, paymentType);
+        counters.cells.addAndGet(base + AMOUNT, amount);
+        counters.cells.addAndGet(base + COUNT, count);
+        counters.cells.addAndGet(base + FEE, fee);
+    }
+
+    int storeCount() {
+        DayState state = current;
+        return state == null ? 0 : state.stores.size();
+    }
+
+    static int index(int hour, PaymentType paymentType) {
+        return (hour * PAYMENT_TYPES.length + paymentType.ordinal()) * FIELDS;
+    }
+
+    private static long toMinorUnits(BigDecimal value) {
+        return value.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinorUnits(long value) {
+        return BigDecimal.valueOf(value, MINOR_UNIT_SCALE);
+    }
+
+    private static final class DayState {
+
+        private final LocalDate date;
+        private final ConcurrentMap<Long, StoreCounters> stores = new ConcurrentHashMap<>();
+        /** 적재가 끝나기 전에 들어온 증감 (DayState 잠금으로 보호) */
+        private final List<PendingDelta> pending = new ArrayList<>();
+        private volatile boolean ready;
+
+        private DayState(LocalDate date) {
+            this.date = date;
+        }
+
+        StoreCounters counters(Long storeId) {
+            return stores.computeIfAbsent(storeId, key -> new StoreCounters());
+        }
+    }
+
+    private static final class StoreCounters {
+
+        private final AtomicLongArray cells = new AtomicLongArray(CELLS);
+        /** 적재한 집계 행의 version (적재 스레드만 기록하고 ready 이후에는 읽기만 함, 적재한 행이 없으면 null) */
+        private long[] loadedVersions;
+
+        void setLoadedVersion(int hour, PaymentType paymentType, SaleChannel channel, long version) {
+            if (loadedVersions == null) {
+                loadedVersions = new long[ROLLUP_ROWS];
+            }
+            loadedVersions[rowIndex(hour, paymentType, channel)] = version;
+        }
+
+        long loadedVersion(int hour, PaymentType paymentType, SaleChannel channel) {
+            return loadedVersions == null ? 0 : loadedVersions[rowIndex(hour, paymentType, channel)];
+        }
+
+        private static int rowIndex(int hour, PaymentType paymentType, SaleChannel channel) {
+            return (hour * PAYMENT_TYPES.length + paymentType.ordinal()) * CHANNELS.length + channel.ordinal();
+        }
+    }
+
+    private static final class PendingDelta {
+
+        private final Long storeId;
+        private final int saleHour;
+        private final PaymentType paymentType;
+        private final SaleChannel channel;
+        private final long version;
+        private final long count;
+        private final long amount;
+        private final long fee;
+
+        private PendingDelta(Long storeId, int saleHour, PaymentType paymentType, SaleChannel channel, long version,
+                             long count, long amount, long fee) {
+            this.storeId = storeId;
+            this.saleHour = saleHour;
+            this.paymentType = paymentType;
+            this.channel = channel;
+            this.version = version;
+            this.count = count;
+            this.amount = amount;
+            this.fee = fee;
+        }
+    }
+}
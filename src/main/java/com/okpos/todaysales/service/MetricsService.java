@@ -42,6 +42,25 @@ public class MetricsService {
         log.debug("매출 메트릭 기록: 금액={}, 결제타입={}, 채널={}", amount, paymentType, channel);
     }
 
+    /**
+     * 매출 취소·환불 메트릭 기록 (생성 카운터는 감소시킬 수 없으므로 별도 카운터로 집계)
+     */
+    public void recordSaleReversed(BigDecimal amount, String type, boolean settled) {
+        Counter.builder("sales.reversed.total")
+                .description("Sales cancelled or refunded")
+                .tag("type", type)
+                .tag("settled", String.valueOf(settled))
+                .register(meterRegistry)
+                .increment();
+        Counter.builder("sales.reversed.amount")
+                .description("Amount of sales cancelled or refunded")
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(amount.doubleValue());
+
+        log.debug("매출 취소/환불 메트릭 기록: 금액={}, 유형={}, 정산후={}", amount, type, settled);
+    }
+
     /**
      * 정산 처리 시간 메트릭 기록
      */
@@ -0,0 +1,175 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.repository.SaleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 최근 주문번호의 노드별 Bloom filter
+ *
+ * 중복 주문번호 검증의 DB 조회를 필터가 "있을 수도 있음"이라고 응답한 경우에만 수행하도록 앞단에 둔다.
+ * 필터에 없다고 판정된 주문번호는 확실히 최근에 등록되지 않은 것이며, 필터 범위 밖의 오래된 주문번호나
+ * 다른 노드에서 동시에 등록된 주문번호는 order_number 유니크 제약이 최종적으로 걸러낸다.
+ *
+ * 필터는 두 세대(current/previous)로 관리하며, current 가 예상 건수만큼 차면 previous 를 버리고 새 세대를 만든다.
+ * 시작 시에는 최근 seed-days 일의 주문번호로 채우며, 채우기 전까지는 모든 주문번호를 "있을 수도 있음"으로 응답한다.
+ */
+@Slf4j
+@Component
+public class OrderNumberFilter {
+
+    private static final int SEED_PAGE_SIZE = 10_000;
+
+    private final SaleRepository saleRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int seedDays;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile boolean ready;
+
+    private final Counter savedQueryCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter duplicateCounter;
+
+    public OrderNumberFilter(SaleRepository saleRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${sales.order-filter.enabled:true}") boolean enabled,
+                             @Value("${sales.order-filter.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${sales.order-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${sales.order-filter.seed-days:3}") int seedDays) {
+        this.saleRepository = saleRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.seedDays = seedDays;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(1, falsePositiveRate);
+
+        this.savedQueryCounter = Counter.builder("sales.order_filter.queries.saved")
+                .description("Duplicate order lookups skipped because the filter reported a definite miss")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("sales.order_filter.false_positives")
+                .description("Filter hits whose DB lookup found no existing order")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("sales.order_filter.duplicates")
+                .description("Filter hits confirmed as duplicate orders by the DB lookup")
+                .register(meterRegistry);
+        Gauge.builder("sales.order_filter.size", this, OrderNumberFilter::size)
+                .description("Order numbers held by the filter across generations")
+                .register(meterRegistry);
+        Gauge.builder("sales.order_filter.bits", this, filter -> filter.current.getBitSize())
+                .description("Bit size of a single filter generation")
+                .register(meterRegistry);
+        Gauge.builder("sales.order_filter.expected_fpp", this, OrderNumberFilter::expectedFalsePositiveRate)
+                .description("False positive probability estimated from the filter fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("sales.order_filter.false_positive.rate", this, OrderNumberFilter::observedFalsePositiveRate)
+                .description("Observed ratio of filter hits that turned out not to be duplicates")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusDays(seedDays);
+        long lastId = 0;
+        long seeded = 0;
+        try {
+            List<Object[]> page;
+            do {
+                page = saleRepository.findRecentOrderNumbers(lastId, since, PageRequest.of(0, SEED_PAGE_SIZE));
+                for (Object[] row : page) {
+                    lastId = (Long) row[0];
+                    put((String) row[1]);
+                }
+                seeded += page.size();
+            } while (page.size() == SEED_PAGE_SIZE && seeded < expectedInsertions);
+
+            ready = true;
+            log.info("주문번호 필터 초기화 완료: 최근 {}일, {}건", seedDays, seeded);
+        } catch (Exception e) {
+            // 초기화 실패 시 필터를 사용하지 않고 모든 요청에 DB 조회를 수행
+            log.error("주문번호 필터 초기화 실패 - DB 조회로 중복 검증을 계속합니다", e);
+        }
+    }
+
+    /**
+     * 등록된 적이 있을 수도 있는 주문번호인지 여부 (false 이면 최근 등록되지 않은 것이 확실하므로 DB 조회 생략)
+     */
+    public boolean mightContain(String orderNumber) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        if (current.mightContain(orderNumber) || previous.mightContain(orderNumber)) {
+            return true;
+        }
+        savedQueryCounter.increment();
+        return false;
+    }
+
+    public void put(String orderNumber) {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter filter = current;
+        filter.put(orderNumber);
+        if (filter.getInsertions() >= expectedInsertions) {
+            rotate(filter);
+        }
+    }
+
+    /**
+     * 필터 적중 후 DB 조회 결과 기록
+     */
+    public void recordLookup(boolean duplicate) {
+        if (!enabled || !ready) {
+            return;
+        }
+        if (duplicate) {
+            duplicateCounter.increment();
+        } else {
+            falsePositiveCounter.increment();
+        }
+    }
+
+    public long size() {
+        return current.getInsertions() + previous.getInsertions();
+    }
+
+    public double expectedFalsePositiveRate() {
+        // 두 세대 중 하나라도 적중하면 "있을 수도 있음"
+        double currentRate = current.expectedFalsePositiveRate();
+        double previousRate = previous.expectedFalsePositiveRate();
+        return 1 - (1 - currentRate) * (1 - previousRate);
+    }
+
+    public double observedFalsePositiveRate() {
+        double misses = savedQueryCounter.count() + falsePositiveCounter.count();
+        return misses == 0 ? 0 : falsePositiveCounter.count() / misses;
+    }
+
+    private synchronized void rotate(BloomFilter full) {
+        if (current != full) {
+            return;
+        }
+        previous = full;
+        current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        log.info("주문번호 필터 세대 교체: {}건", full.getInsertions());
+    }
+}
@@ -0,0 +1,376 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.event.EventPublisher;
+import com.okpos.todaysales.exception.ServiceOverloadedException;
+import com.okpos.todaysales.repository.SaleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 단건 매출 INSERT 의 그룹 커밋
+ *
+ * 동시에 들어온 단건 요청을 짧은 대기 시간(max-wait) 또는 최대 건수(max-batch-size) 단위로 모아
+ * 하나의 트랜잭션에서 배치 INSERT(rewriteBatchedStatements 로 multi-row INSERT)와 시간대별 집계·아웃박스 일괄 기록을 수행한다.
+ *
+ * 배치 중 한 건이라도 유니크 위반으로 실패하면 배치 전체가 롤백되므로, 배치 전에 주문번호 필터(OrderNumberFilter)가
+ * 등록됐을 수 있다고 본 주문번호만 조회 1회로 확인하여 이미 저장된 건을 건별 INSERT 로 돌린다
+ * (호출자는 기존 단건 INSERT 와 같은 유니크 위반을 받아 재전송 판정을 함). 필터에 걸린 주문번호가 없으면 조회하지 않는다.
+ * 필터가 놓쳤거나 다른 요청이 같은 주문번호를 먼저 커밋하여 배치가 롤백되면 필터 없이 전체를 조회·제외하고 나머지를 다시 배치로 커밋하며,
+ * 그래도 실패하면 그 배치만 건별 트랜잭션으로 처리하여 각 호출자가 자기 건의 결과나 예외를 그대로 받도록 한다.
+ * 같은 배치 안의 중복 주문번호는 앞선 건이 커밋된 뒤 건별로 처리한다.
+ * 대기열은 queue-capacity 건으로 제한하여 가득 차면 즉시 과부하(503)로 거절하고,
+ * 호출자는 최대 max-join-millis 동안만 커밋을 기다리고, 넘으면 과부하(503)로 응답한다
+ * (그 건은 뒤늦게 커밋될 수 있으며, 같은 주문번호로 다시 보내면 재전송으로 판정된다).
+ */
+@Slf4j
+@Component
+public class SaleCoalescer {
+
+    private static final long IDLE_POLL_MS = 100;
+    private static final int MAX_BATCH_ATTEMPTS = 2;
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 1;
+
+    private final SaleRepository saleRepository;
+    private final EventPublisher eventPublisher;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderNumberFilter orderNumberFilter;
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final int flusherThreads;
+    private final long maxJoinMillis;
+
+    private final BlockingQueue<PendingSale> queue;
+    private final List<Thread> flushers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer waitTimer;
+    private final Timer flushTimer;
+    private final Counter fallbackCounter;
+
+    public SaleCoalescer(SaleRepository saleRepository,
+                         EventPublisher eventPublisher,
+                         SalesRollupService salesRollupService,
+                         TransactionTemplate transactionTemplate,
+                         OrderNumberFilter orderNumberFilter,
+                         MeterRegistry meterRegistry,
+                         @Value("${sales.ingestion.coalescer.enabled:true}") boolean enabled,
+                         @Value("${sales.ingestion.coalescer.max-batch-size:200}") int maxBatchSize,
+                         @Value("${sales.ingestion.coalescer.max-wait-micros:2000}") long maxWaitMicros,
+                         @Value("${sales.ingestion.coalescer.flusher-threads:1}") int flusherThreads,
+                         @Value("${sales.ingestion.coalescer.max-join-millis:5000}") long maxJoinMillis,
+                         @Value("${sales.ingestion.coalescer.queue-capacity:10000}") int queueCapacity) {
+        this.saleRepository = saleRepository;
+        this.eventPublisher = eventPublisher;
+        this.salesRollupService = salesRollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.orderNumberFilter = orderNumberFilter;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.flusherThreads = flusherThreads;
+        this.maxJoinMillis = maxJoinMillis;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.batchSizeSummary = DistributionSummary.builder("sales.coalescer.batch.size")
+                .description("Single-sale inserts committed together in one coalesced batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("sales.coalescer.wait")
+                .description("Time a single-sale insert waited in the coalescer before its batch was flushed")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("sales.coalescer.flush")
+                .description("Time to insert and commit one coalesced batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("sales.coalescer.fallback")
+                .description("Coalesced batches rolled back and retried one sale per transaction")
+                .register(meterRegistry);
+        Gauge.builder("sales.coalescer.queue", queue, BlockingQueue::size)
+                .description("Single-sale inserts waiting for the next coalesced batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        for (int i = 0; i < flusherThreads; i++) {
+            Thread flusher = new Thread(this::runFlusher, "sale-coalescer-" + i);
+            flusher.setDaemon(true);
+            flusher.start();
+            flushers.add(flusher);
+        }
+        log.info("매출 그룹 커밋 시작: maxBatchSize={}, maxWait={}us, flushers={}",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos), flusherThreads);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread flusher : flushers) {
+            // 대기열에 남은 요청은 flusher 가 모두 처리한 뒤 종료
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 매출을 다음 배치에 추가 (커밋되면 저장된 매출로, 실패하면 해당 건의 예외로 완료)
+     *
+     * @param saleFactory 트랜잭션 안에서 저장할 매출 엔티티 생성 (건별 재처리 시 다시 호출됨)
+     * @throws ServiceOverloadedException 대기열이 가득 찬 경우
+     */
+    public CompletableFuture<Sale> submit(String orderNumber, String storeName, Supplier<Sale> saleFactory) {
+        PendingSale pending = new PendingSale(orderNumber, storeName, saleFactory);
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("매출 그룹 커밋이 실행 중이 아닙니다"));
+            return pending.future;
+        }
+        if (!queue.offer(pending)) {
+            log.warn("매출 그룹 커밋 대기열 포화로 요청 거절: orderNumber={}", orderNumber);
+            throw new ServiceOverloadedException("coalescer_queue", OVERLOAD_RETRY_AFTER_SECONDS);
+        }
+        return pending.future;
+    }
+
+    /**
+     * {@link #submit} 후 커밋될 때까지 최대 max-join-millis 대기 (실패 시 원래 예외를 그대로 던짐)
+     *
+     * @throws ServiceOverloadedException 대기 시간 안에 커밋되지 않은 경우
+     */
+    public Sale insert(String orderNumber, String storeName, Supplier<Sale> saleFactory) {
+        try {
+            return submit(orderNumber, storeName, saleFactory).get(maxJoinMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("매출 그룹 커밋 대기 시간 초과: orderNumber={}, queue={}", orderNumber, queue.size());
+            throw new ServiceOverloadedException("coalescer_timeout", OVERLOAD_RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("매출 그룹 커밋 대기 중 인터럽트", e);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingSale> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSale first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 건 도착 시점부터 max-wait 동안 또는 max-batch-size 가 찰 때까지 수집
+                long deadline = first.enqueuedAt + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingSale next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, e);
+                return;
+            } catch (Throwable e) {
+                log.error("매출 그룹 커밋 처리 중 오류 발생", e);
+                failAll(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PendingSale> batch) {
+        long flushStart = System.nanoTime();
+        for (PendingSale pending : batch) {
+            waitTimer.record(flushStart - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        batchSizeSummary.record(batch.size());
+
+        // 같은 주문번호의 두 번째 건부터는 배치 커밋 이후 건별 처리
+        List<PendingSale> grouped = new ArrayList<>(batch.size());
+        List<PendingSale> deferred = new ArrayList<>();
+        Set<String> orderNumbers = new HashSet<>();
+        for (PendingSale pending : batch) {
+            if (orderNumbers.add(pending.orderNumber)) {
+                grouped.add(pending);
+            } else {
+                deferred.add(pending);
+            }
+        }
+
+        // 이미 저장된 주문번호(재전송)는 배치에서 빼고 건별 처리 (첫 시도는 필터에 걸린 주문번호만 조회)
+        List<PendingSale> singles = new ArrayList<>();
+        for (int attempt = 1; ; attempt++) {
+            excludeExisting(grouped, singles, attempt == 1);
+            if (grouped.isEmpty()) {
+                break;
+            }
+            try {
+                List<Sale> savedSales = flushTimer.record(() -> transactionTemplate.execute(status -> insertBatch(grouped)));
+                for (int i = 0; i < grouped.size(); i++) {
+                    grouped.get(i).future.complete(savedSales.get(i));
+                }
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt < MAX_BATCH_ATTEMPTS) {
+                    // 필터가 놓쳤거나 조회 이후 다른 요청이 먼저 커밋한 주문번호 - 전체를 조회하여 빼고 재시도
+                    log.debug("매출 그룹 커밋 중 제약 위반 - 저장된 주문번호를 다시 조회합니다: {}건", grouped.size());
+                    continue;
+                }
+                fallBack(grouped, singles, e);
+                break;
+            } catch (RuntimeException e) {
+                fallBack(grouped, singles, e);
+                break;
+            }
+        }
+        singles.forEach(this::insertOne);
+        deferred.forEach(this::insertOne);
+    }
+
+    /**
+     * 이미 저장된 주문번호의 건을 조회 1회로 골라 batch 에서 singles 로 옮김
+     *
+     * @param filterLookups true 이면 주문번호 필터가 등록됐을 수 있다고 본 주문번호만 조회 (없으면 조회 생략)
+     */
+    private void excludeExisting(List<PendingSale> batch, List<PendingSale> singles, boolean filterLookups) {
+        List<String> orderNumbers = new ArrayList<>(batch.size());
+        for (PendingSale pending : batch) {
+            if (!filterLookups || orderNumberFilter.mightContain(pending.orderNumber)) {
+                orderNumbers.add(pending.orderNumber);
+            }
+        }
+        if (orderNumbers.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(saleRepository.findExistingOrderNumbers(orderNumbers));
+        if (filterLookups) {
+            orderNumbers.forEach(orderNumber -> orderNumberFilter.recordLookup(existing.contains(orderNumber)));
+        }
+        if (existing.isEmpty()) {
+            return;
+        }
+        batch.removeIf(pending -> {
+            if (existing.contains(pending.orderNumber)) {
+                singles.add(pending);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void fallBack(List<PendingSale> batch, List<PendingSale> singles, RuntimeException cause) {
+        log.warn("매출 그룹 커밋 실패 - 건별로 다시 처리합니다: {}건, 사유={}", batch.size(), cause.getMessage());
+        fallbackCounter.increment();
+        singles.addAll(batch);
+        batch.clear();
+    }
+
+    private List<Sale> insertBatch(List<PendingSale> batch) {
+        List<Sale> sales = new ArrayList<>(batch.size());
+        Map<Long, String> storeNames = new HashMap<>();
+        for (PendingSale pending : batch) {
+            Sale sale = pending.saleFactory.get();
+            sales.add(sale);
+            storeNames.put(sale.getStore().getId(), pending.storeName);
+        }
+
+        List<Sale> savedSales = saleRepository.saveAll(sales);
+        saleRepository.flush();
+        salesRollupService.addAll(savedSales);
+
+        // 이벤트는 매출과 같은 트랜잭션으로 아웃박스에 일괄 기록
+        eventPublisher.publishSaleCreatedBatch(savedSales, storeNames);
+        return savedSales;
+    }
+
+    private void insertOne(PendingSale pending) {
+        try {
+            Sale savedSale = transactionTemplate.execute(status -> {
+                Sale sale = saleRepository.saveAndFlush(pending.saleFactory.get());
+                salesRollupService.add(sale);
+                eventPublisher.publishSaleCreated(sale, pending.storeName);
+                return sale;
+            });
+            pending.future.complete(savedSale);
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private void failAll(List<PendingSale> batch, Throwable cause) {
+        for (PendingSale pending : batch) {
+            pending.future.completeExceptionally(cause);
+        }
+    }
+
+    static final class PendingSale {
+
+        private final String orderNumber;
+        private final String storeName;
+        private final Supplier<Sale> saleFactory;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Sale> future = new CompletableFuture<>();
+
+        PendingSale(String orderNumber, String storeName, Supplier<Sale> saleFactory) {
+            this.orderNumber = orderNumber;
+            this.storeName = storeName;
+            this.saleFactory = saleFactory;
+        }
+
+        CompletableFuture<Sale> getFuture() {
+            return future;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.okpos.todaysales.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.okpos.todaysales.dto.SaleBatchResponse;
+import com.okpos.todaysales.dto.SaleImportReport;
+import com.okpos.todaysales.dto.SaleRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NDJSON(줄 단위 JSON) 매출 일괄 가져오기
+ *
+ * 오프라인 모드에서 복귀한 POS 의 대량 백필(수만~수십만 건)을 위해 요청 본문을 줄 단위로 읽어
+ * chunk-size 건씩 {@link SalesService#createSales(List)} 로 커밋하고, 커밋한 chunk 의 줄별 결과를 바로 응답 스트림에 기록한다.
+ * 메모리에는 한 chunk 와 최대 max-line-length 길이의 한 줄만 유지하므로 업로드 크기와 무관하게 힙 사용량이 일정하다.
+ *
+ * 줄 구분자로 레코드를 나누므로 한 줄의 JSON 오류가 이후 줄의 파싱에 영향을 주지 않는다.
+ *
+ * CBOR sequence(RFC 8742, 매출 CBOR 객체를 구분자 없이 이어 붙인 본문)도 같은 방식으로 가져오며, 이때 줄 번호는 레코드 순번이다.
+ * CBOR 는 구분자가 없어 형식 오류 이후의 레코드 경계를 알 수 없으므로 형식 오류 레코드에서 가져오기를 멈춘다.
+ * 필드 값 오류(타입 불일치 등)는 레코드 단위로 INVALID 처리하고 계속 진행한다.
+ */
+@Slf4j
+@Service
+public class SaleImportService {
+
+    private final SalesService salesService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader saleRequestReader;
+    private final ObjectMapper cborMapper;
+    private final ObjectReader cborTreeReader;
+    private final ObjectReader cborSaleRequestReader;
+    private final int chunkSize;
+    private final int maxLineLength;
+
+    public SaleImportService(SalesService salesService,
+                             ObjectMapper objectMapper,
+                             MappingJackson2CborHttpMessageConverter cborConverter,
+                             @Value("${sales.import.chunk-size:500}") int chunkSize,
+                             @Value("${sales.import.max-line-length:16384}") int maxLineLength) {
+        this.salesService = salesService;
+        this.objectMapper = objectMapper;
+        this.saleRequestReader = objectMapper.readerFor(SaleRequest.class);
+        this.cborMapper = cborConverter.getObjectMapper();
+        // 금액의 부동소수 표현을 double 로 거치지 않도록 BigDecimal 로 읽음
+        this.cborTreeReader = cborMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.cborSaleRequestReader = cborMapper.readerFor(SaleRequest.class);
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public SaleImportReport.Summary importSales(InputStream body, OutputStream report) throws IOException {
+        LineReader reader = new LineReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), maxLineLength);
+        return importRecords(report, (chunk, counts) -> readLines(reader, chunk, report, counts));
+    }
+
+    /**
+     * CBOR sequence 본문 가져오기 (결과 보고는 NDJSON 과 동일)
+     */
+    public SaleImportReport.Summary importCborSequence(InputStream body, OutputStream report) throws IOException {
+        return importRecords(report, (chunk, counts) -> readCborSequence(body, chunk, report, counts));
+    }
+
+    private SaleImportReport.Summary importRecords(OutputStream report, RecordReader reader) throws IOException {
+        long start = System.currentTimeMillis();
+        Chunk chunk = new Chunk(chunkSize);
+        long[] counts = new long[SaleBatchResponse.ItemStatus.values().length];
+
+        try {
+            reader.readAll(chunk, counts);
+        } catch (RuntimeException e) {
+            // 응답이 이미 스트리밍 중이므로 오류와 마지막 커밋 줄을 기록하여 클라이언트가 이어서 재전송할 수 있게 함
+            log.error("매출 가져오기 중단 - 마지막 커밋 줄: {}", chunk.lastCommittedLine, e);
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", "매출 가져오기 중 오류가 발생했습니다");
+            error.put("lastCommittedLine", chunk.lastCommittedLine);
+            write(report, error);
+            report.flush();
+            throw e;
+        }
+
+        SaleImportReport.Summary summary = SaleImportReport.Summary.builder()
+                .totalCount(Arrays.stream(counts).sum())
+                .createdCount(counts[SaleBatchResponse.ItemStatus.CREATED.ordinal()])
+                .duplicateCount(counts[SaleBatchResponse.ItemStatus.DUPLICATE.ordinal()])
+                .invalidCount(counts[SaleBatchResponse.ItemStatus.INVALID.ordinal()])
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .build();
+        write(report, Collections.singletonMap("summary", summary));
+        report.flush();
+        return summary;
+    }
+
+    private void readLines(LineReader reader, Chunk chunk, OutputStream report, long[] counts) throws IOException {
+        String line;
+        while ((line = reader.next()) != null) {
+            if (reader.isOverflowed()) {
+                chunk.addFailure(reader.getLineNumber(), "한 줄의 최대 길이(" + maxLineLength + "자)를 초과했습니다");
+            } else if (line.trim().isEmpty()) {
+                continue;
+            } else {
+                try {
+                    chunk.add(reader.getLineNumber(), parse(line));
+                } catch (JsonProcessingException e) {
+                    chunk.addFailure(reader.getLineNumber(), "JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+                }
+            }
+
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, report, counts);
+            }
+        }
+        flush(chunk, report, counts);
+    }
+
+    /**
+     * 최상위 CBOR 값을 하나씩 트리로 읽은 뒤 SaleRequest 로 바인딩
+     */
+    private void readCborSequence(InputStream body, Chunk chunk, OutputStream report, long[] counts) throws IOException {
+        try (JsonParser parser = cborMapper.getFactory().createParser(body)) {
+            long recordNumber = 0;
+            while (true) {
+                JsonNode node;
+                try {
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    recordNumber++;
+                    node = cborTreeReader.readTree(parser);
+                } catch (JsonProcessingException e) {
+                    chunk.addFailure(recordNumber == 0 ? 1 : recordNumber,
+                            "CBOR 형식이 올바르지 않아 이후 레코드를 읽을 수 없습니다: " + e.getOriginalMessage());
+                    break;
+                }
+
+                if (!node.isObject()) {
+                    chunk.addFailure(recordNumber, "매출 레코드는 CBOR map 이어야 합니다");
+                } else {
+                    try {
+                        chunk.add(recordNumber, cborSaleRequestReader.readValue(node));
+                    } catch (JsonProcessingException e) {
+                        chunk.addFailure(recordNumber, "CBOR 레코드 값이 올바르지 않습니다: " + e.getOriginalMessage());
+                    }
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, report, counts);
+                }
+            }
+        }
+        flush(chunk, report, counts);
+    }
+
+    /**
+     * 한 줄을 스트리밍 파서로 읽어 SaleRequest 로 바인딩 (한 줄에 JSON 객체 하나만 허용)
+     */
+    private SaleRequest parse(String line) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            SaleRequest request = saleRequestReader.readValue(parser);
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "한 줄에 하나의 JSON 객체만 허용됩니다");
+            }
+            return request;
+        }
+    }
+
+    /**
+     * 현재 chunk 를 하나의 트랜잭션으로 등록하고 줄별 결과를 응답에 기록
+     */
+    private void flush(Chunk chunk, OutputStream report, long[] counts) throws IOException {
+        if (chunk.size() == 0) {
+            return;
+        }
+
+        List<SaleBatchResponse.ItemResult> results = chunk.requests.isEmpty()
+                ? Collections.emptyList()
+                : salesService.createSales(chunk.requests).getResults();
+
+        int resultIndex = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            SaleImportReport.LineResult lineResult;
+            String failure = chunk.failures.get(i);
+            if (failure != null) {
+                lineResult = SaleImportReport.LineResult.builder()
+                        .line(chunk.lineNumbers.get(i))
+                        .status(SaleBatchResponse.ItemStatus.INVALID)
+                        .message(failure)
+                        .build();
+            } else {
+                SaleBatchResponse.ItemResult result = results.get(resultIndex++);
+                lineResult = SaleImportReport.LineResult.builder()
+                        .line(chunk.lineNumbers.get(i))
+                        .orderNumber(result.getOrderNumber())
+                        .status(result.getStatus())
+                        .saleId(result.getSale() != null ? result.getSale().getId() : null)
+                        .message(result.getMessage())
+                        .build();
+            }
+            counts[lineResult.getStatus().ordinal()]++;
+            write(report, lineResult);
+        }
+        report.flush();
+
+        log.debug("매출 가져오기 chunk 처리: {}건 (마지막 줄: {})", chunk.size(), chunk.lineNumbers.get(chunk.size() - 1));
+        chunk.clear();
+    }
+
+    private void write(OutputStream report, Object value) throws IOException {
+        report.write(objectMapper.writeValueAsBytes(value));
+        report.write('\n');
+    }
+
+    /**
+     * 본문 형식별 레코드 읽기 (읽은 레코드를 chunk 에 담고 chunk-size 마다 flush)
+     */
+    @FunctionalInterface
+    private interface RecordReader {
+        void readAll(Chunk chunk, long[] counts) throws IOException;
+    }
+
+    /**
+     * 한 chunk 의 줄 번호와 파싱 결과 (파싱 실패 줄은 failures 에 사유를 보관하고 requests 에서 제외)
+     */
+    private static final class Chunk {
+        private final List<Long> lineNumbers;
+        private final List<String> failures;
+        private final List<SaleRequest> requests;
+        private long lastCommittedLine;
+
+        private Chunk(int capacity) {
+            this.lineNumbers = new ArrayList<>(capacity);
+            this.failures = new ArrayList<>(capacity);
+            this.requests = new ArrayList<>(capacity);
+        }
+
+        private void add(long lineNumber, SaleRequest request) {
+            lineNumbers.add(lineNumber);
+            failures.add(null);
+            requests.add(request);
+        }
+
+        private void addFailure(long lineNumber, String message) {
+            lineNumbers.add(lineNumber);
+            failures.add(message);
+        }
+
+        private int size() {
+            return lineNumbers.size();
+        }
+
+        private void clear() {
+            lastCommittedLine = lineNumbers.get(lineNumbers.size() - 1);
+            lineNumbers.clear();
+            failures.clear();
+            requests.clear();
+        }
+    }
+
+    /**
+     * 최대 길이를 넘는 줄은 나머지를 버리고 overflow 로 표시하는 줄 단위 reader
+     */
+    static final class LineReader {
+        private final BufferedReader reader;
+        private final int maxLineLength;
+        private final StringBuilder buffer = new StringBuilder();
+        private long lineNumber;
+        private boolean overflowed;
+
+        LineReader(BufferedReader reader, int maxLineLength) {
+            this.reader = reader;
+            this.maxLineLength = maxLineLength;
+        }
+
+        String next() throws IOException {
+            buffer.setLength(0);
+            overflowed = false;
+
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n') {
+                if (c != '\r') {
+                    if (buffer.length() < maxLineLength) {
+                        buffer.append((char) c);
+                    } else {
+                        overflowed = true;
+                    }
+                }
+                c = reader.read();
+            }
+            lineNumber++;
+            return buffer.toString();
+        }
+
+        long getLineNumber() {
+            return lineNumber;
+        }
+
+        boolean isOverflowed() {
+            return overflowed;
+        }
+    }
+}
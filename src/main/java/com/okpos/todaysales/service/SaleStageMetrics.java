@@ -0,0 +1,107 @@
+package com.okpos.todaysales.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단건 매출 등록 경로의 단계별 소요 시간 (sales.create.stage{stage=...})
+ *
+ * 단계마다 백분위 히스토그램 Timer 를 미리 등록해 두고 System.nanoTime 차이만 기록하므로 요청당 추가 할당이 없다.
+ * 백분위·최대값은 window 동안의 값만 반영하도록 만료 주기를 두어, 프로파일러 없이 최근 구간의 단계별 p50/p99 회귀를 확인할 수 있다.
+ */
+@Component
+public class SaleStageMetrics {
+
+    public enum Stage {
+        /** 가맹점 조회 및 상태 검증 */
+        STORE_LOOKUP("store_lookup"),
+        /** 수수료 계산 */
+        FEE_CALCULATION("fee_calculation"),
+        /** INSERT 및 flush */
+        INSERT("insert"),
+        /** 시간대별 매출 집계 upsert */
+        ROLLUP("rollup"),
+        /** 트랜잭션 커밋 */
+        COMMIT("commit"),
+        /** 그룹 커밋 대기열 대기부터 배치 커밋까지 (그룹 커밋 사용 시 insert/commit 대신 기록) */
+        COALESCED_INSERT("coalesced_insert"),
+        /** 생성 이벤트 아웃박스 기록 */
+        EVENT_PUBLISH("event_publish"),
+        /** 유니크 위반 후 재전송 여부 확인 조회 */
+        DUPLICATE_CHECK("duplicate_check"),
+        /** 매출 메트릭 기록 */
+        METRICS("metrics");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final Timer[] timers = new Timer[Stage.values().length];
+    private final Duration window;
+
+    public SaleStageMetrics(MeterRegistry meterRegistry,
+                            @Value("${sales.stage-metrics.window-seconds:60}") long windowSeconds) {
+        this.window = Duration.ofSeconds(windowSeconds);
+        for (Stage stage : Stage.values()) {
+            timers[stage.ordinal()] = Timer.builder("sales.create.stage")
+                    .description("Time spent in one stage of the single-sale create path")
+                    .tag("stage", stage.getTag())
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .distributionStatisticExpiry(window)
+                    .distributionStatisticBufferLength(3)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * startNanos 부터 현재까지를 해당 단계 시간으로 기록
+     *
+     * @return 현재 System.nanoTime (다음 단계의 시작 시각으로 이어서 사용)
+     */
+    public long record(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        timers[stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * 단계별 최근 window 의 p50/p95/p99/max (ms) 와 누적 건수
+     */
+    public Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("window_seconds", window.getSeconds());
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            HistogramSnapshot snapshot = timers[stage.ordinal()].takeSnapshot();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", snapshot.count());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                values.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+            }
+            values.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+            stages.put(stage.getTag(), values);
+        }
+        summary.put("stages_ms", stages);
+        return summary;
+    }
+}
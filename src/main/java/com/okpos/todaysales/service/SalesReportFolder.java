@@ -0,0 +1,139 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.MonthlyReportResponse;
+import com.okpos.todaysales.dto.SaleDashboard;
+import com.okpos.todaysales.entity.enums.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 시간대별 집계의 그룹 조회 결과를 대시보드·월별 리포트 응답으로 변환
+ *
+ * 대시보드는 (시간대, 결제수단), 월별 리포트는 (일자, 결제수단) 단위 행을 한 번 순회하면서
+ * 합계, 결제수단별 통계(결제수단 선언 순), 시간대별·일별 통계(시간·일자 순)를 함께 누적한다.
+ *
+ * 행 형식: [시간대 또는 일자, PaymentType, amount, saleCount, fee, netAmount]
+ */
+final class SalesReportFolder {
+
+    private SalesReportFolder() {
+    }
+
+    static SaleDashboard foldDashboard(LocalDate date, List<Object[]> rows, long computedAt) {
+        Totals total = new Totals();
+        Map<PaymentType, Totals> byPaymentType = new EnumMap<>(PaymentType.class);
+        Map<Integer, Totals> byHour = new TreeMap<>();
+
+        for (Object[] row : rows) {
+            Totals group = Totals.of(row);
+            total.add(group);
+            byPaymentType.computeIfAbsent((PaymentType) row[1], key -> new Totals()).add(group);
+            byHour.computeIfAbsent((Integer) row[0], key -> new Totals()).add(group);
+        }
+
+        List<SaleDashboard.PaymentTypeStatistic> paymentTypeStatistics = new ArrayList<>(byPaymentType.size());
+        for (Map.Entry<PaymentType, Totals> entry : byPaymentType.entrySet()) {
+            Totals totals = entry.getValue();
+            paymentTypeStatistics.add(SaleDashboard.PaymentTypeStatistic.builder()
+                    .paymentType(entry.getKey().getDescription())
+                    .amount(totals.amount)
+                    .count((int) totals.count)
+                    .fee(totals.fee)
+                    .netAmount(totals.netAmount)
+                    .build());
+        }
+
+        List<SaleDashboard.HourlyStatistic> hourlyStatistics = new ArrayList<>(byHour.size());
+        for (Map.Entry<Integer, Totals> entry : byHour.entrySet()) {
+            hourlyStatistics.add(SaleDashboard.HourlyStatistic.builder()
+                    .hour(entry.getKey())
+                    .amount(entry.getValue().amount)
+                    .count((int) entry.getValue().count)
+                    .build());
+        }
+
+        return SaleDashboard.builder()
+                .date(date)
+                .totalAmount(total.amount)
+                .totalCount((int) total.count)
+                .paymentTypeStatistics(paymentTypeStatistics)
+                .hourlyStatistics(hourlyStatistics)
+                .computedAt(computedAt)
+                .build();
+    }
+
+    static MonthlyReportResponse foldMonthlyReport(YearMonth yearMonth, List<Object[]> rows) {
+        Totals total = new Totals();
+        Map<PaymentType, Totals> byPaymentType = new EnumMap<>(PaymentType.class);
+        Map<LocalDate, Totals> byDate = new TreeMap<>();
+
+        for (Object[] row : rows) {
+            Totals group = Totals.of(row);
+            total.add(group);
+            byPaymentType.computeIfAbsent((PaymentType) row[1], key -> new Totals()).add(group);
+            byDate.computeIfAbsent((LocalDate) row[0], key -> new Totals()).add(group);
+        }
+
+        List<MonthlyReportResponse.DailyStatistic> dailyStatistics = new ArrayList<>(byDate.size());
+        for (Map.Entry<LocalDate, Totals> entry : byDate.entrySet()) {
+            dailyStatistics.add(MonthlyReportResponse.DailyStatistic.builder()
+                    .day(entry.getKey().getDayOfMonth())
+                    .amount(entry.getValue().amount)
+                    .count((int) entry.getValue().count)
+                    .build());
+        }
+
+        List<MonthlyReportResponse.PaymentTypeStatistic> paymentTypeStatistics = new ArrayList<>(byPaymentType.size());
+        for (Map.Entry<PaymentType, Totals> entry : byPaymentType.entrySet()) {
+            Totals totals = entry.getValue();
+            paymentTypeStatistics.add(MonthlyReportResponse.PaymentTypeStatistic.builder()
+                    .paymentType(entry.getKey().getDescription())
+                    .amount(totals.amount)
+                    .count((int) totals.count)
+                    .fee(totals.fee)
+                    .netAmount(totals.netAmount)
+                    .build());
+        }
+
+        return MonthlyReportResponse.builder()
+                .yearMonth(yearMonth)
+                .totalAmount(total.amount)
+                .totalCount((int) total.count)
+                .totalFee(total.fee)
+                .totalNetAmount(total.netAmount)
+                .dailyStatistics(dailyStatistics)
+                .paymentTypeStatistics(paymentTypeStatistics)
+                .build();
+    }
+
+    private static final class Totals {
+
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+        private BigDecimal fee = BigDecimal.ZERO;
+        private BigDecimal netAmount = BigDecimal.ZERO;
+
+        static Totals of(Object[] row) {
+            Totals totals = new Totals();
+            totals.amount = (BigDecimal) row[2];
+            totals.count = ((Number) row[3]).longValue();
+            totals.fee = (BigDecimal) row[4];
+            totals.netAmount = (BigDecimal) row[5];
+            return totals;
+        }
+
+        void add(Totals other) {
+            amount = amount.add(other.amount);
+            count += other.count;
+            fee = fee.add(other.fee);
+            netAmount = netAmount.add(other.netAmount);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.exception.InvalidRequestException;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 시간대별 매출 집계(sales_hourly_rollup) 유지
+ *
+ * 증감은 매출을 기록하는 트랜잭션 안에서만 호출되어 매출과 함께 커밋·롤백된다.
+ * 여러 건은 집계 키별로 합친 뒤 키 순서대로 upsert 하여, 같은 집계 행을 갱신하는 동시 트랜잭션이 같은 순서로 잠그도록 한다.
+ * 같은 증감은 커밋 이후 실시간 대시보드 엔진(LiveDashboardEngine)과 가맹점별 대시보드 해시(DashboardHashCache)에도 더한다.
+ * 이때 upsert 로 바뀐 집계 행의 version 을 함께 넘겨, 이미 그 version 까지 읽은 쪽이 같은 증감을 두 번 더하지 않도록 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing((RollupKey key) -> key.storeId)
+            .thenComparing(key -> key.saleDate)
+            .thenComparingInt(key -> key.saleHour)
+            .thenComparing(key -> key.paymentType)
+            .thenComparing(key -> key.channel);
+
+    private final SalesHourlyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LiveDashboardEngine liveDashboardEngine;
+    private final DashboardHashCache dashboardHashCache;
+
+    /**
+     * 새로 등록된 완료 매출을 집계에 더함
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Sale sale) {
+        upsert(RollupKey.of(sale), Totals.of(sale));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<Sale> sales) {
+        Map<RollupKey, Totals> grouped = new TreeMap<>(KEY_ORDER);
+        for (Sale sale : sales) {
+            grouped.merge(RollupKey.of(sale), Totals.of(sale), Totals::plus);
+        }
+        grouped.forEach(this::upsert);
+    }
+
+    /**
+     * 취소·환불된 매출을 집계에서 뺌
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtract(Sale sale) {
+        upsert(RollupKey.of(sale), Totals.of(sale).negate());
+    }
+
+    /**
+     * 정산 시 수수료가 다시 계산된 매출의 수수료·순액 차이를 반영
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustFee(Sale sale, BigDecimal previousFee) {
+        BigDecimal difference = sale.getFee().subtract(previousFee);
+        if (difference.signum() == 0) {
+            return;
+        }
+        upsert(RollupKey.of(sale), new Totals(BigDecimal.ZERO, difference, difference.negate(), 0));
+    }
+
+    /**
+     * 기간(종료일 포함)의 집계를 원본 매출에서 다시 계산
+     *
+     * 집계 누락·불일치 복구용이다. 하루씩 별도 트랜잭션으로 지우고 다시 집계하며,
+     * 그 동안 해당 날짜의 매출 등록·취소는 잠금 대기하므로 한가한 시간에 실행한다.
+     * 새 행의 version 은 지우기 전 날짜의 최대 version 보다 크게 하여, 재계산 전에 커밋된 증감이 늦게 도착해도 버려지도록 한다.
+     * 다시 계산한 날짜에 집계가 있던 가맹점의 대시보드 해시는 지워 다음 조회 때 새 집계로 만든다.
+     *
+     * @return 다시 기록된 집계 행 수
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidRequestException("dateRange", String.format("%s ~ %s", startDate, endDate),
+                    "시작일이 종료일보다 늦을 수 없습니다");
+        }
+
+        int inserted = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            LocalDate day = date;
+            Set<Long> storeIds = new HashSet<>();
+            Integer rows = transactionTemplate.execute(status -> {
+                storeIds.addAll(rollupRepository.findStoreIdsBySaleDate(day));
+                long version = rollupRepository.findMaxVersionBySaleDate(day) + 1;
+                rollupRepository.deleteBySaleDateBetween(day, day);
+                int count = rollupRepository.insertFromSales(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), version);
+                storeIds.addAll(rollupRepository.findStoreIdsBySaleDate(day));
+                return count;
+            });
+            inserted += rows == null ? 0 : rows;
+            dashboardHashCache.evict(storeIds, day);
+        }
+        log.info("시간대별 매출 집계 재계산: {} ~ {}, 생성 {}행", startDate, endDate, inserted);
+
+        LocalDate today = liveDashboardEngine.today();
+        if (!today.isBefore(startDate) && !today.isAfter(endDate)) {
+            liveDashboardEngine.rebuild(today);
+        }
+        return inserted;
+    }
+
+    private void upsert(RollupKey key, Totals totals) {
+        rollupRepository.upsert(key.storeId, key.saleDate, key.saleHour, key.paymentType.name(), key.channel.name(),
+                totals.amount, totals.fee, totals.netAmount, totals.count);
+        long version = rollupRepository.findVersion(key.storeId, key.saleDate, key.saleHour,
+                key.paymentType.name(), key.channel.name());
+
+        runAfterCommit(() -> {
+            liveDashboardEngine.apply(key.storeId, key.saleDate, key.saleHour, key.paymentType, key.channel,
+                    version, totals.count, totals.amount, totals.fee);
+            dashboardHashCache.apply(key.storeId, key.saleDate, key.saleHour, key.paymentType, key.channel,
+                    version, totals.count, totals.amount, totals.fee);
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @EqualsAndHashCode
+    static final class RollupKey {
+
+        private final Long storeId;
+        private final LocalDate saleDate;
+        private final int saleHour;
+        private final PaymentType paymentType;
+        private final SaleChannel channel;
+
+        private RollupKey(Long storeId, LocalDate saleDate, int saleHour, PaymentType paymentType, SaleChannel channel) {
+            this.storeId = storeId;
+            this.saleDate = saleDate;
+            this.saleHour = saleHour;
+            this.paymentType = paymentType;
+            this.channel = channel;
+        }
+
+        static RollupKey of(Sale sale) {
+            return new RollupKey(sale.getStore().getId(), sale.getTransactionTime().toLocalDate(),
+                    sale.getTransactionTime().getHour(), sale.getPaymentType(), sale.getChannel());
+        }
+    }
+
+    private static final class Totals {
+
+        private final BigDecimal amount;
+        private final BigDecimal fee;
+        private final BigDecimal netAmount;
+        private final long count;
+
+        private Totals(BigDecimal amount, BigDecimal fee, BigDecimal netAmount, long count) {
+            this.amount = amount;
+            this.fee = fee;
+            this.netAmount = netAmount;
+            this.count = count;
+        }
+
+        static Totals of(Sale sale) {
+            return new Totals(sale.getAmount(), sale.getFee(), sale.getNetAmount(), 1);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(amount.add(other.amount), fee.add(other.fee),
+                    netAmount.add(other.netAmount), count + other.count);
+        }
+
+        Totals negate() {
+            return new Totals(amount.negate(), fee.negate(), netAmount.negate(), -count);
+        }
+    }
+}
@@ -1,34 +1,50 @@
 package com.okpos.todaysales.service;
 
 import com.okpos.todaysales.dto.MonthlyReportResponse;
+import com.okpos.todaysales.dto.SaleBatchResponse;
 import com.okpos.todaysales.dto.SaleDashboard;
 import com.okpos.todaysales.dto.SaleRequest;
 import com.okpos.todaysales.dto.SaleResponse;
 import com.okpos.todaysales.event.EventPublisher;
 import com.okpos.todaysales.exception.InvalidRequestException;
+import com.okpos.todaysales.exception.SaleNotFoundException;
 import com.okpos.todaysales.exception.StoreNotFoundException;
 import com.okpos.todaysales.entity.Sale;
-import com.okpos.todaysales.entity.Store;
-import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.SettlementAdjustment;
 import com.okpos.todaysales.entity.enums.SaleStatus;
 import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import com.okpos.todaysales.repository.SettlementAdjustmentRepository;
 import com.okpos.todaysales.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -38,53 +54,68 @@ public class SalesService {
     private final StoreRepository storeRepository;
     private final EventPublisher eventPublisher;
     private final MetricsService metricsService;
+    private final Validator validator;
+    private final OrderNumberFilter orderNumberFilter;
+    private final StoreReferenceCache storeReferenceCache;
+    private final FeePolicy feePolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final SaleCoalescer saleCoalescer;
+    private final SettlementAdjustmentRepository settlementAdjustmentRepository;
+    private final SaleStageMetrics saleStageMetrics;
+    private final SalesRollupService salesRollupService;
+    private final SalesHourlyRollupRepository salesHourlyRollupRepository;
+    private final LiveDashboardEngine liveDashboardEngine;
+    private final DashboardHashCache dashboardHashCache;
     
-    private static final BigDecimal CARD_FEE_RATE = new BigDecimal("0.025"); // 2.5%
-    private static final BigDecimal CASH_FEE_RATE = BigDecimal.ZERO; // 0%
-    
-    @Transactional
-    @CacheEvict(value = "dashboard", key = "#request.businessNumber + '_' + T(java.time.LocalDate).now()")
+    /**
+     * 매출 등록 (멱등)
+     *
+     * 중복 여부를 먼저 조회하지 않고 바로 INSERT 하며, order_number 유니크 제약에 걸리면 POS 의 재전송으로 보고
+     * 기존 매출을 duplicate 표시와 함께 반환한다. 같은 주문번호가 다른 가맹점·금액·결제수단의 매출이면 잘못된 요청으로 거절한다.
+     * 위반 후 조회는 롤백된 트랜잭션과 분리해야 하므로 트랜잭션은 메서드가 아닌 TransactionTemplate 으로 연다.
+     * 그룹 커밋이 켜져 있으면 INSERT 는 {@link SaleCoalescer} 가 동시 요청과 묶어 커밋한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SaleResponse createSale(SaleRequest request) {
-        // 중복 주문번호 검증
-        if (saleRepository.findByOrderNumber(request.getOrderNumber()).isPresent()) {
-            throw new InvalidRequestException("orderNumber", request.getOrderNumber(), 
-                    "이미 존재하는 주문번호입니다: " + request.getOrderNumber());
-        }
-        
+        long stageStart = System.nanoTime();
+
         // 거래시간 검증 (미래 시간 불가)
-        if (request.getTransactionTime().isAfter(LocalDateTime.now().plusMinutes(5))) {
-            throw new InvalidRequestException("transactionTime", request.getTransactionTime(), 
-                    "거래시간이 현재시간보다 늦을 수 없습니다");
-        }
+        validateTransactionTime(request);
         
-        Store store = storeRepository.findByBusinessNumber(request.getBusinessNumber())
+        StoreReference store = storeReferenceCache.get(request.getBusinessNumber())
                 .orElseThrow(() -> new StoreNotFoundException(request.getBusinessNumber()));
         
         // 가맹점 상태 검증
-        if (store.getStatus() != com.okpos.todaysales.entity.enums.StoreStatus.ACTIVE) {
-            throw new InvalidRequestException("businessNumber", request.getBusinessNumber(), 
-                    "비활성화된 가맹점입니다");
-        }
-        
-        // 수수료 계산
-        BigDecimal fee = calculateFee(request.getAmount(), request.getPaymentType());
-        
-        // 순수익 계산
-        BigDecimal netAmount = request.getAmount().subtract(fee);
+        validateStoreActive(store);
+        stageStart = saleStageMetrics.record(SaleStageMetrics.Stage.STORE_LOOKUP, stageStart);
         
-        Sale sale = Sale.builder()
-                .store(store)
-                .transactionTime(request.getTransactionTime())
-                .amount(request.getAmount())
-                .paymentType(request.getPaymentType())
-                .channel(request.getChannel())
-                .orderNumber(request.getOrderNumber())
-                .fee(fee)
-                .netAmount(netAmount)
-                .status(SaleStatus.COMPLETED)
-                .build();
-        
-        Sale savedSale = saleRepository.save(sale);
+        Sale savedSale;
+        try {
+            // INSERT 와 아웃박스 기록을 하나의 트랜잭션으로 커밋 (유니크 제약 위반 시 롤백 후 예외)
+            if (saleCoalescer.isEnabled()) {
+                savedSale = saleCoalescer.insert(request.getOrderNumber(), store.getStoreName(), () -> buildSale(request, store));
+                stageStart = saleStageMetrics.record(SaleStageMetrics.Stage.COALESCED_INSERT, stageStart);
+            } else {
+                long[] callbackEnd = new long[1];
+                savedSale = transactionTemplate.execute(status -> {
+                    Sale sale = insertSale(request, store);
+                    callbackEnd[0] = System.nanoTime();
+                    return sale;
+                });
+                stageStart = saleStageMetrics.record(SaleStageMetrics.Stage.COMMIT, callbackEnd[0]);
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            long checkStart = System.nanoTime();
+            try {
+                return findReplayedSale(request, store, e);
+            } finally {
+                saleStageMetrics.record(SaleStageMetrics.Stage.DUPLICATE_CHECK, checkStart);
+            }
+        }
+        orderNumberFilter.put(savedSale.getOrderNumber());
 
         // 메트릭 기록
         metricsService.recordSaleCreated(
@@ -92,21 +123,264 @@ public class SalesService {
                 savedSale.getPaymentType().name(),
                 savedSale.getChannel().name()
         );
+        saleStageMetrics.record(SaleStageMetrics.Stage.METRICS, stageStart);
+        
+        return convertToSaleResponse(savedSale, store);
+    }
+    
+    private Sale insertSale(SaleRequest request, StoreReference store) {
+        Sale sale = buildSale(request, store);
+        long insertStart = System.nanoTime();
+        Sale savedSale = saleRepository.saveAndFlush(sale);
+        long rollupStart = saleStageMetrics.record(SaleStageMetrics.Stage.INSERT, insertStart);
+
+        // 시간대별 집계를 매출과 같은 트랜잭션에서 증가
+        salesRollupService.add(savedSale);
+        saleStageMetrics.record(SaleStageMetrics.Stage.ROLLUP, rollupStart);
 
+        // 이벤트는 매출과 같은 트랜잭션으로 아웃박스에 기록 (브로커 발행은 OutboxRelay 가 커밋 이후 수행)
+        eventPublisher.publishSaleCreated(savedSale, store.getStoreName());
+        return savedSale;
+    }
+    
+    /**
+     * 유니크 제약에 걸린 주문번호의 기존 매출 조회 (재전송이면 duplicate 표시한 응답 반환)
+     */
+    private SaleResponse findReplayedSale(SaleRequest request, StoreReference store, DataIntegrityViolationException cause) {
+        SaleResponse response = transactionTemplate.execute(status -> saleRepository.findByOrderNumber(request.getOrderNumber())
+                .filter(existing -> isSameSale(existing, request, store))
+                .map(existing -> convertToSaleResponse(existing, store))
+                .orElse(null));
+        if (response == null) {
+            throw new InvalidRequestException("orderNumber", request.getOrderNumber(),
+                    "이미 존재하는 주문번호입니다: " + request.getOrderNumber(), cause);
+        }
+        
+        log.info("재전송된 매출 - 기존 매출 반환: orderNumber={}, saleId={}", request.getOrderNumber(), response.getId());
+        response.setDuplicate(true);
+        return response;
+    }
+    
+    private boolean isSameSale(Sale existing, SaleRequest request, StoreReference store) {
+        return existing.getStore().getId().equals(store.getId())
+                && existing.getAmount().compareTo(request.getAmount()) == 0
+                && existing.getPaymentType() == request.getPaymentType();
+    }
+    
+    /**
+     * 저장 없이 매출 요청의 거래시간과 가맹점 상태만 검증 (쓰기 지연 수집 모드에서 접수 전 검증)
+     * 중복 주문번호는 저널 반영 시 일괄 등록 단계에서 걸러진다.
+     */
+    public void validateSale(SaleRequest request) {
+        validateTransactionTime(request);
+        
+        StoreReference store = storeReferenceCache.get(request.getBusinessNumber())
+                .orElseThrow(() -> new StoreNotFoundException(request.getBusinessNumber()));
+        validateStoreActive(store);
+    }
+    
+    /**
+     * 매출 일괄 등록
+     * 가맹점 조회와 중복 주문번호 검증을 각각 한 번의 쿼리로 처리하고,
+     * 건별 검증 실패나 중복은 해당 건의 결과로만 반환하여 나머지 건은 정상 등록한다.
+     *
+     * 중복 주문번호 조회는 주문번호 필터가 있을 수도 있다고 판정한 건만 대상으로 한다. 필터가 모르는
+     * 오래된 주문번호나 다른 노드가 등록한 주문번호로 유니크 제약에 걸리면 롤백 후 모든 주문번호를 조회하여 다시 등록한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SaleBatchResponse createSales(List<SaleRequest> requests) {
+        BatchInsert batch;
         try {
-            eventPublisher.publishSaleCreated(savedSale);
-        } catch (Exception e) {
-            // 이벤트 발행 실패는 비즈니스 로직에 영향을 주지 않도록 로그만 남김
-            throw e; // 하지만 트랜잭션 롤백을 위해 다시 던짐
+            batch = transactionTemplate.execute(status -> insertSales(requests, true));
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            log.info("일괄 등록 중 필터 범위 밖의 중복 주문번호 - 전체 주문번호를 조회하여 다시 등록합니다: {}건", requests.size());
+            batch = transactionTemplate.execute(status -> insertSales(requests, false));
         }
         
-        return convertToSaleResponse(savedSale);
+        for (Sale savedSale : batch.savedSales) {
+            metricsService.recordSaleCreated(
+                    savedSale.getAmount(),
+                    savedSale.getPaymentType().name(),
+                    savedSale.getChannel().name()
+            );
+            orderNumberFilter.put(savedSale.getOrderNumber());
+        }
+        
+        List<SaleBatchResponse.ItemResult> resultList = Arrays.asList(batch.results);
+        return SaleBatchResponse.builder()
+                .totalCount(requests.size())
+                .createdCount(countByStatus(resultList, SaleBatchResponse.ItemStatus.CREATED))
+                .duplicateCount(countByStatus(resultList, SaleBatchResponse.ItemStatus.DUPLICATE))
+                .invalidCount(countByStatus(resultList, SaleBatchResponse.ItemStatus.INVALID))
+                .results(resultList)
+                .build();
+    }
+    
+    /**
+     * @param filterLookups true 이면 주문번호 필터가 있을 수도 있다고 판정한 주문번호만 DB 조회
+     */
+    private BatchInsert insertSales(List<SaleRequest> requests, boolean filterLookups) {
+        SaleBatchResponse.ItemResult[] results = new SaleBatchResponse.ItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> requestedOrderNumbers = new HashSet<>();
+        
+        // 건별 입력값 검증 및 요청 내 중복 주문번호 검증
+        for (int i = 0; i < requests.size(); i++) {
+            SaleRequest request = requests.get(i);
+            String violation = findViolation(request);
+            if (violation != null) {
+                results[i] = itemResult(i, request, SaleBatchResponse.ItemStatus.INVALID, violation);
+            } else if (!requestedOrderNumbers.add(request.getOrderNumber())) {
+                results[i] = itemResult(i, request, SaleBatchResponse.ItemStatus.DUPLICATE,
+                        "요청 내 중복된 주문번호입니다: " + request.getOrderNumber());
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        List<Sale> sales = new ArrayList<>();
+        List<Integer> saleIndexes = new ArrayList<>();
+        List<StoreReference> saleStores = new ArrayList<>();
+        
+        if (!candidates.isEmpty()) {
+            // 사업자번호별 가맹점 1회 조회
+            Set<String> businessNumbers = candidates.stream()
+                    .map(i -> requests.get(i).getBusinessNumber())
+                    .collect(Collectors.toSet());
+            Map<String, StoreReference> stores = storeReferenceCache.getAll(businessNumbers);
+            
+            // 중복 여부를 확인할 주문번호를 IN 쿼리 1회 조회
+            Set<String> candidateOrderNumbers = candidates.stream()
+                    .map(i -> requests.get(i).getOrderNumber())
+                    .filter(orderNumber -> !filterLookups || orderNumberFilter.mightContain(orderNumber))
+                    .collect(Collectors.toSet());
+            Set<String> existingOrderNumbers = candidateOrderNumbers.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(saleRepository.findExistingOrderNumbers(candidateOrderNumbers));
+            if (filterLookups) {
+                candidateOrderNumbers.forEach(orderNumber ->
+                        orderNumberFilter.recordLookup(existingOrderNumbers.contains(orderNumber)));
+            }
+            
+            for (Integer i : candidates) {
+                SaleRequest request = requests.get(i);
+                if (existingOrderNumbers.contains(request.getOrderNumber())) {
+                    results[i] = itemResult(i, request, SaleBatchResponse.ItemStatus.DUPLICATE,
+                            "이미 존재하는 주문번호입니다: " + request.getOrderNumber());
+                    continue;
+                }
+                
+                StoreReference store = stores.get(request.getBusinessNumber());
+                try {
+                    if (store == null) {
+                        throw new StoreNotFoundException(request.getBusinessNumber());
+                    }
+                    validateStoreActive(store);
+                } catch (StoreNotFoundException | InvalidRequestException e) {
+                    results[i] = itemResult(i, request, SaleBatchResponse.ItemStatus.INVALID, e.getMessage());
+                    continue;
+                }
+                
+                sales.add(buildSale(request, store));
+                saleIndexes.add(i);
+                saleStores.add(store);
+            }
+        }
+        
+        List<Sale> savedSales = saleRepository.saveAll(sales);
+        salesRollupService.addAll(savedSales);
+        
+        for (int i = 0; i < savedSales.size(); i++) {
+            Sale savedSale = savedSales.get(i);
+            int index = saleIndexes.get(i);
+            results[index] = SaleBatchResponse.ItemResult.builder()
+                    .index(index)
+                    .orderNumber(savedSale.getOrderNumber())
+                    .status(SaleBatchResponse.ItemStatus.CREATED)
+                    .sale(convertToSaleResponse(savedSale, saleStores.get(i)))
+                    .build();
+        }
+        
+        Map<Long, String> storeNames = saleStores.stream()
+                .collect(Collectors.toMap(StoreReference::getId, StoreReference::getStoreName, (a, b) -> a));
+        eventPublisher.publishSaleCreatedBatch(savedSales, storeNames);
+        return new BatchInsert(results, savedSales);
+    }
+    
+    /**
+     * 매출 취소 (주문번호 기준)
+     */
+    @Transactional
+    public SaleResponse cancelSale(String orderNumber, String reason) {
+        return reverseSale(orderNumber, SaleStatus.CANCELLED, reason);
+    }
+    
+    /**
+     * 매출 환불 (주문번호 기준)
+     */
+    @Transactional
+    public SaleResponse refundSale(String orderNumber, String reason) {
+        return reverseSale(orderNumber, SaleStatus.REFUNDED, reason);
+    }
+    
+    /**
+     * 완료된 매출을 취소/환불 상태로 변경
+     *
+     * 시간대별 집계는 같은 트랜잭션에서 해당 매출만큼 차감하고 (대시보드 해시는 커밋 이후 집계 증감으로 차감),
+     * 이미 정산된 매출은 정산을 수정하지 않고
+     * 음수 조정({@link SettlementAdjustment})을 남겨 다음 정산에 반영한다.
+     * 같은 요청의 재전송(이미 같은 상태)은 변경 없이 duplicate 표시와 함께 현재 매출을 반환한다.
+     */
+    private SaleResponse reverseSale(String orderNumber, SaleStatus target, String reason) {
+        Sale sale = saleRepository.findByOrderNumberForUpdate(orderNumber)
+                .orElseThrow(() -> new SaleNotFoundException(orderNumber));
+        StoreReference store = StoreReference.from(sale.getStore());
+        
+        if (sale.getStatus() == target) {
+            SaleResponse response = convertToSaleResponse(sale, store);
+            response.setDuplicate(true);
+            return response;
+        }
+        if (sale.getStatus() != SaleStatus.COMPLETED) {
+            throw new InvalidRequestException("status", sale.getStatus(),
+                    String.format("%s 상태의 매출은 %s할 수 없습니다",
+                            sale.getStatus().getDescription(), target.getDescription()));
+        }
+        
+        sale.setStatus(target);
+        sale.setReversedAt(LocalDateTime.now());
+        salesRollupService.subtract(sale);
+        
+        boolean settled = Boolean.TRUE.equals(sale.getIsSettled());
+        if (settled) {
+            settlementAdjustmentRepository.save(SettlementAdjustment.builder()
+                    .saleId(sale.getId())
+                    .storeId(store.getId())
+                    .orderNumber(sale.getOrderNumber())
+                    .type(target)
+                    .amount(sale.getAmount().negate())
+                    .fee(sale.getFee().negate())
+                    .netAmount(sale.getNetAmount().negate())
+                    .originalSettlementId(sale.getSettlement() != null ? sale.getSettlement().getId() : null)
+                    .reason(reason)
+                    .build());
+        }
+        
+        log.info("매출 {} 처리: orderNumber={}, amount={}, 정산후조정={}, 사유={}",
+                target.getDescription(), orderNumber, sale.getAmount(), settled, reason);
+        metricsService.recordSaleReversed(sale.getAmount(), target.name(), settled);
+        
+        return convertToSaleResponse(sale, store);
     }
     
-    @Cacheable(value = "dashboard", key = "#businessNumber + '_' + #date")
     public SaleDashboard getDashboard(String businessNumber, LocalDate date) {
+        long computedAt = System.currentTimeMillis();
+        
         // 가맹점 존재 여부 검증
-        Store store = storeRepository.findByBusinessNumber(businessNumber)
+        StoreReference store = storeReferenceCache.get(businessNumber)
                 .orElseThrow(() -> new StoreNotFoundException(businessNumber));
         
         // 조회 날짜 검증 (미래 날짜 불가)
@@ -114,45 +388,30 @@ public class SalesService {
             throw new InvalidRequestException("date", date, "미래 날짜는 조회할 수 없습니다");
         }
         
-        // 일일 총 매출 및 거래 건수
-        BigDecimal totalAmount = saleRepository.findTotalAmountByBusinessNumberAndDate(businessNumber, date);
-        Long totalCount = saleRepository.countByBusinessNumberAndDate(businessNumber, date);
-        
-        // 결제수단별 통계
-        List<Object[]> paymentStats = saleRepository.findPaymentTypeStatisticsByBusinessNumberAndDate(businessNumber, date);
-        List<SaleDashboard.PaymentTypeStatistic> paymentTypeStatistics = paymentStats.stream()
-                .map(stat -> SaleDashboard.PaymentTypeStatistic.builder()
-                        .paymentType(((PaymentType) stat[0]).getDescription())
-                        .amount((BigDecimal) stat[1])
-                        .count(((Long) stat[2]).intValue())
-                        .fee((BigDecimal) stat[3])
-                        .netAmount((BigDecimal) stat[4])
-                        .build())
-                .collect(Collectors.toList());
-        
-        // 시간대별 매출
-        List<Object[]> hourlyStats = saleRepository.findHourlyStatisticsByBusinessNumberAndDate(businessNumber, date);
-        List<SaleDashboard.HourlyStatistic> hourlyStatistics = hourlyStats.stream()
-                .map(stat -> SaleDashboard.HourlyStatistic.builder()
-                        .hour((Integer) stat[0])
-                        .amount((BigDecimal) stat[1])
-                        .count(((Long) stat[2]).intValue())
-                        .build())
-                .collect(Collectors.toList());
-        
-        return SaleDashboard.builder()
-                .date(date)
-                .totalAmount(totalAmount)
-                .totalCount(totalCount.intValue())
-                .paymentTypeStatistics(paymentTypeStatistics)
-                .hourlyStatistics(hourlyStatistics)
-                .build();
+        // 오늘 날짜는 실시간 집계 엔진에서 DB 조회 없이 응답
+        Optional<SaleDashboard> live = liveDashboardEngine.getDashboard(store.getId(), date);
+        if (live.isPresent()) {
+            return live.get();
+        }
+        
+        // 가맹점·날짜별 대시보드 해시를 HGETALL 한 번으로 조회
+        Optional<SaleDashboard> cached = dashboardHashCache.get(store.getId(), date);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
+        // 해시가 없으면 집계 행과 version 을 불러와 해시를 만들어 이후 증감을 받도록 함
+        // 다른 요청이 만드는 중이면 시간대 × 결제수단 단위 1회 조회로 합계·결제수단별·시간대별 통계를 함께 계산 (시간대별 집계 기준)
+        return dashboardHashCache.build(store.getId(), date,
+                        () -> salesHourlyRollupRepository.findVersionedDashboardRows(store.getId(), date))
+                .orElseGet(() -> SalesReportFolder.foldDashboard(date,
+                        salesHourlyRollupRepository.findDashboardRows(store.getId(), date), computedAt));
     }
     
     public Page<SaleResponse> getSales(String businessNumber, LocalDateTime startDate, 
                                      LocalDateTime endDate, Pageable pageable) {
         // 가맹점 존재 여부 검증
-        storeRepository.findByBusinessNumber(businessNumber)
+        StoreReference store = storeReferenceCache.get(businessNumber)
                 .orElseThrow(() -> new StoreNotFoundException(businessNumber));
         
         // 날짜 범위 검증
@@ -169,15 +428,18 @@ public class SalesService {
                     "조회 기간이 1년을 초과할 수 없습니다");
         }
         
-        Page<Sale> salesPage = saleRepository.findByBusinessNumberAndDateRange(
-                businessNumber, startDate, endDate, pageable);
+        // 종료 일시를 포함하도록 transaction_time(datetime(6)) 의 다음 단위 시각을 반열린 구간의 끝으로 사용하고,
+        // 가맹점 ID 로 조회 (stores 조인 없이 (store_id, transaction_time) 인덱스 사용)
+        LocalDateTime endExclusive = endDate.truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.MICROS);
+        Page<Sale> salesPage = saleRepository.findByStoreIdAndDateRange(
+                store.getId(), startDate, endExclusive, pageable);
         
-        return salesPage.map(this::convertToSaleResponse);
+        return salesPage.map(sale -> convertToSaleResponse(sale, store));
     }
     
     public MonthlyReportResponse getMonthlyReport(String businessNumber, YearMonth yearMonth) {
         // 가맹점 존재 여부 검증
-        storeRepository.findByBusinessNumber(businessNumber)
+        StoreReference store = storeReferenceCache.get(businessNumber)
                 .orElseThrow(() -> new StoreNotFoundException(businessNumber));
         
         // 조회 월 검증 (미래 월 불가)
@@ -185,63 +447,110 @@ public class SalesService {
             throw new InvalidRequestException("yearMonth", yearMonth, "미래 월은 조회할 수 없습니다");
         }
         
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-        
-        // 월별 총계 조회
-        Object[] monthlyTotal = saleRepository.findMonthlyTotalByBusinessNumberAndDateRange(
-                businessNumber, startDate, endDate);
-        
-        BigDecimal totalAmount = (BigDecimal) monthlyTotal[0];
-        Long totalCount = (Long) monthlyTotal[1];
-        BigDecimal totalFee = (BigDecimal) monthlyTotal[2];
-        BigDecimal totalNetAmount = (BigDecimal) monthlyTotal[3];
-        
-        // 일별 통계
-        List<Object[]> dailyStats = saleRepository.findDailyStatisticsByBusinessNumberAndDateRange(
-                businessNumber, startDate, endDate);
-        List<MonthlyReportResponse.DailyStatistic> dailyStatistics = dailyStats.stream()
-                .map(stat -> MonthlyReportResponse.DailyStatistic.builder()
-                        .day((Integer) stat[0])
-                        .amount((BigDecimal) stat[1])
-                        .count(((Long) stat[2]).intValue())
-                        .build())
-                .collect(Collectors.toList());
-        
-        // 결제수단별 통계
-        List<Object[]> paymentStats = saleRepository.findMonthlyPaymentTypeStatisticsByBusinessNumberAndDateRange(
-                businessNumber, startDate, endDate);
-        List<MonthlyReportResponse.PaymentTypeStatistic> paymentTypeStatistics = paymentStats.stream()
-                .map(stat -> MonthlyReportResponse.PaymentTypeStatistic.builder()
-                        .paymentType(((PaymentType) stat[0]).getDescription())
-                        .amount((BigDecimal) stat[1])
-                        .count(((Long) stat[2]).intValue())
-                        .fee((BigDecimal) stat[3])
-                        .netAmount((BigDecimal) stat[4])
-                        .build())
-                .collect(Collectors.toList());
-        
-        return MonthlyReportResponse.builder()
-                .yearMonth(yearMonth)
-                .totalAmount(totalAmount)
-                .totalCount(totalCount.intValue())
-                .totalFee(totalFee)
-                .totalNetAmount(totalNetAmount)
-                .dailyStatistics(dailyStatistics)
-                .paymentTypeStatistics(paymentTypeStatistics)
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.atEndOfMonth();
+        
+        // 일자 × 결제수단 단위 1회 조회로 합계·일별·결제수단별 통계를 함께 계산 (시간대별 집계 기준)
+        List<Object[]> rows = salesHourlyRollupRepository.findMonthlyReportRows(store.getId(), startDate, endDate);
+        return SalesReportFolder.foldMonthlyReport(yearMonth, rows);
+    }
+    
+    private void validateTransactionTime(SaleRequest request) {
+        if (request.getTransactionTime().isAfter(LocalDateTime.now().plusMinutes(5))) {
+            throw new InvalidRequestException("transactionTime", request.getTransactionTime(), 
+                    "거래시간이 현재시간보다 늦을 수 없습니다");
+        }
+    }
+    
+    private void validateStoreActive(StoreReference store) {
+        if (!store.isActive()) {
+            throw new InvalidRequestException("businessNumber", store.getBusinessNumber(), 
+                    "비활성화된 가맹점입니다");
+        }
+    }
+    
+    /**
+     * 단건 API의 @Valid 검증과 거래시간 검증을 동일하게 적용하고 첫 번째 위반 사유를 반환
+     */
+    private String findViolation(SaleRequest request) {
+        if (request == null) {
+            return "매출 데이터가 비어 있습니다";
+        }
+        
+        Set<ConstraintViolation<SaleRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(", "));
+        }
+        
+        try {
+            validateTransactionTime(request);
+        } catch (InvalidRequestException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+    
+    /**
+     * 가맹점은 id 참조(프록시)로만 연결하여 Store 엔티티를 조회하지 않음
+     */
+    private Sale buildSale(SaleRequest request, StoreReference store) {
+        // 수수료 계산
+        long feeStart = System.nanoTime();
+        BigDecimal fee = feePolicy.feeOf(request.getAmount(), request.getPaymentType(),
+                store.getCategory(), store.getId(), request.getTransactionTime().toLocalDate());
+        saleStageMetrics.record(SaleStageMetrics.Stage.FEE_CALCULATION, feeStart);
+        
+        // 순수익 계산
+        BigDecimal netAmount = request.getAmount().subtract(fee);
+        
+        return Sale.builder()
+                .store(storeRepository.getReferenceById(store.getId()))
+                .transactionTime(request.getTransactionTime())
+                .amount(request.getAmount())
+                .paymentType(request.getPaymentType())
+                .channel(request.getChannel())
+                .orderNumber(request.getOrderNumber())
+                .fee(fee)
+                .netAmount(netAmount)
+                .status(SaleStatus.COMPLETED)
                 .build();
     }
     
-    private BigDecimal calculateFee(BigDecimal amount, PaymentType paymentType) {
-        BigDecimal feeRate = paymentType == PaymentType.CARD ? CARD_FEE_RATE : CASH_FEE_RATE;
-        return amount.multiply(feeRate).setScale(2, RoundingMode.HALF_UP);
+    /**
+     * SQLState 23505 (표준 unique violation) 또는 MySQL ER_DUP_ENTRY(1062) 여부
+     */
+    private boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                return "23505".equals(sqlException.getSQLState()) || sqlException.getErrorCode() == 1062;
+            }
+        }
+        return false;
+    }
+    
+    private SaleBatchResponse.ItemResult itemResult(int index, SaleRequest request,
+                                                    SaleBatchResponse.ItemStatus status, String message) {
+        return SaleBatchResponse.ItemResult.builder()
+                .index(index)
+                .orderNumber(request != null ? request.getOrderNumber() : null)
+                .status(status)
+                .message(message)
+                .build();
     }
     
-    private SaleResponse convertToSaleResponse(Sale sale) {
+    private int countByStatus(List<SaleBatchResponse.ItemResult> results, SaleBatchResponse.ItemStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+    
+    private SaleResponse convertToSaleResponse(Sale sale, StoreReference store) {
         return SaleResponse.builder()
                 .id(sale.getId())
-                .businessNumber(sale.getStore().getBusinessNumber())
-                .storeName(sale.getStore().getStoreName())
+                .businessNumber(store.getBusinessNumber())
+                .storeName(store.getStoreName())
                 .transactionTime(sale.getTransactionTime())
                 .amount(sale.getAmount())
                 .paymentType(sale.getPaymentType())
@@ -252,4 +561,15 @@ public class SalesService {
                 .status(sale.getStatus())
                 .build();
     }
-}
\ No newline at end of file
+    
+    private static final class BatchInsert {
+        
+        private final SaleBatchResponse.ItemResult[] results;
+        private final List<Sale> savedSales;
+        
+        private BatchInsert(SaleBatchResponse.ItemResult[] results, List<Sale> savedSales) {
+            this.results = results;
+            this.savedSales = savedSales;
+        }
+    }
+}
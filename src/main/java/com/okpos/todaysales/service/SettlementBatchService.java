@@ -3,8 +3,12 @@ package com.okpos.todaysales.service;
 import com.okpos.todaysales.dto.SettlementEvent;
 import com.okpos.todaysales.entity.Sale;
 import com.okpos.todaysales.entity.Settlement;
+import com.okpos.todaysales.entity.SettlementAdjustment;
+import com.okpos.todaysales.entity.Store;
 import com.okpos.todaysales.entity.enums.SettlementStatus;
+import com.okpos.todaysales.event.EventPublisher;
 import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SettlementAdjustmentRepository;
 import com.okpos.todaysales.repository.SettlementRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,12 +16,11 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
 
 @Service
@@ -30,10 +33,13 @@ public class SettlementBatchService {
     private final RabbitTemplate rabbitTemplate;
     private final SettlementFailureService settlementFailureService;
     private final MetricsService metricsService;
+    private final EventPublisher eventPublisher;
+    private final FeePolicy feePolicy;
+    private final SettlementAdjustmentRepository settlementAdjustmentRepository;
+    private final SalesRollupService salesRollupService;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final BigDecimal FEE_RATE = new BigDecimal("0.03"); // 3% 수수료율
     private static final String SETTLEMENT_EXCHANGE = "sales.exchange";
-    private static final String SETTLEMENT_ROUTING_KEY = "sales.settlement";
     private static final String NOTIFICATION_ROUTING_KEY = "sales.notification";
 
     /**
@@ -78,7 +84,9 @@ public class SettlementBatchService {
         io.micrometer.core.instrument.Timer.Sample sample = metricsService.startSettlementTimer();
 
         try {
-            Settlement result = processSettlementInTransaction(settlementDate);
+            // 스케줄러에서 self-invocation 으로 호출되면 @Transactional 이 적용되지 않으므로 트랜잭션을 직접 연다
+            // (수동 정산처럼 이미 트랜잭션 안이면 참여)
+            Settlement result = transactionTemplate.execute(status -> processSettlementInTransaction(settlementDate));
 
             // 성공 메트릭 기록
             metricsService.recordSettlementCompleted(sample, result.getTransactionCount(), result.getTotalAmount());
@@ -122,10 +130,13 @@ public class SettlementBatchService {
 
         // 전일 미정산 매출 조회
             LocalDateTime startOfDay = settlementDate.atStartOfDay();
-            LocalDateTime endOfDay = settlementDate.atTime(LocalTime.MAX);
-            List<Sale> unsettledSales = saleRepository.findUnsettledSalesByDateRange(startOfDay, endOfDay);
+            LocalDateTime nextDay = settlementDate.plusDays(1).atStartOfDay();
+            List<Sale> unsettledSales = saleRepository.findUnsettledSalesByDateRange(startOfDay, nextDay);
 
-            if (unsettledSales.isEmpty()) {
+            // 이전 정산 이후 취소·환불된 매출의 조정
+            List<SettlementAdjustment> adjustments = settlementAdjustmentRepository.findPendingForUpdate();
+
+            if (unsettledSales.isEmpty() && adjustments.isEmpty()) {
                 log.info("정산할 매출이 없습니다: {}", settlementDate);
                 settlement.setStatus(SettlementStatus.COMPLETED);
                 settlement.setNote("No sales to settle");
@@ -135,23 +146,38 @@ public class SettlementBatchService {
 
             // 정산 계산
             BigDecimal totalAmount = BigDecimal.ZERO;
-            BigDecimal totalFee = BigDecimal.ZERO;
+            long totalFeeWon = 0;
             int transactionCount = 0;
 
             for (Sale sale : unsettledSales) {
-                // 수수료 계산
-                BigDecimal fee = calculateFee(sale.getAmount(), sale.getPaymentType().name());
+                // 수수료 계산 (원 단위, 매출일 기준 계약 수수료율)
+                Store store = sale.getStore();
+                long feeWon = feePolicy.feeOf(FeePolicy.toWon(sale.getAmount()), sale.getPaymentType(),
+                        store.getCategory(), store.getId(), sale.getTransactionTime().toLocalDate());
+                BigDecimal fee = FeePolicy.toAmount(feeWon);
+                BigDecimal previousFee = sale.getFee();
                 sale.setFee(fee);
                 sale.setNetAmount(sale.getAmount().subtract(fee));
                 sale.setSettlement(settlement);
                 sale.setIsSettled(true);
+                salesRollupService.adjustFee(sale, previousFee);
 
                 // 합계 계산
                 totalAmount = totalAmount.add(sale.getAmount());
-                totalFee = totalFee.add(fee);
+                totalFeeWon += feeWon;
                 transactionCount++;
             }
 
+            // 조정은 음수 금액·수수료로 합계에서 차감 (거래 건수에는 포함하지 않음)
+            LocalDateTime appliedAt = LocalDateTime.now();
+            for (SettlementAdjustment adjustment : adjustments) {
+                totalAmount = totalAmount.add(adjustment.getAmount());
+                totalFeeWon += FeePolicy.toWon(adjustment.getFee());
+                adjustment.setAppliedSettlementId(settlement.getId());
+                adjustment.setAppliedAt(appliedAt);
+            }
+            BigDecimal totalFee = FeePolicy.toAmount(totalFeeWon);
+
             // 정산 정보 업데이트
             settlement.setTotalAmount(totalAmount);
             settlement.setTotalFee(totalFee);
@@ -160,13 +186,17 @@ public class SettlementBatchService {
             settlement.setStatus(SettlementStatus.COMPLETED);
             settlement.setCompletedAt(LocalDateTime.now());
             settlement.getSales().addAll(unsettledSales);
+            if (!adjustments.isEmpty()) {
+                settlement.setNote(String.format("취소/환불 조정 %d건 반영", adjustments.size()));
+            }
 
             // 저장
             saleRepository.saveAll(unsettledSales);
+            settlementAdjustmentRepository.saveAll(adjustments);
             settlement = settlementRepository.save(settlement);
 
-            log.info("정산 완료 - 날짜: {}, 거래수: {}, 총액: {}, 수수료: {}, 순액: {}",
-                    settlementDate, transactionCount, totalAmount, totalFee, settlement.getNetAmount());
+            log.info("정산 완료 - 날짜: {}, 거래수: {}, 조정: {}건, 총액: {}, 수수료: {}, 순액: {}",
+                    settlementDate, transactionCount, adjustments.size(), totalAmount, totalFee, settlement.getNetAmount());
 
             // 정산 완료 이벤트 발행
             publishSettlementEvent(settlement, "COMPLETED");
@@ -176,34 +206,7 @@ public class SettlementBatchService {
 
 
     /**
-     * 수수료 계산
-     */
-    private BigDecimal calculateFee(BigDecimal amount, String paymentType) {
-        BigDecimal rate = FEE_RATE;
-
-        // 결제 유형별 수수료율 차등 적용
-        switch (paymentType) {
-            case "CARD":
-                rate = new BigDecimal("0.025"); // 2.5%
-                break;
-            case "CASH":
-                rate = BigDecimal.ZERO; // 0%
-                break;
-            case "TRANSFER":
-                rate = new BigDecimal("0.01"); // 1%
-                break;
-            case "POINT":
-                rate = new BigDecimal("0.02"); // 2%
-                break;
-            default:
-                rate = FEE_RATE; // 기본 3%
-        }
-
-        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
-    }
-
-    /**
-     * 정산 이벤트 발행
+     * 정산 이벤트 발행 (정산 트랜잭션과 함께 아웃박스에 기록)
      */
     private void publishSettlementEvent(Settlement settlement, String status) {
         SettlementEvent event = SettlementEvent.builder()
@@ -217,7 +220,7 @@ public class SettlementBatchService {
                 .processedAt(LocalDateTime.now())
                 .build();
 
-        rabbitTemplate.convertAndSend(SETTLEMENT_EXCHANGE, SETTLEMENT_ROUTING_KEY, event);
+        eventPublisher.publishSettlementEvent(event);
         log.info("정산 이벤트 발행: {}", event);
     }
 
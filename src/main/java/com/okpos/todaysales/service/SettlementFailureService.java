@@ -3,6 +3,7 @@ package com.okpos.todaysales.service;
 import com.okpos.todaysales.dto.SettlementEvent;
 import com.okpos.todaysales.entity.Settlement;
 import com.okpos.todaysales.entity.enums.SettlementStatus;
+import com.okpos.todaysales.event.EventPublisher;
 import com.okpos.todaysales.repository.SettlementRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,9 +23,9 @@ public class SettlementFailureService {
 
     private final SettlementRepository settlementRepository;
     private final RabbitTemplate rabbitTemplate;
+    private final EventPublisher eventPublisher;
 
     private static final String SETTLEMENT_EXCHANGE = "sales.exchange";
-    private static final String SETTLEMENT_ROUTING_KEY = "sales.settlement";
     private static final String NOTIFICATION_ROUTING_KEY = "sales.notification";
 
     /**
@@ -74,7 +75,7 @@ public class SettlementFailureService {
     }
 
     /**
-     * 정산 실패 이벤트 발행
+     * 정산 실패 이벤트 발행 (실패 기록과 함께 아웃박스에 기록)
      */
     private void publishFailureEvent(Settlement settlement) {
         try {
@@ -90,7 +91,7 @@ public class SettlementFailureService {
                     .processedAt(LocalDateTime.now())
                     .build();
 
-            rabbitTemplate.convertAndSend(SETTLEMENT_EXCHANGE, SETTLEMENT_ROUTING_KEY, event);
+            eventPublisher.publishSettlementEvent(event);
             log.info("정산 실패 이벤트 발행 완료: {}", event);
 
         } catch (Exception e) {
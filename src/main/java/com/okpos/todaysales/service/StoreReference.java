@@ -0,0 +1,40 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.entity.enums.StoreStatus;
+import lombok.Getter;
+
+/**
+ * 매출 처리 경로에서 필요한 가맹점 정보의 불변 스냅샷
+ */
+@Getter
+public final class StoreReference {
+
+    private final Long id;
+    private final String businessNumber;
+    private final String storeName;
+    private final StoreCategory category;
+    private final StoreStatus status;
+    /** 스냅샷을 읽은 시각 (System.nanoTime) */
+    private final long loadedAt;
+
+    private StoreReference(Long id, String businessNumber, String storeName, StoreCategory category,
+                           StoreStatus status, long loadedAt) {
+        this.id = id;
+        this.businessNumber = businessNumber;
+        this.storeName = storeName;
+        this.category = category;
+        this.status = status;
+        this.loadedAt = loadedAt;
+    }
+
+    public static StoreReference from(Store store) {
+        return new StoreReference(store.getId(), store.getBusinessNumber(), store.getStoreName(),
+                store.getCategory(), store.getStatus(), System.nanoTime());
+    }
+
+    public boolean isActive() {
+        return status == StoreStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,165 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.event.StoreChangedEvent;
+import com.okpos.todaysales.repository.StoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사업자번호별 가맹점 스냅샷 캐시
+ *
+ * 매출 등록/조회 요청마다 수행하던 가맹점 조회를 메모리 조회로 대체한다.
+ * 가맹점이 변경되면 엔티티 리스너가 발행한 {@link StoreChangedEvent} 로 해당 항목을 무효화하며,
+ * 무효화 버전을 두어 DB 조회 도중 무효화된 경우 조회 결과(이전 값일 수 있음)를 캐시에 넣지 않는다.
+ * 다른 노드나 DB 에서 직접 변경된 경우를 위해 ttl-seconds 가 지난 스냅샷은 다시 조회한다.
+ */
+@Slf4j
+@Component
+public class StoreReferenceCache {
+
+    private final StoreRepository storeRepository;
+    private final long ttlNanos;
+
+    private final Map<String, StoreReference> references = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public StoreReferenceCache(StoreRepository storeRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${sales.store-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.storeRepository = storeRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+        this.hitCounter = Counter.builder("sales.store_cache.requests")
+                .tag("result", "hit")
+                .description("Store reference cache lookups")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("sales.store_cache.requests")
+                .tag("result", "miss")
+                .description("Store reference cache lookups")
+                .register(meterRegistry);
+        Gauge.builder("sales.store_cache.size", references, Map::size)
+                .description("Store snapshots held in memory")
+                .register(meterRegistry);
+    }
+
+    public Optional<StoreReference> get(String businessNumber) {
+        StoreReference reference = cached(businessNumber);
+        if (reference != null) {
+            hitCounter.increment();
+            return Optional.of(reference);
+        }
+        missCounter.increment();
+
+        long loadVersion = version.get();
+        Optional<StoreReference> loaded = storeRepository.findByBusinessNumber(businessNumber)
+                .map(StoreReference::from);
+        loaded.ifPresent(value -> cache(value, loadVersion));
+        return loaded;
+    }
+
+    /**
+     * 여러 사업자번호를 조회하고, 캐시에 없는 가맹점은 IN 쿼리 1회로 조회 (존재하지 않는 가맹점은 결과에서 제외)
+     */
+    public Map<String, StoreReference> getAll(Collection<String> businessNumbers) {
+        Map<String, StoreReference> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String businessNumber : businessNumbers) {
+            StoreReference reference = cached(businessNumber);
+            if (reference != null) {
+                result.put(businessNumber, reference);
+            } else {
+                missing.add(businessNumber);
+            }
+        }
+        hitCounter.increment(result.size());
+        missCounter.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            long loadVersion = version.get();
+            for (Store store : storeRepository.findByBusinessNumberIn(missing)) {
+                StoreReference reference = StoreReference.from(store);
+                cache(reference, loadVersion);
+                result.put(reference.getBusinessNumber(), reference);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 가맹점 엔티티 변경 시 무효화
+     *
+     * 변경 직후와 트랜잭션 종료 후 두 번 무효화하여, 커밋 전에 다른 트랜잭션이 이전 값을 다시 캐시한 경우도 제거한다.
+     */
+    @EventListener
+    public void onStoreChanged(StoreChangedEvent event) {
+        Long storeId = event.getStoreId();
+        String businessNumber = event.getBusinessNumber();
+        invalidate(storeId, businessNumber);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(storeId, businessNumber);
+                }
+            });
+        }
+    }
+
+    /**
+     * 가맹점 항목 무효화 (사업자번호가 변경된 경우를 위해 같은 id 의 항목도 함께 제거)
+     */
+    public void invalidate(Long storeId, String businessNumber) {
+        version.incrementAndGet();
+        references.remove(businessNumber);
+        if (storeId != null) {
+            references.values().removeIf(reference -> storeId.equals(reference.getId()));
+        }
+        log.debug("가맹점 캐시 무효화: storeId={}, businessNumber={}", storeId, businessNumber);
+    }
+
+    public void invalidateAll() {
+        version.incrementAndGet();
+        references.clear();
+    }
+
+    private StoreReference cached(String businessNumber) {
+        StoreReference reference = references.get(businessNumber);
+        if (reference == null) {
+            return null;
+        }
+        if (System.nanoTime() - reference.getLoadedAt() > ttlNanos) {
+            references.remove(businessNumber, reference);
+            return null;
+        }
+        return reference;
+    }
+
+    private void cache(StoreReference reference, long loadVersion) {
+        // 조회 도중 무효화가 발생했다면 이전 값일 수 있으므로 캐시하지 않음
+        if (version.get() == loadVersion) {
+            references.put(reference.getBusinessNumber(), reference);
+        }
+    }
+}
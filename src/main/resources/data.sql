@@ -1,3 +1,10 @@
 -- 테스트용 Store 데이터
 INSERT IGNORE INTO stores (business_number, store_name, owner_name, phone_number, address, category, status, created_at, updated_at) 
-VALUES ('123-45-67890', '테스트 카페', '김영희', '02-1234-5678', '서울시 강남구 테헤란로 123', 'CAFE', 'ACTIVE', NOW(), NOW());
\ No newline at end of file
+VALUES ('123-45-67890', '테스트 카페', '김영희', '02-1234-5678', '서울시 강남구 테헤란로 123', 'CAFE', 'ACTIVE', NOW(), NOW());
+
+-- ID 시퀀스 초기값 (기존 AUTO_INCREMENT 로 생성된 데이터 이후부터 발급)
+INSERT IGNORE INTO id_sequences (sequence_name, next_val)
+SELECT 'sales', COALESCE(MAX(id), 0) + 1 FROM sales;
+
+INSERT IGNORE INTO id_sequences (sequence_name, next_val)
+SELECT 'settlements', COALESCE(MAX(id), 0) + 1 FROM settlements;
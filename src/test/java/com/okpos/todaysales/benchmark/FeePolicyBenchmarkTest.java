@@ -0,0 +1,128 @@
+package com.okpos.todaysales.benchmark;
+
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.service.FeePolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수수료 계산 JMH 벤치마크 (ns/op, gc.alloc.rate.norm = bytes/op)
+ *
+ * "legacySettlement" 는 기존 SettlementBatchService 의 결제수단명 switch + 건별 BigDecimal 생성 방식,
+ * "legacyIngestion" 은 기존 SalesService 의 BigDecimal 곱셈 방식, "feePolicy" 는 원 단위 long 과
+ * basis point 테이블을 사용하는 {@link FeePolicy} 를 측정한다.
+ *
+ * 실행: mvn test -Dtest=FeePolicyBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeePolicyBenchmarkTest {
+
+    private static final int SAMPLES = 1024;
+    private static final BigDecimal LEGACY_DEFAULT_RATE = new BigDecimal("0.03");
+    private static final BigDecimal LEGACY_CARD_RATE = new BigDecimal("0.025");
+
+    private final FeePolicy feePolicy = new FeePolicy();
+    private BigDecimal[] amounts;
+    private long[] amountsWon;
+    private PaymentType[] paymentTypes;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        PaymentType[] types = PaymentType.values();
+        amounts = new BigDecimal[SAMPLES];
+        amountsWon = new long[SAMPLES];
+        paymentTypes = new PaymentType[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long won = 1_000 + random.nextInt(500_000);
+            amountsWon[i] = won;
+            amounts[i] = BigDecimal.valueOf(won).setScale(2);
+            paymentTypes[i] = types[random.nextInt(types.length)];
+        }
+    }
+
+    @Benchmark
+    public BigDecimal legacySettlement() {
+        int i = next();
+        return legacySettlementFee(amounts[i], paymentTypes[i].name());
+    }
+
+    @Benchmark
+    public BigDecimal legacyIngestion() {
+        int i = next();
+        BigDecimal rate = paymentTypes[i] == PaymentType.CARD ? LEGACY_CARD_RATE : BigDecimal.ZERO;
+        return amounts[i].multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long feePolicy() {
+        int i = next();
+        return feePolicy.feeOf(amountsWon[i], paymentTypes[i]);
+    }
+
+    @Test
+    @DisplayName("기존 BigDecimal 계산 대비 FeePolicy 의 ns/op 와 할당량")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FeePolicyBenchmarkTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+
+    /**
+     * 기존 SettlementBatchService.calculateFee
+     */
+    private static BigDecimal legacySettlementFee(BigDecimal amount, String paymentType) {
+        BigDecimal rate;
+        switch (paymentType) {
+            case "CARD":
+                rate = new BigDecimal("0.025");
+                break;
+            case "CASH":
+                rate = BigDecimal.ZERO;
+                break;
+            case "TRANSFER":
+                rate = new BigDecimal("0.01");
+                break;
+            case "POINT":
+                rate = new BigDecimal("0.02");
+                break;
+            default:
+                rate = LEGACY_DEFAULT_RATE;
+        }
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,153 @@
+package com.okpos.todaysales.benchmark;
+
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.Settlement;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.*;
+import com.okpos.todaysales.integration.BaseIntegrationTest;
+import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SettlementRepository;
+import com.okpos.todaysales.repository.StoreRepository;
+import com.okpos.todaysales.service.SettlementBatchService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sale/Settlement 쓰기 처리량 벤치마크 (100k INSERT, 100k 정산 UPDATE)
+ *
+ * "row-by-row" 모드는 세션 JDBC 배치 크기를 1로 강제하여 기존 IDENTITY 전략과 같은 건별 실행을 재현하고,
+ * "batched" 모드는 application.yml 의 배치 설정을 그대로 사용한다.
+ *
+ * 실행: mvn test -Dtest=JdbcBatchingBenchmarkTest -Dbenchmark=true
+ */
+@DisplayName("JDBC 배치 처리량 벤치마크")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JdbcBatchingBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private SettlementRepository settlementRepository;
+
+    @Autowired
+    private SettlementBatchService settlementBatchService;
+
+    private TransactionTemplate transactionTemplate;
+    private Long storeId;
+
+    @BeforeAll
+    void setUpStore() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        settlementRepository.deleteAll();
+        saleRepository.deleteAllInBatch();
+        storeRepository.deleteAll();
+
+        Store store = storeRepository.save(Store.builder()
+                .businessNumber("555-55-55555")
+                .storeName("벤치마크 매장")
+                .ownerName("벤치마크")
+                .phoneNumber("010-0000-0000")
+                .address("서울시 중구")
+                .category(StoreCategory.RESTAURANT)
+                .status(StoreStatus.ACTIVE)
+                .build());
+        storeId = store.getId();
+    }
+
+    @Test
+    @DisplayName("row-by-row 대비 batched INSERT/UPDATE 처리량")
+    void compareThroughput() {
+        LocalDate rowByRowDate = LocalDate.now().minusDays(20);
+        LocalDate batchedDate = LocalDate.now().minusDays(10);
+
+        double rowByRowInsert = insertSales(rowByRowDate, "RBR", 1);
+        double batchedInsert = insertSales(batchedDate, "BAT", null);
+
+        double rowByRowUpdate = settle(rowByRowDate, 1);
+        double batchedUpdate = settle(batchedDate, null);
+
+        System.out.printf("%n=== JDBC batching benchmark (%d rows) ===%n", ROWS);
+        System.out.printf("INSERT  row-by-row: %,10.0f rows/s | batched: %,10.0f rows/s%n", rowByRowInsert, batchedInsert);
+        System.out.printf("UPDATE  row-by-row: %,10.0f rows/s | batched: %,10.0f rows/s%n", rowByRowUpdate, batchedUpdate);
+
+        assertThat(saleRepository.count()).isEqualTo(ROWS * 2L);
+    }
+
+    private double insertSales(LocalDate date, String prefix, Integer jdbcBatchSize) {
+        long start = System.nanoTime();
+
+        for (int chunkStart = 0; chunkStart < ROWS; chunkStart += CHUNK_SIZE) {
+            int from = chunkStart;
+            transactionTemplate.executeWithoutResult(status -> {
+                applyBatchSize(jdbcBatchSize);
+                Store store = entityManager.getReference(Store.class, storeId);
+                for (int i = from; i < from + CHUNK_SIZE; i++) {
+                    entityManager.persist(Sale.builder()
+                            .store(store)
+                            .transactionTime(date.atTime(12, 0).plusSeconds(i % 3600))
+                            .amount(new BigDecimal("10000"))
+                            .paymentType(PaymentType.values()[i % PaymentType.values().length])
+                            .channel(SaleChannel.OFFLINE)
+                            .orderNumber(prefix + "-" + i)
+                            .fee(BigDecimal.ZERO)
+                            .netAmount(new BigDecimal("10000"))
+                            .status(SaleStatus.COMPLETED)
+                            .build());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        return rowsPerSecond(start);
+    }
+
+    private double settle(LocalDate date, Integer jdbcBatchSize) {
+        long start = System.nanoTime();
+
+        Settlement settlement = transactionTemplate.execute(status -> {
+            applyBatchSize(jdbcBatchSize);
+            return settlementBatchService.processSettlementInTransaction(date);
+        });
+
+        assertThat(settlement).isNotNull();
+        assertThat(settlement.getTransactionCount()).isEqualTo(ROWS);
+        return rowsPerSecond(start);
+    }
+
+    private void applyBatchSize(Integer jdbcBatchSize) {
+        if (jdbcBatchSize != null) {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        }
+    }
+
+    private double rowsPerSecond(long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return ROWS / seconds;
+    }
+}
@@ -0,0 +1,161 @@
+package com.okpos.todaysales.benchmark;
+
+import com.okpos.todaysales.config.RabbitMQConfig;
+import com.okpos.todaysales.event.SaleCreatedEvent;
+import com.okpos.todaysales.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SaleCreatedEvent 발행 처리량 벤치마크 (2,000 sales/s 부하)
+ *
+ * "publish-twice" 모드는 기존 방식대로 sales.created / sales.notification 으로 이벤트를 두 번 직렬화·발행하고,
+ * "publish-once" 모드는 notification.queue 를 sales.created 에도 바인딩한 토폴로지에서 한 번만 발행한다.
+ * 두 모드 모두 CORRELATED publisher confirm 을 받은 시점까지를 측정한다.
+ *
+ * 실행: mvn test -Dtest=SaleEventRoutingBenchmarkTest -Dbenchmark=true
+ */
+@DisplayName("매출 이벤트 라우팅 처리량 벤치마크")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = "sales.outbox.relay-enabled=false")
+class SaleEventRoutingBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int SALES_PER_SECOND = 2_000;
+    private static final int DURATION_SECONDS = 5;
+    private static final int SALES = SALES_PER_SECOND * DURATION_SECONDS;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private RabbitAdmin rabbitAdmin;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    @Qualifier("notificationSaleCreatedBinding")
+    private Binding notificationSaleCreatedBinding;
+
+    @BeforeAll
+    void stopListeners() {
+        // 소비 속도가 측정에 영향을 주지 않도록 리스너 중지
+        listenerRegistry.stop();
+    }
+
+    @AfterAll
+    void restoreTopology() {
+        rabbitAdmin.declareBinding(notificationSaleCreatedBinding);
+        listenerRegistry.start();
+    }
+
+    @Test
+    @DisplayName("두 번 발행 대비 한 번 발행 처리량과 confirm 지연")
+    void compareThroughput() throws Exception {
+        rabbitAdmin.removeBinding(notificationSaleCreatedBinding);
+        purgeQueues();
+        Result twice = run(true);
+
+        rabbitAdmin.declareBinding(notificationSaleCreatedBinding);
+        purgeQueues();
+        Result once = run(false);
+
+        System.out.printf("%n=== SaleCreatedEvent routing benchmark (%,d sales @ %,d sales/s) ===%n",
+                SALES, SALES_PER_SECOND);
+        System.out.printf("publish-twice: %,8.0f sales/s | %,6d publishes | confirm p50 %6.2f ms, p99 %6.2f ms%n",
+                twice.salesPerSecond, twice.publishes, twice.p50Millis, twice.p99Millis);
+        System.out.printf("publish-once : %,8.0f sales/s | %,6d publishes | confirm p50 %6.2f ms, p99 %6.2f ms%n",
+                once.salesPerSecond, once.publishes, once.p50Millis, once.p99Millis);
+
+        assertThat(once.publishes).isEqualTo(SALES);
+        assertThat(rabbitAdmin.getQueueInfo(RabbitMQConfig.NOTIFICATION_QUEUE).getMessageCount()).isPositive();
+        assertThat(rabbitAdmin.getQueueInfo(RabbitMQConfig.SALES_QUEUE).getMessageCount()).isPositive();
+    }
+
+    private Result run(boolean publishTwice) throws Exception {
+        List<CorrelationData> correlations = new ArrayList<>(SALES * 2);
+        long[] sentAt = new long[SALES * 2];
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / SALES_PER_SECOND;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SALES; i++) {
+            // 고정 속도 부하 (밀린 경우 대기 없이 바로 발행)
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            SaleCreatedEvent event = event(i);
+            sentAt[correlations.size()] = System.nanoTime();
+            correlations.add(send(RabbitMQConfig.SALES_ROUTING_KEY, event));
+            if (publishTwice) {
+                sentAt[correlations.size()] = System.nanoTime();
+                correlations.add(send(RabbitMQConfig.NOTIFICATION_ROUTING_KEY, event));
+            }
+        }
+
+        double[] latencies = new double[correlations.size()];
+        for (int i = 0; i < correlations.size(); i++) {
+            CorrelationData.Confirm confirm = correlations.get(i).getFuture().get(30, TimeUnit.SECONDS);
+            assertThat(confirm.isAck()).isTrue();
+            latencies[i] = (System.nanoTime() - sentAt[i]) / 1_000_000.0;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        return new Result(SALES / seconds, correlations.size(),
+                latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99)]);
+    }
+
+    private CorrelationData send(String routingKey, SaleCreatedEvent event) {
+        CorrelationData correlation = new CorrelationData();
+        rabbitTemplate.convertAndSend(RabbitMQConfig.SALES_EXCHANGE, routingKey, event, correlation);
+        return correlation;
+    }
+
+    private SaleCreatedEvent event(int i) {
+        return SaleCreatedEvent.from((long) i, 1L, "벤치마크 매장", "POS-001", "BENCH-" + i,
+                new BigDecimal("10000"), "CARD", "COMPLETED", LocalDateTime.now(), "SYSTEM");
+    }
+
+    private void purgeQueues() {
+        rabbitAdmin.purgeQueue(RabbitMQConfig.SALES_QUEUE, false);
+        rabbitAdmin.purgeQueue(RabbitMQConfig.NOTIFICATION_QUEUE, false);
+    }
+
+    private static final class Result {
+        private final double salesPerSecond;
+        private final int publishes;
+        private final double p50Millis;
+        private final double p99Millis;
+
+        private Result(double salesPerSecond, int publishes, double p50Millis, double p99Millis) {
+            this.salesPerSecond = salesPerSecond;
+            this.publishes = publishes;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.okpos.todaysales.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매출 요청 본문 JSON / CBOR 크기와 역직렬화 비용 비교 JMH 벤치마크 (ns/op, gc.alloc.rate.norm = bytes/op)
+ *
+ * 단건 웹훅 본문(single*)과 1000건 일괄 본문(batch*)을 각각 SaleRequest 로 읽는 비용을 측정하며,
+ * 실행 전에 두 형식의 본문 크기를 출력한다.
+ *
+ * 실행: mvn test -Dtest=SaleRequestCodecBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaleRequestCodecBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final TypeReference<List<SaleRequest>> BATCH_TYPE = new TypeReference<List<SaleRequest>>() { };
+
+    private ObjectReader jsonReader;
+    private ObjectReader cborReader;
+    private ObjectReader jsonBatchReader;
+    private ObjectReader cborBatchReader;
+
+    private byte[] singleJson;
+    private byte[] singleCbor;
+    private byte[] batchJson;
+    private byte[] batchCbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        jsonReader = jsonMapper.readerFor(SaleRequest.class);
+        cborReader = cborMapper.readerFor(SaleRequest.class);
+        jsonBatchReader = jsonMapper.readerFor(BATCH_TYPE);
+        cborBatchReader = cborMapper.readerFor(BATCH_TYPE);
+
+        List<SaleRequest> batch = sampleRequests();
+        singleJson = jsonMapper.writeValueAsBytes(batch.get(0));
+        singleCbor = cborMapper.writeValueAsBytes(batch.get(0));
+        batchJson = jsonMapper.writeValueAsBytes(batch);
+        batchCbor = cborMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public SaleRequest singleJson() throws IOException {
+        return jsonReader.readValue(singleJson);
+    }
+
+    @Benchmark
+    public SaleRequest singleCbor() throws IOException {
+        return cborReader.readValue(singleCbor);
+    }
+
+    @Benchmark
+    public List<SaleRequest> batchJson() throws IOException {
+        return jsonBatchReader.readValue(batchJson);
+    }
+
+    @Benchmark
+    public List<SaleRequest> batchCbor() throws IOException {
+        return cborBatchReader.readValue(batchCbor);
+    }
+
+    @Test
+    @DisplayName("JSON 대비 CBOR 본문의 크기와 역직렬화 ns/op, 할당량")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws IOException, RunnerException {
+        setUp();
+        System.out.printf("본문 크기 - 단건: JSON %d B, CBOR %d B (%.1f%%)%n",
+                singleJson.length, singleCbor.length, 100.0 * singleCbor.length / singleJson.length);
+        System.out.printf("본문 크기 - %d건: JSON %d B, CBOR %d B (%.1f%%)%n",
+                BATCH_SIZE, batchJson.length, batchCbor.length, 100.0 * batchCbor.length / batchJson.length);
+
+        new Runner(new OptionsBuilder()
+                .include(SaleRequestCodecBenchmarkTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private static List<SaleRequest> sampleRequests() {
+        PaymentType[] paymentTypes = PaymentType.values();
+        SaleChannel[] channels = SaleChannel.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 15, 9, 0);
+        List<SaleRequest> requests = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            requests.add(SaleRequest.builder()
+                    .businessNumber(String.format("123-45-%05d", i % 100))
+                    .transactionTime(base.plusSeconds(i * 37L))
+                    .amount(BigDecimal.valueOf(1_000 + (i * 7919L) % 200_000))
+                    .paymentType(paymentTypes[i % paymentTypes.length])
+                    .channel(channels[i % channels.length])
+                    .orderNumber(String.format("ORDER-20240115-%06d", i))
+                    .build());
+        }
+        return requests;
+    }
+}
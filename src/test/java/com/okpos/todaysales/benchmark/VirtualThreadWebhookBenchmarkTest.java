@@ -0,0 +1,189 @@
+package com.okpos.todaysales.benchmark;
+
+import com.okpos.todaysales.config.VirtualThreadSupport;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.entity.enums.StoreStatus;
+import com.okpos.todaysales.integration.BaseIntegrationTest;
+import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 웹훅 동시 접속 부하 벤치마크 (동시 클라이언트 500 / 2,000)
+ *
+ * 각 클라이언트는 응답을 받는 즉시 다음 매출을 전송하는 closed-loop 방식으로 동작하며,
+ * 구간마다 처리량(건/s)과 응답 지연 p50/p99 를 출력한다. 스레드 실행 모드는 시스템 프로퍼티로 전환하여
+ * 같은 조건에서 두 번 실행한 결과를 비교한다 (virtual 모드는 JDK 21 이상에서 실행).
+ * 처리율 제한과 부하 차단은 측정 대상이 아니므로 비활성화한다.
+ *
+ * 실행: mvn test -Dtest=VirtualThreadWebhookBenchmarkTest -Dbenchmark=true -Dsales.threads.mode=platform
+ *       mvn test -Dtest=VirtualThreadWebhookBenchmarkTest -Dbenchmark=true -Dsales.threads.mode=virtual
+ */
+@DisplayName("가상 스레드 웹훅 부하 벤치마크")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "sales.outbox.relay-enabled=false",
+        "sales.rate-limit.enabled=false",
+        "sales.load-shedding.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.okpos.todaysales=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class VirtualThreadWebhookBenchmarkTest extends BaseIntegrationTest {
+
+    private static final String BUSINESS_NUMBER = "777-77-77777";
+    private static final int[] CONCURRENCY_LEVELS = {500, 2_000};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private VirtualThreadSupport virtualThreadSupport;
+
+    private final AtomicLong orderSequence = new AtomicLong();
+    private HttpClient httpClient;
+    private URI webhookUri;
+
+    @BeforeAll
+    void setUp() {
+        saleRepository.deleteAllInBatch();
+        storeRepository.findByBusinessNumber(BUSINESS_NUMBER).orElseGet(() -> storeRepository.save(Store.builder()
+                .businessNumber(BUSINESS_NUMBER)
+                .storeName("벤치마크 매장")
+                .ownerName("벤치마크")
+                .phoneNumber("010-0000-0000")
+                .address("서울시 중구")
+                .category(StoreCategory.RESTAURANT)
+                .status(StoreStatus.ACTIVE)
+                .build()));
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        webhookUri = URI.create("http://localhost:" + port + "/api/v1/sales/webhook");
+    }
+
+    @Test
+    @DisplayName("동시 클라이언트 수별 처리량과 p99 응답 지연")
+    void webhookUnderConcurrency() throws Exception {
+        String mode = virtualThreadSupport.isEnabled() ? "virtual" : "platform";
+        System.out.printf("%n=== Webhook concurrency benchmark (mode=%s, JDK %s) ===%n", mode, Runtime.version());
+
+        for (int clients : CONCURRENCY_LEVELS) {
+            run(clients, WARMUP);
+            Result result = run(clients, MEASUREMENT);
+
+            System.out.printf("%-8s %,5d clients: %,8.0f req/s | p50 %7.2f ms, p99 %7.2f ms | errors %,d%n",
+                    mode, clients, result.requestsPerSecond, result.p50Millis, result.p99Millis, result.errors);
+
+            assertThat(result.completed).isPositive();
+        }
+    }
+
+    private Result run(int clients, Duration duration) throws InterruptedException {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        for (int i = 0; i < clients; i++) {
+            send(deadline, latencies, errors, done);
+        }
+        assertThat(done.await(duration.getSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(sorted.length, errors.get(), sorted.length / seconds,
+                percentile(sorted, 0.5), percentile(sorted, 0.99));
+    }
+
+    /**
+     * 응답을 받으면 deadline 전까지 같은 클라이언트로 다음 요청을 전송
+     */
+    private void send(long deadline, ConcurrentLinkedQueue<Long> latencies, AtomicInteger errors, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+
+        long sentAt = System.nanoTime();
+        httpClient.sendAsync(request(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (failure == null && response.statusCode() == 201) {
+                        latencies.add(System.nanoTime() - sentAt);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                    send(deadline, latencies, errors, done);
+                });
+    }
+
+    private HttpRequest request() {
+        String body = String.format(
+                "{\"businessNumber\":\"%s\",\"transactionTime\":\"%s\",\"amount\":10000," +
+                        "\"paymentType\":\"CARD\",\"channel\":\"ONLINE\",\"orderNumber\":\"VT-%d\"}",
+                BUSINESS_NUMBER, LocalDateTime.now().withNano(0), orderSequence.incrementAndGet());
+        return HttpRequest.newBuilder(webhookUri)
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1_000_000.0;
+    }
+
+    private static final class Result {
+        private final int completed;
+        private final int errors;
+        private final double requestsPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+
+        private Result(int completed, int errors, double requestsPerSecond, double p50Millis, double p99Millis) {
+            this.completed = completed;
+            this.errors = errors;
+            this.requestsPerSecond = requestsPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+        }
+    }
+}
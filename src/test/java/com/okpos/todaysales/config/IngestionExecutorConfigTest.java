@@ -0,0 +1,53 @@
+package com.okpos.todaysales.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestionExecutorConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("스레드와 대기열이 모두 차면 작업을 거절하고 거절 건수와 대기열 크기를 기록")
+    void rejectWhenQueueFull() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new IngestionExecutorConfig().ingestionExecutor(meterRegistry, 1, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(() -> awaitQuietly(release));
+
+            assertThatThrownBy(() -> executor.execute(() -> { }))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            assertThat(meterRegistry.get("sales.ingestion.executor.rejected").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("sales.ingestion.executor.queue").gauge().value()).isEqualTo(1);
+            assertThat(meterRegistry.get("sales.ingestion.executor.queue.remaining").gauge().value()).isZero();
+            assertThat(meterRegistry.get("sales.ingestion.executor.active").gauge().value()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.okpos.todaysales.controller;
+
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.exception.GlobalExceptionHandler;
+import com.okpos.todaysales.exception.ServiceOverloadedException;
+import com.okpos.todaysales.journal.SaleJournal;
+import com.okpos.todaysales.ratelimit.StoreRateLimiter;
+import com.okpos.todaysales.service.SaleImportService;
+import com.okpos.todaysales.service.SalesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class SalesControllerTest {
+
+    private static final String SALE_JSON = "{\"businessNumber\":\"123-45-67890\"," +
+            "\"transactionTime\":\"2024-01-15T14:30:00\",\"amount\":25000,\"paymentType\":\"CARD\"," +
+            "\"channel\":\"ONLINE\",\"orderNumber\":\"ORDER-001\"}";
+
+    @Mock
+    private SalesService salesService;
+
+    @Mock
+    private SaleJournal saleJournal;
+
+    @Mock
+    private SaleImportService saleImportService;
+
+    @Mock
+    private StoreRateLimiter storeRateLimiter;
+
+    private ThreadPoolTaskExecutor ingestionExecutor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ingestionExecutor = new ThreadPoolTaskExecutor();
+        ingestionExecutor.setCorePoolSize(1);
+        ingestionExecutor.initialize();
+        SalesController controller = new SalesController(salesService, saleJournal, saleImportService,
+                storeRateLimiter, ingestionExecutor);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestionExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("그룹 커밋 대기 시간이 초과되면 500 이 아니라 Retry-After 를 포함한 503 으로 응답")
+    void coalescerTimeoutReturnsServiceUnavailable() throws Exception {
+        when(salesService.createSale(any(SaleRequest.class)))
+                .thenThrow(new ServiceOverloadedException("coalescer_timeout", 1));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/sales/webhook")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SALE_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"))
+                .andExpect(jsonPath("$.additionalData.reason").value("coalescer_timeout"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.okpos.todaysales.event;
+
+import com.okpos.todaysales.entity.OutboxEvent;
+import com.okpos.todaysales.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay relay;
+
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        relay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionTemplate,
+                new SimpleMeterRegistry(), true, 10, 100, 30_000);
+    }
+
+    @Test
+    @DisplayName("ack 를 받은 레코드만 삭제하고 nack 레코드는 남겨 다음 주기에 재발행")
+    void deleteOnlyConfirmed() {
+        when(outboxEventRepository.lockOldest(eq(10), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(outboxEvent(1L), outboxEvent(2L)));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = !"2".equals(correlation.getId());
+            correlation.getFuture().set(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        verify(outboxEventRepository).deleteByIdIn(Collections.singletonList(1L));
+        verify(outboxEventRepository).claim(Collections.singletonList(2L), null);
+    }
+
+    @Test
+    @DisplayName("confirm 이 오지 않으면 삭제하지 않고 점유만 해제")
+    void keepUnconfirmedOnTimeout() {
+        when(outboxEventRepository.lockOldest(eq(10), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(outboxEvent(1L)));
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+        verify(outboxEventRepository).claim(Collections.singletonList(1L), null);
+    }
+
+    @Test
+    @DisplayName("잠근 레코드는 점유 표시 후 커밋하고, 발행과 confirm 대기는 트랜잭션 밖에서 한 뒤 삭제는 별도 트랜잭션")
+    void publishOutsideLockingTransaction() {
+        when(outboxEventRepository.lockOldest(eq(10), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(outboxEvent(1L)));
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().set(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        when(outboxEventRepository.deleteByIdIn(any())).thenAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            return 1;
+        });
+
+        relay.relay();
+
+        ArgumentCaptor<LocalDateTime> claimedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).claim(eq(Collections.singletonList(1L)), claimedUntil.capture());
+        assertThat(claimedUntil.getValue()).isAfter(LocalDateTime.now().plusSeconds(20));
+        verify(outboxEventRepository).deleteByIdIn(Collections.singletonList(1L));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("발행 메시지에 소비자 역직렬화용 타입 헤더를 포함")
+    void messageCarriesTypeHeader() {
+        when(outboxEventRepository.lockOldest(eq(10), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(outboxEvent(1L)));
+        doAnswer(invocation -> {
+            Message message = invocation.getArgument(2);
+            assertThat(message.getMessageProperties().getHeaders())
+                    .containsEntry("__TypeId__", SaleCreatedEvent.class.getName());
+            assertThat(new String(message.getBody())).isEqualTo("{\"saleId\":1}");
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().set(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(eq("sales.exchange"), eq("sales.created"), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        verify(outboxEventRepository).deleteByIdIn(Collections.singletonList(1L));
+    }
+
+    private OutboxEvent outboxEvent(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .exchange("sales.exchange")
+                .routingKey("sales.created")
+                .eventType(SaleCreatedEvent.class.getName())
+                .payload("{\"saleId\":" + id + "}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.okpos.todaysales.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.entity.enums.StoreStatus;
+import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 웹훅 재전송 멱등성 통합 테스트
+ */
+@DisplayName("웹훅 멱등성 통합 테스트")
+@TestPropertySource(properties = "sales.rate-limit.enabled=false")
+class IdempotentWebhookIntegrationTest extends BaseIntegrationTest {
+
+    private static final String BUSINESS_NUMBER = "222-33-44444";
+    private static final int RETRIES = 50;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (storeRepository.findByBusinessNumber(BUSINESS_NUMBER).isEmpty()) {
+            storeRepository.save(Store.builder()
+                    .businessNumber(BUSINESS_NUMBER)
+                    .storeName("멱등성 테스트 매장")
+                    .ownerName("홍길동")
+                    .phoneNumber("010-1234-5678")
+                    .address("서울특별시 강남구 테스트로 1")
+                    .category(StoreCategory.CAFE)
+                    .status(StoreStatus.ACTIVE)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("같은 주문의 동시 재전송 50건 중 1건만 등록(201)되고 나머지는 기존 매출을 반환(200)")
+    void parallelRetriesOfSameOrder() throws Exception {
+        SaleRequest request = saleRequest("IDEMPOTENT-" + System.nanoTime(), new BigDecimal("15000"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(RETRIES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < RETRIES; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return restTemplate.postForEntity("/api/v1/sales/webhook", request, String.class);
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        int replayed = 0;
+        List<Long> saleIds = new ArrayList<>();
+        for (Future<ResponseEntity<String>> future : futures) {
+            ResponseEntity<String> response = future.get(30, TimeUnit.SECONDS);
+            JsonNode data = objectMapper.readTree(response.getBody()).path("data");
+            saleIds.add(data.path("id").asLong());
+
+            if (response.getStatusCode() == HttpStatus.CREATED) {
+                created++;
+                assertThat(data.has("duplicate")).isFalse();
+            } else {
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(data.path("duplicate").asBoolean()).isTrue();
+                replayed++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(created).isEqualTo(1);
+        assertThat(replayed).isEqualTo(RETRIES - 1);
+        assertThat(saleIds).containsOnly(saleIds.get(0));
+        assertThat(saleRepository.findByOrderNumber(request.getOrderNumber())).isPresent();
+    }
+
+    @Test
+    @DisplayName("같은 주문번호라도 금액이 다른 매출은 재전송으로 보지 않고 400 으로 거절")
+    void conflictingOrderIsRejected() {
+        String orderNumber = "IDEMPOTENT-" + System.nanoTime();
+        ResponseEntity<String> first = restTemplate.postForEntity("/api/v1/sales/webhook",
+                saleRequest(orderNumber, new BigDecimal("15000")), String.class);
+        ResponseEntity<String> conflicting = restTemplate.postForEntity("/api/v1/sales/webhook",
+                saleRequest(orderNumber, new BigDecimal("99000")), String.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(conflicting.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private SaleRequest saleRequest(String orderNumber, BigDecimal amount) {
+        return SaleRequest.builder()
+                .businessNumber(BUSINESS_NUMBER)
+                .transactionTime(LocalDateTime.now().minusMinutes(1))
+                .amount(amount)
+                .paymentType(PaymentType.CARD)
+                .channel(SaleChannel.ONLINE)
+                .orderNumber(orderNumber)
+                .build();
+    }
+}
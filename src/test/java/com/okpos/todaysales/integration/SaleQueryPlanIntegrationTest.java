@@ -0,0 +1,205 @@
+package com.okpos.todaysales.integration;
+
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.entity.enums.StoreStatus;
+import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import com.okpos.todaysales.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매출·시간대별 집계 조회의 실행 계획 회귀 테스트
+ *
+ * 리포지토리 메서드를 실제로 실행하여 Hibernate 가 만든 SQL 을 기록한 뒤 같은 파라미터로 EXPLAIN 하고,
+ * 대상 테이블을 전체 스캔(type=ALL)하거나 인덱스 전체를 읽는(type=index) 쿼리가 있으면 실패한다.
+ * 옵티마이저가 인덱스를 고르도록 여러 가맹점·여러 날짜의 매출을 넣고 통계를 갱신한 뒤 1개 가맹점·1일 구간을 조회한다.
+ */
+@DisplayName("매출 조회 실행 계획 회귀 테스트")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.okpos.todaysales.integration.SqlCapturingStatementInspector",
+    "sales.ingestion.coalescer.enabled=false"
+})
+class SaleQueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final int STORES = 50;
+    private static final int DAYS = 40;
+    private static final int SALES_PER_STORE_PER_DAY = 10;
+    private static final long SALE_ID_OFFSET = 50_000_000L;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private static final Pattern SALES_TABLE = Pattern.compile("sale\\d+_");
+    private static final Pattern ROLLUP_TABLE = Pattern.compile("saleshourl\\d+_");
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private SalesHourlyRollupRepository salesHourlyRollupRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long storeId;
+    private LocalDate day;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeAll
+    void seed() {
+        List<Long> storeIds = new ArrayList<>();
+        for (int i = 0; i < STORES; i++) {
+            String businessNumber = String.format("900-00-%05d", i);
+            storeIds.add(storeRepository.findByBusinessNumber(businessNumber)
+                    .orElseGet(() -> storeRepository.save(Store.builder()
+                            .businessNumber(businessNumber)
+                            .storeName("실행 계획 테스트 매장 " + businessNumber)
+                            .ownerName("홍길동")
+                            .phoneNumber("010-1234-5678")
+                            .address("서울특별시 강남구 테스트로 1")
+                            .category(StoreCategory.CAFE)
+                            .status(StoreStatus.ACTIVE)
+                            .build()))
+                    .getId());
+        }
+
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sales WHERE order_number LIKE 'PLAN-%'", Integer.class);
+        if (seeded == null || seeded == 0) {
+            insertSales(storeIds);
+            transactionTemplate.execute(status -> salesHourlyRollupRepository.insertFromSales(
+                    FIRST_DAY.atStartOfDay(), FIRST_DAY.plusDays(DAYS).atStartOfDay(), 1L));
+        }
+        jdbcTemplate.execute("ANALYZE TABLE sales, sales_hourly_rollup, settlements");
+
+        storeId = storeIds.get(STORES / 2);
+        day = FIRST_DAY.plusDays(DAYS / 2);
+        start = day.atStartOfDay();
+        end = day.plusDays(1).atStartOfDay();
+    }
+
+    private void insertSales(List<Long> storeIds) {
+        PaymentType[] paymentTypes = PaymentType.values();
+        SaleChannel[] channels = SaleChannel.values();
+        List<Object[]> rows = new ArrayList<>();
+        long id = SALE_ID_OFFSET;
+        for (int d = 0; d < DAYS; d++) {
+            for (Long store : storeIds) {
+                for (int i = 0; i < SALES_PER_STORE_PER_DAY; i++) {
+                    id++;
+                    BigDecimal amount = BigDecimal.valueOf(1_000 + id % 50_000);
+                    BigDecimal fee = amount.multiply(new BigDecimal("0.025")).setScale(2, RoundingMode.HALF_UP);
+                    rows.add(new Object[]{
+                            id, store, Timestamp.valueOf(FIRST_DAY.plusDays(d).atTime(9 + i, (int) (id % 60))),
+                            amount, paymentTypes[(int) (id % paymentTypes.length)].name(),
+                            channels[(int) (id % channels.length)].name(), "PLAN-" + id,
+                            fee, amount.subtract(fee), id % 20 == 0 ? "CANCELLED" : "COMPLETED", d < DAYS - 2});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO sales (id, store_id, transaction_time, amount, payment_type, channel, " +
+                "order_number, fee, net_amount, status, is_settled) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    @DisplayName("가맹점·기간 매출 목록과 건수는 전체 스캔 없이 조회")
+    void storeListsUseIndexRange() {
+        assertNoFullScan(explain(() -> saleRepository.findByStoreIdAndDateRange(storeId, start, end),
+                storeId, start, end), SALES_TABLE);
+        assertNoFullScan(explain(() -> saleRepository.countByStoreIdAndDate(storeId, day),
+                storeId, start, end), SALES_TABLE);
+    }
+
+    @Test
+    @DisplayName("일자 합계와 정산 대상 조회는 전체 스캔 없이 조회")
+    void dateRangeQueriesUseIndexRange() {
+        assertNoFullScan(explain(() -> saleRepository.findTotalAmountByDate(day), start, end), SALES_TABLE);
+        assertNoFullScan(explain(() -> saleRepository.findUnsettledSalesByDate(day), start, end), SALES_TABLE);
+        assertNoFullScan(explain(() -> transactionTemplate.execute(status ->
+                saleRepository.findUnsettledSalesByDateRange(start, end)), start, end), SALES_TABLE);
+
+        LocalDateTime before = FIRST_DAY.plusDays(1).atStartOfDay();
+        assertNoFullScan(explain(() -> transactionTemplate.execute(status ->
+                saleRepository.findLateUnsettledSales(before, PageRequest.of(0, 1000))), before, 1000), SALES_TABLE);
+    }
+
+    @Test
+    @DisplayName("대시보드·월별 리포트의 시간대별 집계 조회는 전체 스캔 없이 조회")
+    void rollupQueriesUseIndexRange() {
+        LocalDate monthEnd = day.plusDays(6);
+        assertNoFullScan(explain(() -> salesHourlyRollupRepository.findDashboardRows(storeId, day),
+                storeId, day), ROLLUP_TABLE);
+        assertNoFullScan(explain(() -> salesHourlyRollupRepository.findVersionedDashboardRows(storeId, day),
+                storeId, day), ROLLUP_TABLE);
+        assertNoFullScan(explain(() -> salesHourlyRollupRepository.findMonthlyReportRows(storeId, day, monthEnd),
+                storeId, day, monthEnd), ROLLUP_TABLE);
+        assertNoFullScan(explain(() -> salesHourlyRollupRepository.findDayRows(day), day), ROLLUP_TABLE);
+    }
+
+    /**
+     * 조회를 실행하여 기록된 SELECT 의 EXPLAIN 결과를 반환 (SQL 의 파라미터 순서대로 값을 전달)
+     */
+    private List<Map<String, Object>> explain(Runnable query, Object... parameters) {
+        SqlCapturingStatementInspector.start();
+        List<String> statements;
+        try {
+            query.run();
+        } finally {
+            statements = SqlCapturingStatementInspector.stop();
+        }
+
+        assertThat(statements).as("실행된 SQL").hasSize(1);
+        String sql = statements.get(0);
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("파라미터 수: %s", sql).isEqualTo(parameters.length);
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, parameters);
+    }
+
+    private void assertNoFullScan(List<Map<String, Object>> plan, Pattern table) {
+        List<Map<String, Object>> rows = rowsFor(plan, table);
+        assertThat(rows).as("실행 계획: %s", plan).isNotEmpty();
+        for (Map<String, Object> row : rows) {
+            assertThat(row.get("type")).as("접근 방식: %s", plan).isNotIn("ALL", "index");
+            assertThat(row.get("key")).as("사용 인덱스: %s", plan).isNotNull();
+        }
+    }
+
+    private List<Map<String, Object>> rowsFor(List<Map<String, Object>> plan, Pattern table) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map<String, Object> row : plan) {
+            Object tableName = row.get("table");
+            if (tableName != null && table.matcher(tableName.toString()).matches()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,35 @@
+package com.okpos.todaysales.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 현재 스레드에서 Hibernate 가 실행한 SQL 을 기록 (실행 계획 검증용, SQL 은 변경하지 않음)
+ *
+ * hibernate.session_factory.statement_inspector 프로퍼티로 등록하며, {@link #start()} 이후 실행된 SQL 만 기록한다.
+ */
+public class SqlCapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> captured = CAPTURED.get();
+        CAPTURED.remove();
+        return captured == null ? new ArrayList<>() : captured;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+}
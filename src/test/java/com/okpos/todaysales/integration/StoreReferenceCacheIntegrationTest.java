@@ -0,0 +1,50 @@
+package com.okpos.todaysales.integration;
+
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.entity.enums.StoreStatus;
+import com.okpos.todaysales.repository.StoreRepository;
+import com.okpos.todaysales.service.StoreReference;
+import com.okpos.todaysales.service.StoreReferenceCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 컨텍스트를 띄워 가맹점 엔티티 리스너 → 가맹점 캐시 무효화 경로를 검증
+ */
+@DisplayName("가맹점 캐시 무효화 통합 테스트")
+class StoreReferenceCacheIntegrationTest extends BaseIntegrationTest {
+
+    private static final String BUSINESS_NUMBER = "555-66-77777";
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StoreReferenceCache storeReferenceCache;
+
+    @Test
+    @DisplayName("가맹점을 수정하면 엔티티 리스너 이벤트로 캐시된 스냅샷이 무효화됨")
+    void invalidateOnStoreUpdate() {
+        storeRepository.findByBusinessNumber(BUSINESS_NUMBER).ifPresent(storeRepository::delete);
+        Store store = storeRepository.save(Store.builder()
+                .businessNumber(BUSINESS_NUMBER)
+                .storeName("변경 전 매장")
+                .ownerName("홍길동")
+                .phoneNumber("010-1234-5678")
+                .address("서울특별시 강남구 테스트로 1")
+                .category(StoreCategory.RESTAURANT)
+                .status(StoreStatus.ACTIVE)
+                .build());
+
+        assertThat(storeReferenceCache.get(BUSINESS_NUMBER)).map(StoreReference::getStoreName).hasValue("변경 전 매장");
+
+        store.setStoreName("변경 후 매장");
+        storeRepository.save(store);
+
+        assertThat(storeReferenceCache.get(BUSINESS_NUMBER)).map(StoreReference::getStoreName).hasValue("변경 후 매장");
+    }
+}
@@ -0,0 +1,163 @@
+package com.okpos.todaysales.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.okpos.todaysales.dto.SaleBatchResponse;
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.service.SalesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SaleJournalDrainerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private SalesService salesService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SaleJournal journal;
+    private SaleJournalDrainer drainer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        journal = new SaleJournal(objectMapper, meterRegistry, "journal", directory.toString(), 1);
+        journal.open();
+        drainer = new SaleJournalDrainer(journal, salesService, 10, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("같은 배치가 연속 실패하면 건별로 반영하고, 실패한 레코드만 dead-letter 로 옮긴 뒤 checkpoint 전진")
+    void splitPoisonBatch() throws IOException {
+        journal.append(saleRequest("ORDER-001"));
+        journal.append(saleRequest("ORDER-002"));
+        journal.append(saleRequest("ORDER-003"));
+        when(salesService.createSales(anyList())).thenAnswer(invocation -> {
+            List<SaleRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> request.getOrderNumber().equals("ORDER-002"))) {
+                throw new IllegalStateException("poison");
+            }
+            return created(requests.get(0).getOrderNumber());
+        });
+
+        drainer.drain();
+        drainer.drain();
+        assertThat(journal.getLag()).isEqualTo(3);
+
+        drainer.drain();
+        assertThat(journal.getLag()).isZero();
+        assertThat(journal.read(10).isEmpty()).isTrue();
+        // 배치 3회 + 건별 3회
+        verify(salesService, times(6)).createSales(anyList());
+
+        List<String> deadLettered = deadLetteredOrderNumbers();
+        assertThat(deadLettered).containsExactly("ORDER-002");
+        assertThat(meterRegistry.get("sales.journal.dead-lettered.total").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB 연결 실패 같은 일시적 오류는 횟수와 무관하게 나누지 않고 같은 배치를 재시도")
+    void retryTransientFailure() throws IOException {
+        journal.append(saleRequest("ORDER-001"));
+        when(salesService.createSales(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        for (int i = 0; i < 5; i++) {
+            drainer.drain();
+        }
+
+        assertThat(journal.getLag()).isEqualTo(1);
+        verify(salesService, times(5)).createSales(anyList());
+        assertThat(deadLetteredOrderNumbers()).isEmpty();
+    }
+
+    private List<String> deadLetteredOrderNumbers() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().startsWith("dead-letter-"))
+                    .collect(Collectors.toList());
+        }
+        if (files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        JournalSegment segment = JournalSegment.open(files.get(0), 0, 1024 * 1024);
+        try {
+            List<String> orderNumbers = new ArrayList<>();
+            int position = 0;
+            byte[] payload;
+            while ((payload = segment.read(position)) != null) {
+                orderNumbers.add(journal.decode(payload).getOrderNumber());
+                position += JournalSegment.HEADER_SIZE + payload.length;
+            }
+            return orderNumbers;
+        } finally {
+            segment.close();
+        }
+    }
+
+    private SaleBatchResponse created(String orderNumber) {
+        return SaleBatchResponse.builder()
+                .totalCount(1)
+                .createdCount(1)
+                .duplicateCount(0)
+                .invalidCount(0)
+                .results(Collections.singletonList(SaleBatchResponse.ItemResult.builder()
+                        .index(0)
+                        .orderNumber(orderNumber)
+                        .status(SaleBatchResponse.ItemStatus.CREATED)
+                        .build()))
+                .build();
+    }
+
+    private SaleRequest saleRequest(String orderNumber) {
+        return SaleRequest.builder()
+                .businessNumber("123-45-67890")
+                .transactionTime(LocalDateTime.now())
+                .amount(new BigDecimal("10000"))
+                .paymentType(PaymentType.CARD)
+                .channel(SaleChannel.ONLINE)
+                .orderNumber(orderNumber)
+                .build();
+    }
+}
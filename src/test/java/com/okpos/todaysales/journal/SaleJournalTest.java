@@ -0,0 +1,118 @@
+package com.okpos.todaysales.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SaleJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("기록한 매출을 순서대로 읽고, commit 이후에는 다시 읽지 않음")
+    void appendReadCommit() throws IOException {
+        SaleJournal journal = openJournal(1);
+
+        journal.append(saleRequest("ORDER-001"));
+        journal.append(saleRequest("ORDER-002"));
+        assertThat(journal.getLag()).isEqualTo(2);
+
+        SaleJournal.Batch batch = journal.read(10);
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(journal.decode(batch.getPayloads().get(0)).getOrderNumber()).isEqualTo("ORDER-001");
+        assertThat(journal.decode(batch.getPayloads().get(1)).getOrderNumber()).isEqualTo("ORDER-002");
+
+        journal.commit(batch);
+        assertThat(journal.getLag()).isZero();
+        assertThat(journal.read(10).isEmpty()).isTrue();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("재시작 시 checkpoint 이후의 미반영 레코드를 다시 읽음")
+    void replayAfterRestart() throws IOException {
+        SaleJournal journal = openJournal(1);
+        journal.append(saleRequest("ORDER-001"));
+        journal.append(saleRequest("ORDER-002"));
+        journal.append(saleRequest("ORDER-003"));
+        journal.commit(journal.read(1));
+        journal.close();
+
+        SaleJournal reopened = openJournal(1);
+        assertThat(reopened.getLag()).isEqualTo(2);
+
+        SaleJournal.Batch batch = reopened.read(10);
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(reopened.decode(batch.getPayloads().get(0)).getOrderNumber()).isEqualTo("ORDER-002");
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 반영 완료된 세그먼트는 삭제")
+    void rollAndDeleteSegments() throws IOException {
+        SaleJournal journal = openJournal(1);
+        int count = 0;
+        while (journal.getSegmentCount() < 3) {
+            journal.append(saleRequest("ORDER-" + count++));
+        }
+
+        SaleJournal.Batch batch = journal.read(count);
+        assertThat(batch.size()).isEqualTo(count);
+
+        journal.commit(batch);
+        assertThat(journal.getSegmentCount()).isEqualTo(1);
+        assertThat(segmentFiles()).isEqualTo(1);
+        journal.close();
+    }
+
+    private SaleJournal openJournal(int segmentSizeMb) throws IOException {
+        SaleJournal journal = new SaleJournal(objectMapper, new SimpleMeterRegistry(),
+                "journal", directory.toString(), segmentSizeMb);
+        journal.open();
+        return journal;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).count();
+        }
+    }
+
+    private SaleRequest saleRequest(String orderNumber) {
+        return SaleRequest.builder()
+                .businessNumber("123-45-67890")
+                .transactionTime(LocalDateTime.now())
+                .amount(new BigDecimal("10000"))
+                .paymentType(PaymentType.CARD)
+                .channel(SaleChannel.ONLINE)
+                .orderNumber(orderNumber)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.okpos.todaysales.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DropCountingAsyncAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final DropCountingAsyncAppender appender = new DropCountingAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("큐 여유가 임계값 미만이면 INFO 를 버리고, 가득 차면 WARN 도 버린 건수로 집계")
+    void countDiscardedAndOverflowedEvents() throws InterruptedException {
+        CountDownLatch consuming = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> blocked = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                consuming.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocked.setContext(loggerContext);
+        blocked.start();
+
+        appender.setContext(loggerContext);
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocked);
+        appender.start();
+
+        // 첫 이벤트는 worker 가 꺼내 출력 중(대기) 상태로 만들고 큐를 채움
+        appender.doAppend(event(Level.WARN));
+        assertThat(consuming.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.WARN));
+        }
+
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.WARN));
+
+        assertThat(appender.getDiscarded()).isEqualTo(1);
+        assertThat(appender.getOverflowed()).isEqualTo(1);
+    }
+
+    private ILoggingEvent event(Level level) {
+        Logger logger = loggerContext.getLogger("com.okpos.todaysales.event.EventPublisher");
+        return new LoggingEvent(Logger.class.getName(), logger, level, "message", null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package com.okpos.todaysales.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplingFilterTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final LogSamplingFilter filter = new LogSamplingFilter();
+
+    private Logger publisher;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        publisher = loggerContext.getLogger("com.okpos.todaysales.event.EventPublisher");
+    }
+
+    @Test
+    @DisplayName("상위 패키지에 지정한 비율을 하위 로거의 INFO 로그에 적용하고 버린 건수를 셈")
+    void applyPackageRate() {
+        filter.setRate("com.okpos.todaysales.event", 0.0);
+
+        assertThat(decide(publisher, Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(loggerContext.getLogger("com.okpos.todaysales.service.SalesService"), Level.INFO))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("WARN 이상, 레벨 확인 호출, 어차피 기록되지 않을 DEBUG 는 샘플링하지 않음")
+    void keepWarnAndSkipDisabledLevels() {
+        filter.setRate("com.okpos.todaysales", 0.0);
+
+        assertThat(decide(publisher, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, publisher, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(publisher, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOut()).isZero();
+    }
+
+    @Test
+    @DisplayName("가장 구체적인 로거 설정이 우선하고, 1.0 으로 바꾸면 샘플링 해제")
+    void mostSpecificRateWins() {
+        filter.setRate("com.okpos.todaysales", 0.0);
+        filter.setRate("com.okpos.todaysales.event.EventPublisher", 1.0);
+        assertThat(decide(publisher, Level.INFO)).isEqualTo(FilterReply.DENY);
+
+        filter.setRate("com.okpos.todaysales.event.EventPublisher", 0.999999);
+        filter.setRate("com.okpos.todaysales", 1.0);
+        assertThat(filter.getRates()).containsOnlyKeys("com.okpos.todaysales.event.EventPublisher");
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{1}, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.okpos.todaysales.ratelimit;
+
+import com.okpos.todaysales.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class LoadShedderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("동시 처리 한도를 넘는 요청은 503 예외로 거절하고, 종료된 요청만큼 다시 허용")
+    void rejectOverLimit() {
+        LoadShedder shedder = loadShedder(2);
+
+        shedder.enter();
+        shedder.enter();
+        assertThatThrownBy(shedder::enter)
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting("reason").isEqualTo("in_flight");
+        assertThat(shedder.getInFlight()).isEqualTo(2);
+
+        shedder.exit();
+        shedder.enter();
+        assertThat(meterRegistry.get("sales.loadshed.rejected").tag("reason", "in_flight").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("커넥션 대기가 임계값을 넘으면 한도를 줄이고, 정상화되면 다시 늘림")
+    void adaptiveLimit() {
+        LoadShedder shedder = loadShedder(100);
+
+        shedder.adjust(500, 0);
+        assertThat(shedder.getLimit()).isEqualTo(75);
+        shedder.adjust(500, 0);
+        assertThat(shedder.getLimit()).isLessThan(75);
+
+        int shrunk = shedder.getLimit();
+        for (int i = 0; i < 20; i++) {
+            shedder.adjust(0, 0);
+        }
+        assertThat(shedder.getLimit()).isGreaterThan(shrunk).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("커넥션 대기 스레드가 임계값을 넘은 동안에는 한도와 무관하게 거절")
+    void rejectWhilePoolSaturated() {
+        LoadShedder shedder = loadShedder(100);
+
+        shedder.adjust(0, 50);
+
+        assertThatThrownBy(shedder::enter)
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting("reason").isEqualTo("pool_wait");
+        assertThat(shedder.getInFlight()).isZero();
+    }
+
+    private LoadShedder loadShedder(int maxInFlight) {
+        return new LoadShedder(mock(DataSource.class), meterRegistry,
+                true, maxInFlight, 1, 50, 20, 1);
+    }
+}
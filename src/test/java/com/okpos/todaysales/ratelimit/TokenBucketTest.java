@@ -0,0 +1,76 @@
+package com.okpos.todaysales.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("burst 만큼 허용한 뒤 거절하고, 부족한 토큰이 충전될 시간을 대기 시간으로 반환")
+    void burstThenReject() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(1, 0)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(1, 0)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("경과 시간에 비례하여 충전되고 capacity 를 넘지 않음")
+    void refill() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.tryAcquire(5, 0)).isZero();
+
+        assertThat(bucket.tryAcquire(3, SECOND * 3 / 10)).isZero();
+        assertThat(bucket.tryAcquire(1, SECOND * 3 / 10)).isPositive();
+
+        assertThat(bucket.isIdle(SECOND * 10)).isTrue();
+        assertThat(bucket.tryAcquire(5, SECOND * 10)).isZero();
+        assertThat(bucket.tryAcquire(1, SECOND * 10)).isPositive();
+    }
+
+    @Test
+    @DisplayName("capacity 보다 큰 요청은 버킷이 가득 찬 경우에만 허용")
+    void oversizedRequest() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        assertThat(bucket.tryAcquire(100, 0)).isZero();
+        assertThat(bucket.tryAcquire(100, SECOND / 10)).isEqualTo(SECOND * 4 / 10);
+    }
+
+    @Test
+    @DisplayName("동시 요청에서도 허용 건수가 토큰 수를 넘지 않음")
+    void concurrentAcquire() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 1000, System.nanoTime());
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire(1, System.nanoTime()) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(allowed.get()).isEqualTo(1000);
+    }
+}
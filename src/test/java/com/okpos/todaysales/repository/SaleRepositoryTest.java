@@ -173,17 +173,6 @@ public class SaleRepositoryTest {
         assertThat(result).isEqualTo(new BigDecimal("50000"));
     }
 
-    @Test
-    void findTotalAmountByStoreAndDateRange_ShouldReturnCorrectSum() {
-        LocalDateTime startDate = LocalDateTime.of(2023, 12, 1, 0, 0);
-        LocalDateTime endDate = LocalDateTime.of(2023, 12, 1, 23, 59);
-        
-        BigDecimal result = saleRepository.findTotalAmountByStoreAndDateRange(
-                store1.getId(), startDate, endDate);
-        
-        assertThat(result).isEqualTo(new BigDecimal("15000"));
-    }
-
     @Test
     void countByStoreIdAndDate_ShouldReturnCorrectCount() {
         LocalDate date = LocalDate.of(2023, 12, 1);
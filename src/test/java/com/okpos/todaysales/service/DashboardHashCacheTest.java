@@ -0,0 +1,197 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.SaleDashboard;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardHashCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 15);
+    private static final Long STORE_ID = 1L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DashboardHashCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        cache = new DashboardHashCache(redisTemplate, meterRegistry, true, 26);
+    }
+
+    @Test
+    @DisplayName("DB 집계 행을 해시 필드로 바꿔 다시 읽으면 같은 대시보드")
+    void fieldsRoundTrip() {
+        List<Object[]> rows = Arrays.asList(
+                row(9, PaymentType.CARD, "15000", 1, "375"),
+                row(9, PaymentType.CASH, "5000", 1, "0"),
+                row(14, PaymentType.CARD, "10000.50", 1, "250"));
+
+        Map<String, String> fields = new HashMap<>();
+        DashboardHashCache.toFields(rows).forEach((field, value) -> fields.put(field, String.valueOf(value)));
+        SaleDashboard expected = SalesReportFolder.foldDashboard(DATE, rows, 1_000L);
+        SaleDashboard actual = DashboardHashCache.toDashboard(DATE, fields, 1_000L);
+
+        assertThat(fields).containsEntry("amount", "3000050").containsEntry("h:9:count", "2")
+                .containsEntry("p:CARD:fee", "62500");
+        assertThat(actual).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("증감은 집계 행 version 과 함께 최소 단위 정수로 Lua 스크립트 한 번에 반영하고, Redis 오류는 삼킴")
+    @SuppressWarnings("unchecked")
+    void applyDelta() {
+        cache.apply(STORE_ID, DATE, 9, PaymentType.CARD, SaleChannel.ONLINE, 7L,
+                -1, new BigDecimal("-10000"), new BigDecimal("-250"));
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(Collections.singletonList("dashboard:hash:2024-01-15:1")),
+                eq("-1000000"), eq("-1"), eq("-25000"), eq("9"), eq("CARD"), eq("ONLINE"), eq("7"));
+
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        cache.apply(STORE_ID, DATE, 9, PaymentType.CARD, SaleChannel.OFFLINE, 8L, 1, new BigDecimal("10000"), BigDecimal.ZERO);
+
+        assertThat(meterRegistry.get("sales.dashboard.hash.errors").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("해시를 만들 때 채널별 집계 행을 합산하고, 행마다 불러온 version 을 함께 기록")
+    @SuppressWarnings("unchecked")
+    void buildRecordsRowVersions() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(1L);
+        List<Object[]> rows = Arrays.asList(
+                versioned(row(9, PaymentType.CARD, "15000", 1, "375"), SaleChannel.OFFLINE, 3L),
+                versioned(row(9, PaymentType.CARD, "5000", 1, "125"), SaleChannel.ONLINE, 5L));
+
+        SaleDashboard dashboard = cache.build(STORE_ID, DATE, () -> rows).orElseThrow(AssertionError::new);
+
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(Collections.singletonList("dashboard:hash:2024-01-15:1")),
+                args.capture());
+        List<Object> finish = args.getAllValues().subList(1, args.getAllValues().size());
+        Map<Object, Object> fields = new HashMap<>();
+        for (int i = 1; i < finish.size(); i += 2) {
+            fields.put(finish.get(i), finish.get(i + 1));
+        }
+        assertThat(finish.get(0)).isEqualTo(String.valueOf(26 * 3600));
+        assertThat(fields).containsEntry("h:9:count", "2").containsEntry("p:CARD:amount", "2000000")
+                .containsEntry("v:9:CARD:OFFLINE", "3").containsEntry("v:9:CARD:ONLINE", "5");
+        assertThat(dashboard.getTotalCount()).isEqualTo(2);
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("20000");
+        assertThat(dashboard.getPaymentTypeStatistics()).singleElement()
+                .satisfies(statistic -> assertThat(statistic.getFee()).isEqualByComparingTo("500"));
+    }
+
+    @Test
+    @DisplayName("HGETALL 결과로 대시보드를 만들고, 해시가 없거나 만드는 중이면 miss")
+    void readHash() {
+        Map<Object, Object> stored = new HashMap<>();
+        stored.put("amount", "500000");
+        stored.put("count", "1");
+        stored.put("fee", "0");
+        stored.put("h:10:amount", "500000");
+        stored.put("h:10:count", "1");
+        stored.put("p:CASH:amount", "500000");
+        stored.put("p:CASH:count", "1");
+        when(hashOperations.entries("dashboard:hash:2024-01-15:1")).thenReturn(stored);
+
+        SaleDashboard dashboard = cache.get(STORE_ID, DATE).orElseThrow(AssertionError::new);
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("5000");
+        assertThat(dashboard.getPaymentTypeStatistics()).extracting(SaleDashboard.PaymentTypeStatistic::getPaymentType)
+                .containsExactly(PaymentType.CASH.getDescription());
+
+        stored.put("_building", "1");
+        assertThat(cache.get(STORE_ID, DATE)).isEmpty();
+        assertThat(cache.get(2L, DATE)).isEmpty();
+        assertThat(meterRegistry.get("sales.dashboard.hash.reads").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sales.dashboard.hash.reads").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다른 요청이 해시를 만들고 있으면 DB 를 조회하지 않고 empty")
+    @SuppressWarnings("unchecked")
+    void buildOnlyOnce() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(0L);
+
+        assertThat(cache.build(STORE_ID, DATE, () -> {
+            throw new AssertionError("loader must not be called");
+        })).isEmpty();
+        verify(hashOperations, never()).entries(any());
+    }
+
+    @Test
+    @DisplayName("SCAN 으로 날짜와 무관하게 해시를 표본 추출하여 날짜별 가맹점으로 묶음")
+    @SuppressWarnings("unchecked")
+    void sampleStoresAcrossDates() {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, true, false);
+        when(cursor.next()).thenReturn("dashboard:hash:2024-01-15:1", "dashboard:hash:2024-01-14:2",
+                "dashboard:hash:2024-01-15:3");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        Map<LocalDate, List<Long>> sample = cache.sampleStores(10);
+
+        assertThat(sample).containsOnlyKeys(DATE.minusDays(1), DATE);
+        assertThat(sample.get(DATE)).containsExactly(1L, 3L);
+        assertThat(sample.get(DATE.minusDays(1))).containsExactly(2L);
+        assertThat(cache.sampleStores(0)).isEmpty();
+        verify(cursor, times(2)).close();
+    }
+
+    private Object[] versioned(Object[] row, SaleChannel channel, long version) {
+        Object[] versioned = Arrays.copyOf(row, 8);
+        versioned[6] = channel;
+        versioned[7] = version;
+        return versioned;
+    }
+
+    private Object[] row(int hour, PaymentType paymentType, String amount, long count, String fee) {
+        BigDecimal saleAmount = new BigDecimal(amount);
+        BigDecimal saleFee = new BigDecimal(fee);
+        return new Object[]{hour, paymentType, saleAmount, count, saleFee, saleAmount.subtract(saleFee)};
+    }
+}
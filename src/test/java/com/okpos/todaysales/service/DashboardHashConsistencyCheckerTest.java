@@ -0,0 +1,149 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardHashConsistencyCheckerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private DashboardHashCache dashboardHashCache;
+
+    @Mock
+    private LiveDashboardEngine liveDashboardEngine;
+
+    @Mock
+    private SalesHourlyRollupRepository rollupRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DashboardHashConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new DashboardHashConsistencyChecker(dashboardHashCache, liveDashboardEngine, rollupRepository,
+                meterRegistry, 50);
+    }
+
+    @Test
+    @DisplayName("DB 집계와 같은 해시는 일치, 다시 비교해도 다른 해시는 지우고, 없는 해시는 건너뜀")
+    void compareWithRollup() {
+        List<Object[]> rows = Collections.singletonList(
+                new Object[]{9, PaymentType.CARD, new BigDecimal("10000"), 1L, new BigDecimal("250"), new BigDecimal("9750")});
+        when(rollupRepository.findStoreIdsBySaleDate(DATE)).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(rollupRepository.findDashboardRows(1L, DATE)).thenReturn(rows);
+        when(rollupRepository.findDashboardRows(2L, DATE)).thenReturn(rows);
+
+        // 1: 일치 (취소로 0 이 된 필드는 무시), 2: 건수 누락, 3: 해시 없음
+        Map<String, String> consistent = fields(rows);
+        consistent.put("p:CASH:amount", "0");
+        consistent.put("p:CASH:count", "0");
+        Map<String, String> drifted = fields(rows);
+        drifted.put("count", "2");
+        when(dashboardHashCache.entries(1L, DATE)).thenReturn(consistent);
+        when(dashboardHashCache.entries(2L, DATE)).thenReturn(drifted);
+        when(dashboardHashCache.entries(3L, DATE)).thenReturn(Collections.emptyMap());
+
+        Map<String, Object> result = checker.check(DATE);
+
+        assertThat(result).containsEntry("sampled", 3).containsEntry("matched", 1)
+                .containsEntry("mismatched", 1).containsEntry("skipped", 1)
+                .containsEntry("mismatchedStoreIds", Collections.singletonList(2L));
+        verify(dashboardHashCache, times(2)).entries(2L, DATE);
+        verify(dashboardHashCache).evict(Collections.singletonList(2L), DATE);
+        assertThat(meterRegistry.get("sales.dashboard.hash.check").tag("result", "mismatch").counter().count())
+                .isEqualTo(1);
+        assertThat(result).doesNotContainKey("liveEngine");
+    }
+
+    @Test
+    @DisplayName("실시간 대시보드 엔진이 제공하는 날짜는 같은 표본의 엔진 집계도 비교하고, 다르면 엔진을 다시 적재")
+    @SuppressWarnings("unchecked")
+    void compareLiveEngine() {
+        List<Object[]> rows = Collections.singletonList(
+                new Object[]{9, PaymentType.CARD, new BigDecimal("10000"), 1L, new BigDecimal("250"), new BigDecimal("9750")});
+        List<Object[]> doubled = Collections.singletonList(
+                new Object[]{9, PaymentType.CARD, new BigDecimal("20000"), 2L, new BigDecimal("500"), new BigDecimal("19500")});
+        when(rollupRepository.findStoreIdsBySaleDate(DATE)).thenReturn(Arrays.asList(1L, 2L));
+        when(rollupRepository.findDashboardRows(1L, DATE)).thenReturn(rows);
+        when(rollupRepository.findDashboardRows(2L, DATE)).thenReturn(rows);
+        when(dashboardHashCache.entries(anyLong(), eq(DATE))).thenReturn(Collections.emptyMap());
+        when(liveDashboardEngine.serves(DATE)).thenReturn(true);
+        when(liveDashboardEngine.rows(1L, DATE)).thenReturn(Optional.of(rows));
+        when(liveDashboardEngine.rows(2L, DATE)).thenReturn(Optional.of(doubled));
+
+        Map<String, Object> result = checker.check(DATE);
+
+        assertThat((Map<String, Object>) result.get("liveEngine")).containsEntry("matched", 1)
+                .containsEntry("mismatched", 1).containsEntry("mismatchedStoreIds", Collections.singletonList(2L));
+        verify(liveDashboardEngine).rebuild(DATE);
+        assertThat(meterRegistry.get("sales.live.dashboard.check").tag("result", "mismatch").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주기 점검은 Redis 에 있는 지난 날짜 해시도 표본으로 비교하고, 행별 version 필드는 비교하지 않음")
+    @SuppressWarnings("unchecked")
+    void compareCachedHashesAcrossDates() {
+        LocalDate yesterday = DATE.minusDays(1);
+        List<Object[]> rows = Collections.singletonList(
+                new Object[]{9, PaymentType.CARD, new BigDecimal("10000"), 1L, new BigDecimal("250"), new BigDecimal("9750")});
+        Map<LocalDate, List<Long>> sample = new TreeMap<>();
+        sample.put(yesterday, Collections.singletonList(1L));
+        sample.put(DATE, Collections.singletonList(1L));
+        when(dashboardHashCache.sampleStores(50)).thenReturn(sample);
+        when(rollupRepository.findDashboardRows(1L, yesterday)).thenReturn(rows);
+        when(rollupRepository.findDashboardRows(1L, DATE)).thenReturn(rows);
+
+        Map<String, String> consistent = fields(rows);
+        consistent.put("v:9:CARD:OFFLINE", "12");
+        Map<String, String> drifted = fields(rows);
+        drifted.put("h:9:count", "2");
+        when(dashboardHashCache.entries(1L, yesterday)).thenReturn(consistent);
+        when(dashboardHashCache.entries(1L, DATE)).thenReturn(drifted);
+
+        Map<String, Object> result = checker.checkCachedHashes();
+
+        assertThat(result).containsEntry("sampled", 2).containsEntry("matched", 1).containsEntry("mismatched", 1);
+        assertThat((Map<LocalDate, List<Long>>) result.get("mismatchedStoreIds"))
+                .containsOnlyKeys(DATE).containsEntry(DATE, Collections.singletonList(1L));
+        verify(dashboardHashCache).evict(Collections.singletonList(1L), DATE);
+        verify(dashboardHashCache, never()).evict(Collections.singletonList(1L), yesterday);
+    }
+
+    private Map<String, String> fields(List<Object[]> rows) {
+        Map<String, String> fields = new HashMap<>();
+        DashboardHashCache.toFields(rows).forEach((field, value) -> fields.put(field, String.valueOf(value)));
+        return fields;
+    }
+}
@@ -0,0 +1,108 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.FeeSchedule;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeePolicyTest {
+
+    private final FeePolicy feePolicy = new FeePolicy();
+
+    @Test
+    @DisplayName("결제수단별 수수료율 적용")
+    void feeByPaymentType() {
+        assertThat(feePolicy.feeOf(10_000, PaymentType.CARD)).isEqualTo(250);
+        assertThat(feePolicy.feeOf(10_000, PaymentType.CASH)).isZero();
+        assertThat(feePolicy.feeOf(10_000, PaymentType.BANK_TRANSFER)).isEqualTo(100);
+        assertThat(feePolicy.feeOf(10_000, PaymentType.POINT)).isEqualTo(200);
+        assertThat(feePolicy.feeOf(10_000, PaymentType.MOBILE_PAY)).isEqualTo(300);
+        assertThat(feePolicy.feeOf(10_000, PaymentType.VOUCHER)).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("1원 미만은 반올림하고, 음수 금액은 부호만 반대인 수수료")
+    void rounding() {
+        assertThat(feePolicy.feeOf(1_020, PaymentType.CARD)).isEqualTo(26);   // 25.5
+        assertThat(feePolicy.feeOf(1_019, PaymentType.CARD)).isEqualTo(25);   // 25.475
+        assertThat(feePolicy.feeOf(-1_020, PaymentType.CARD)).isEqualTo(-26);
+    }
+
+    @Test
+    @DisplayName("BigDecimal 금액은 원 단위로 계산하여 scale 2 로 반환")
+    void bigDecimalAmount() {
+        BigDecimal fee = feePolicy.feeOf(new BigDecimal("25000.00"), PaymentType.CARD);
+
+        assertThat(fee).isEqualTo(new BigDecimal("625.00"));
+        assertThat(FeePolicy.toWon(new BigDecimal("9999.50"))).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("모든 결제수단의 수수료율이 있어야 함")
+    void missingRate() {
+        Map<PaymentType, Integer> rates = new EnumMap<>(PaymentType.class);
+        rates.put(PaymentType.CARD, 250);
+
+        assertThatThrownBy(() -> new FeePolicy(rates))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("계약 수수료율은 가맹점 > 업종 > 전체 > 기본값 순으로 적용")
+    void contractPrecedence() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        feePolicy.apply(Arrays.asList(
+                schedule(null, null, PaymentType.CARD, 230, from),
+                schedule(null, StoreCategory.CAFE, PaymentType.CARD, 200, from),
+                schedule(7L, null, PaymentType.CARD, 150, from)));
+
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, 7L, date)).isEqualTo(150);
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, 8L, date)).isEqualTo(200);
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.RETAIL, 8L, date)).isEqualTo(230);
+        assertThat(feePolicy.basisPoints(PaymentType.POINT, StoreCategory.CAFE, 7L, date)).isEqualTo(200);
+        assertThat(feePolicy.feeOf(10_000, PaymentType.CARD, StoreCategory.CAFE, 7L, date)).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("매출일 기준으로 그 날짜에 유효했던 수수료율 적용")
+    void effectiveDates() {
+        feePolicy.apply(Arrays.asList(
+                schedule(null, StoreCategory.CAFE, PaymentType.CARD, 180, LocalDate.of(2024, 7, 1)),
+                schedule(null, StoreCategory.CAFE, PaymentType.CARD, 220, LocalDate.of(2024, 1, 1))));
+
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, null, LocalDate.of(2023, 12, 31)))
+                .isEqualTo(250);
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, null, LocalDate.of(2024, 1, 1)))
+                .isEqualTo(220);
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, null, LocalDate.of(2024, 6, 30)))
+                .isEqualTo(220);
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, null, LocalDate.of(2024, 7, 1)))
+                .isEqualTo(180);
+
+        feePolicy.apply(Arrays.asList());
+        assertThat(feePolicy.basisPoints(PaymentType.CARD, StoreCategory.CAFE, null, LocalDate.of(2024, 7, 1)))
+                .isEqualTo(250);
+    }
+
+    private FeeSchedule schedule(Long storeId, StoreCategory category, PaymentType paymentType,
+                                 int basisPoints, LocalDate effectiveFrom) {
+        return FeeSchedule.builder()
+                .storeId(storeId)
+                .category(category)
+                .paymentType(paymentType)
+                .basisPoints(basisPoints)
+                .effectiveFrom(effectiveFrom)
+                .build();
+    }
+}
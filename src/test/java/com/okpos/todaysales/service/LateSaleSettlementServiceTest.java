@@ -0,0 +1,167 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.SettlementEvent;
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.Settlement;
+import com.okpos.todaysales.entity.SettlementDelta;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.event.EventPublisher;
+import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SettlementDeltaRepository;
+import com.okpos.todaysales.repository.SettlementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LateSaleSettlementServiceTest {
+
+    private static final LocalDate JAN_15 = LocalDate.of(2024, 1, 15);
+    private static final LocalDate JAN_16 = LocalDate.of(2024, 1, 16);
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private SettlementRepository settlementRepository;
+
+    @Mock
+    private SettlementDeltaRepository settlementDeltaRepository;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong deltaIds = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(settlementDeltaRepository.save(any(SettlementDelta.class))).thenAnswer(invocation -> {
+            SettlementDelta delta = invocation.getArgument(0);
+            delta.setId(deltaIds.incrementAndGet());
+            return delta;
+        });
+        when(settlementRepository.findBySettlementDateIn(anyCollection())).thenReturn(Arrays.asList(
+                settlement(101L, JAN_15), settlement(102L, JAN_16)));
+    }
+
+    @Test
+    @DisplayName("지연 매출을 매출일별로 묶어 원 정산에 연결하고 날짜마다 증분 정산 1건을 기록")
+    void settleLateSalesPerOriginalDate() {
+        Sale late1 = sale("ORD-1", JAN_15.atTime(23, 40), PaymentType.CARD, "10000");
+        Sale late2 = sale("ORD-2", JAN_15.atTime(23, 55), PaymentType.CASH, "5000");
+        Sale late3 = sale("ORD-3", JAN_16.atTime(22, 10), PaymentType.CARD, "20000");
+        when(saleRepository.findLateUnsettledSales(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(late1, late2, late3));
+
+        List<SettlementDelta> deltas = service(1000).settleLateSales();
+
+        assertThat(deltas).hasSize(2);
+        SettlementDelta jan15 = deltas.get(0);
+        assertThat(jan15.getSettlementId()).isEqualTo(101L);
+        assertThat(jan15.getSettlementDate()).isEqualTo(JAN_15);
+        assertThat(jan15.getTransactionCount()).isEqualTo(2);
+        assertThat(jan15.getTotalAmount()).isEqualByComparingTo("15000");
+        assertThat(jan15.getTotalFee()).isEqualByComparingTo("250");
+        assertThat(jan15.getNetAmount()).isEqualByComparingTo("14750");
+        assertThat(deltas.get(1).getSettlementId()).isEqualTo(102L);
+        assertThat(deltas.get(1).getTotalAmount()).isEqualByComparingTo("20000");
+
+        assertThat(late1.getIsSettled()).isTrue();
+        assertThat(late1.getSettlement().getId()).isEqualTo(101L);
+        assertThat(late1.getSettlementDeltaId()).isEqualTo(jan15.getId());
+        assertThat(late1.getNetAmount()).isEqualByComparingTo("9750");
+        assertThat(late3.getSettlement().getId()).isEqualTo(102L);
+
+        ArgumentCaptor<SettlementEvent> events = ArgumentCaptor.forClass(SettlementEvent.class);
+        verify(eventPublisher, times(2)).publishSettlementEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(SettlementEvent::getStatus).containsOnly("DELTA");
+        verify(metricsService).recordBatchExecution(eq("late-settlement"), eq("SUCCESS"), anyLong());
+    }
+
+    @Test
+    @DisplayName("chunk 가 가득 차면 남은 지연 매출을 다음 트랜잭션에서 이어서 처리")
+    void continueWhileChunkIsFull() {
+        when(saleRepository.findLateUnsettledSales(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        sale("ORD-1", JAN_15.atTime(23, 40), PaymentType.CARD, "10000"),
+                        sale("ORD-2", JAN_15.atTime(23, 50), PaymentType.CARD, "10000")))
+                .thenReturn(Collections.singletonList(
+                        sale("ORD-3", JAN_15.atTime(23, 55), PaymentType.CARD, "10000")));
+
+        List<SettlementDelta> deltas = service(2).settleLateSales();
+
+        assertThat(deltas).extracting(SettlementDelta::getTransactionCount).containsExactly(2, 1);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("지연 매출이 없으면 증분 정산과 이벤트를 만들지 않음")
+    void noLateSales() {
+        when(saleRepository.findLateUnsettledSales(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(service(1000).settleLateSales()).isEmpty();
+        verify(settlementDeltaRepository, never()).save(any(SettlementDelta.class));
+        verify(eventPublisher, never()).publishSettlementEvent(any(SettlementEvent.class));
+    }
+
+    private LateSaleSettlementService service(int chunkSize) {
+        return new LateSaleSettlementService(saleRepository, settlementRepository, settlementDeltaRepository,
+                new FeePolicy(), salesRollupService, eventPublisher, metricsService, transactionTemplate, true, chunkSize);
+    }
+
+    private Settlement settlement(Long id, LocalDate date) {
+        return Settlement.builder().id(id).settlementDate(date).build();
+    }
+
+    private Sale sale(String orderNumber, LocalDateTime transactionTime, PaymentType paymentType, String amount) {
+        return Sale.builder()
+                .store(Store.builder().id(1L).category(StoreCategory.RESTAURANT).build())
+                .orderNumber(orderNumber)
+                .transactionTime(transactionTime)
+                .paymentType(paymentType)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.SaleDashboard;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LiveDashboardEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 15);
+    private static final Long STORE_ID = 1L;
+
+    @Mock
+    private SalesHourlyRollupRepository rollupRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LiveDashboardEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LiveDashboardEngine(rollupRepository, meterRegistry, true, "Asia/Seoul");
+    }
+
+    @Test
+    @DisplayName("DB 집계로 적재한 뒤 커밋된 증감을 더해 오늘 대시보드를 DB 조회 없이 계산")
+    void loadAndApply() {
+        when(rollupRepository.findDayRows(TODAY)).thenReturn(Collections.singletonList(
+                row(STORE_ID, 9, PaymentType.CARD, "20000.00", 2L, "500.00", 2L)));
+        engine.rebuild(TODAY);
+
+        engine.apply(STORE_ID, TODAY, 14, PaymentType.CASH, SaleChannel.OFFLINE, 1L,
+                1, new BigDecimal("5000"), BigDecimal.ZERO);
+        engine.apply(STORE_ID, TODAY, 9, PaymentType.CARD, SaleChannel.OFFLINE, 3L,
+                -1, new BigDecimal("-10000"), new BigDecimal("-250"));
+        engine.apply(STORE_ID, TODAY.minusDays(1), 9, PaymentType.CARD, SaleChannel.OFFLINE, 1L,
+                1, new BigDecimal("99999"), BigDecimal.ZERO);
+
+        assertThat(engine.serves(TODAY)).isTrue();
+        SaleDashboard dashboard = engine.getDashboard(STORE_ID, TODAY).orElseThrow(AssertionError::new);
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("15000");
+        assertThat(dashboard.getTotalCount()).isEqualTo(2);
+        SaleDashboard.PaymentTypeStatistic card = dashboard.getPaymentTypeStatistics().get(0);
+        assertThat(card.getPaymentType()).isEqualTo(PaymentType.CARD.getDescription());
+        assertThat(card.getFee()).isEqualByComparingTo("250");
+        assertThat(card.getNetAmount()).isEqualByComparingTo("9750");
+        assertThat(dashboard.getHourlyStatistics()).extracting(SaleDashboard.HourlyStatistic::getHour)
+                .containsExactly(9, 14);
+
+        assertThat(engine.getDashboard(2L, TODAY).orElseThrow(AssertionError::new).getTotalCount()).isZero();
+        assertThat(engine.serves(TODAY.minusDays(1))).isFalse();
+        assertThat(engine.getDashboard(STORE_ID, TODAY.minusDays(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("적재 중 들어온 증감은 모아 두었다가 적재한 행 version 이하(스냅샷에 포함)는 버리고 나머지만 반영")
+    void pendingDeltasAreMergedByVersion() {
+        when(rollupRepository.findDayRows(TODAY)).thenAnswer(invocation -> {
+            // 조회 전에 커밋된 증감(version 2)과 조회 이후 커밋된 증감(version 3)이 모두 적재 중에 도착
+            engine.apply(STORE_ID, TODAY, 9, PaymentType.CARD, SaleChannel.OFFLINE, 2L,
+                    1, new BigDecimal("10000"), new BigDecimal("250"));
+            engine.apply(STORE_ID, TODAY, 9, PaymentType.CARD, SaleChannel.OFFLINE, 3L,
+                    1, new BigDecimal("7000"), new BigDecimal("175"));
+            assertThat(engine.serves(TODAY)).isFalse();
+            return Collections.singletonList(row(STORE_ID, 9, PaymentType.CARD, "20000.00", 2L, "500.00", 2L));
+        });
+
+        engine.rebuild(TODAY);
+        // 적재 이후 도착한 스냅샷 이전 증감(version 1)도 버림, 다른 채널 행은 version 과 무관하게 반영
+        engine.apply(STORE_ID, TODAY, 9, PaymentType.CARD, SaleChannel.OFFLINE, 1L,
+                1, new BigDecimal("10000"), new BigDecimal("250"));
+        engine.apply(STORE_ID, TODAY, 9, PaymentType.CARD, SaleChannel.ONLINE, 1L,
+                1, new BigDecimal("3000"), new BigDecimal("75"));
+
+        SaleDashboard dashboard = engine.getDashboard(STORE_ID, TODAY).orElseThrow(AssertionError::new);
+        assertThat(dashboard.getTotalCount()).isEqualTo(4);
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("30000");
+        assertThat(dashboard.getPaymentTypeStatistics().get(0).getFee()).isEqualByComparingTo("750");
+    }
+
+    @Test
+    @DisplayName("오늘 날짜는 설정한 시간대 기준")
+    void todayUsesConfiguredZone() {
+        LiveDashboardEngine utc = new LiveDashboardEngine(rollupRepository, new SimpleMeterRegistry(), true, "UTC");
+
+        assertThat(utc.today()).isEqualTo(LocalDate.now(ZoneOffset.UTC));
+        assertThat(engine.today()).isEqualTo(LocalDate.now(ZoneId.of("Asia/Seoul")));
+    }
+
+    @Test
+    @DisplayName("적재에 실패하면 DB 집계로 조회하도록 오늘 날짜도 제공하지 않음")
+    void notServedWhenLoadFails() {
+        when(rollupRepository.findDayRows(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        engine.rebuild(TODAY);
+
+        assertThat(engine.serves(TODAY)).isFalse();
+        assertThat(engine.getDashboard(STORE_ID, TODAY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 스레드의 동시 증감을 유실 없이 합산하고 가맹점 수·메모리 지표를 노출")
+    void concurrentApply() throws InterruptedException {
+        when(rollupRepository.findDayRows(TODAY)).thenReturn(Collections.emptyList());
+        engine.rebuild(TODAY);
+
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            long storeId = t % 2 + 1;
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    engine.apply(storeId, TODAY, i % 24, PaymentType.CARD, SaleChannel.ONLINE, i + 1L,
+                            1, new BigDecimal("1000"), new BigDecimal("25"));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        SaleDashboard dashboard = engine.getDashboard(STORE_ID, TODAY).orElseThrow(AssertionError::new);
+        assertThat(dashboard.getTotalCount()).isEqualTo(threads / 2 * perThread);
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(1000L * threads / 2 * perThread));
+        assertThat(meterRegistry.get("sales.live.dashboard.stores").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("sales.live.dashboard.memory").gauge().value())
+                .isEqualTo(2.0 * LiveDashboardEngine.BYTES_PER_STORE);
+    }
+
+    private Object[] row(Long storeId, int hour, PaymentType paymentType, String amount, long count, String fee,
+                         long version) {
+        return new Object[]{storeId, hour, paymentType, SaleChannel.OFFLINE, new BigDecimal(amount), count,
+                new BigDecimal(fee), version};
+    }
+}
@@ -0,0 +1,100 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.repository.SaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderNumberFilterTest {
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("초기화 전에는 모든 주문번호를 DB 조회 대상으로 판정")
+    void mightContainBeforeSeed() {
+        OrderNumberFilter filter = new OrderNumberFilter(saleRepository, meterRegistry, true, 1000, 0.01, 3);
+
+        assertThat(filter.mightContain("ORDER-001")).isTrue();
+    }
+
+    @Test
+    @DisplayName("최근 주문번호로 초기화 후 등록된 주문번호는 적중, 미등록 주문번호는 대부분 DB 조회 생략")
+    void seedAndLookup() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            rows.add(new Object[]{(long) i, "SEED-" + i});
+        }
+        when(saleRepository.findRecentOrderNumbers(eq(0L), any(), any())).thenReturn(rows);
+
+        OrderNumberFilter filter = new OrderNumberFilter(saleRepository, meterRegistry, true, 10_000, 0.01, 3);
+        filter.seed();
+
+        for (int i = 1; i <= 1000; i++) {
+            assertThat(filter.mightContain("SEED-" + i)).isTrue();
+        }
+
+        int hits = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("NEW-" + i)) {
+                hits++;
+                filter.recordLookup(false);
+            }
+        }
+        assertThat(hits).isLessThan(200);
+        assertThat(filter.size()).isEqualTo(1000);
+        assertThat(meterRegistry.get("sales.order_filter.queries.saved").counter().count())
+                .isEqualTo(10_000 - hits);
+        assertThat(filter.observedFalsePositiveRate()).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("예상 건수를 넘으면 세대를 교체하고, 두 세대 이전의 주문번호는 필터에서 제외")
+    void rotateGenerations() {
+        when(saleRepository.findRecentOrderNumbers(eq(0L), any(), any())).thenReturn(Collections.emptyList());
+        OrderNumberFilter filter = new OrderNumberFilter(saleRepository, meterRegistry, true, 100, 0.001, 3);
+        filter.seed();
+
+        for (int i = 0; i < 100; i++) {
+            filter.put("FIRST-" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            filter.put("SECOND-" + i);
+        }
+        assertThat(filter.mightContain("SECOND-0")).isTrue();
+
+        int firstGenerationHits = 0;
+        for (int i = 0; i < 100; i++) {
+            if (filter.mightContain("FIRST-" + i)) {
+                firstGenerationHits++;
+            }
+        }
+        assertThat(firstGenerationHits).isLessThan(5);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 항상 DB 조회 대상으로 판정")
+    void disabled() {
+        OrderNumberFilter filter = new OrderNumberFilter(saleRepository, meterRegistry, false, 1000, 0.01, 3);
+        filter.seed();
+        filter.put("ORDER-001");
+
+        assertThat(filter.mightContain("ORDER-002")).isTrue();
+        assertThat(filter.size()).isZero();
+    }
+}
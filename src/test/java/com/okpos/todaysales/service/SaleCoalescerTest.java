@@ -0,0 +1,256 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.event.EventPublisher;
+import com.okpos.todaysales.exception.ServiceOverloadedException;
+import com.okpos.todaysales.repository.SaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SaleCoalescerTest {
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderNumberFilter orderNumberFilter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SaleCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(saleRepository.saveAndFlush(any(Sale.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("대기 시간 안에 들어온 단건 요청을 한 번의 배치 INSERT 와 이벤트 일괄 기록으로 커밋")
+    void coalesceConcurrentInserts() {
+        coalescer = coalescer(200, 50_000);
+        coalescer.start();
+
+        List<CompletableFuture<Sale>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String orderNumber = "ORD-" + i;
+            futures.add(coalescer.submit(orderNumber, "테스트 가맹점", () -> sale(orderNumber)));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(futures.get(i).orTimeout(5, TimeUnit.SECONDS).join().getOrderNumber()).isEqualTo("ORD-" + i);
+        }
+        verify(saleRepository, times(1)).saveAll(anyList());
+        verify(eventPublisher, times(1)).publishSaleCreatedBatch(anyList(), anyMap());
+        // 주문번호 필터에 걸린 주문번호가 없으면 중복 조회 생략
+        verify(saleRepository, never()).findExistingOrderNumbers(anyCollection());
+        assertThat(meterRegistry.get("sales.coalescer.batch.size").summary().max()).isEqualTo(5);
+        assertThat(meterRegistry.get("sales.coalescer.wait").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("배치가 롤백되면 건별 트랜잭션으로 다시 처리하여 실패한 건만 예외로 완료")
+    void fallBackToSingleInserts() {
+        coalescer = coalescer(200, 2_000);
+        when(saleRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(saleRepository.saveAndFlush(any(Sale.class))).thenAnswer(invocation -> {
+            Sale sale = invocation.getArgument(0);
+            if ("ORD-DUP".equals(sale.getOrderNumber())) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return sale;
+        });
+
+        List<SaleCoalescer.PendingSale> batch = Arrays.asList(
+                pending("ORD-1"), pending("ORD-DUP"), pending("ORD-2"));
+        coalescer.flush(batch);
+
+        assertThat(batch.get(0).getFuture().join().getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(batch.get(1).getFuture()).isCompletedExceptionally();
+        assertThat(batch.get(2).getFuture().join().getOrderNumber()).isEqualTo("ORD-2");
+        verify(eventPublisher, times(2)).publishSaleCreated(any(Sale.class), anyString());
+        assertThat(meterRegistry.get("sales.coalescer.fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 배치 안의 중복 주문번호는 앞선 건이 커밋된 뒤 건별로 처리")
+    void deferDuplicateOrderNumberInBatch() {
+        coalescer = coalescer(200, 2_000);
+
+        List<SaleCoalescer.PendingSale> batch = Arrays.asList(pending("ORD-1"), pending("ORD-1"));
+        coalescer.flush(batch);
+
+        verify(saleRepository).saveAll(anyList());
+        verify(saleRepository).saveAndFlush(any(Sale.class));
+        assertThat(batch.get(0).getFuture()).isCompleted();
+        assertThat(batch.get(1).getFuture()).isCompleted();
+    }
+
+    @Test
+    @DisplayName("주문번호 필터에 걸린 주문번호만 조회 1회로 확인하여 저장된 건은 건별 처리하고 나머지 배치는 롤백 없이 커밋")
+    @SuppressWarnings("unchecked")
+    void excludeExistingOrderNumbersBeforeBatch() {
+        coalescer = coalescer(200, 2_000);
+        when(orderNumberFilter.mightContain("ORD-DUP")).thenReturn(true);
+        when(saleRepository.findExistingOrderNumbers(anyCollection())).thenReturn(Collections.singletonList("ORD-DUP"));
+        when(saleRepository.saveAndFlush(any(Sale.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        List<SaleCoalescer.PendingSale> batch = Arrays.asList(
+                pending("ORD-1"), pending("ORD-DUP"), pending("ORD-2"));
+        coalescer.flush(batch);
+
+        ArgumentCaptor<List<Sale>> saved = ArgumentCaptor.forClass(List.class);
+        verify(saleRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Sale::getOrderNumber).containsExactly("ORD-1", "ORD-2");
+        verify(saleRepository, times(1)).saveAndFlush(any(Sale.class));
+        assertThat(batch.get(0).getFuture().join().getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(batch.get(1).getFuture()).isCompletedExceptionally();
+        assertThat(batch.get(2).getFuture().join().getOrderNumber()).isEqualTo("ORD-2");
+        assertThat(meterRegistry.get("sales.coalescer.fallback").counter().count()).isZero();
+        verify(saleRepository).findExistingOrderNumbers(Collections.singletonList("ORD-DUP"));
+        verify(orderNumberFilter).recordLookup(true);
+    }
+
+    @Test
+    @DisplayName("주문번호 필터가 놓친 중복으로 롤백되면 필터 없이 전체를 조회하여 빼고 나머지를 배치로 재시도")
+    @SuppressWarnings("unchecked")
+    void retryBatchAfterConcurrentDuplicate() {
+        coalescer = coalescer(200, 2_000);
+        when(saleRepository.findExistingOrderNumbers(anyCollection())).thenReturn(Collections.singletonList("ORD-DUP"));
+        when(saleRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(saleRepository.saveAndFlush(any(Sale.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        List<SaleCoalescer.PendingSale> batch = Arrays.asList(
+                pending("ORD-1"), pending("ORD-DUP"), pending("ORD-2"));
+        coalescer.flush(batch);
+
+        verify(saleRepository, times(2)).saveAll(anyList());
+        verify(saleRepository, times(1)).saveAndFlush(any(Sale.class));
+        ArgumentCaptor<Collection<String>> lookedUp = ArgumentCaptor.forClass(Collection.class);
+        verify(saleRepository, times(1)).findExistingOrderNumbers(lookedUp.capture());
+        assertThat(lookedUp.getValue()).containsExactly("ORD-1", "ORD-DUP", "ORD-2");
+        assertThat(batch.get(0).getFuture()).isCompleted();
+        assertThat(batch.get(1).getFuture()).isCompletedExceptionally();
+        assertThat(batch.get(2).getFuture()).isCompleted();
+        assertThat(meterRegistry.get("sales.coalescer.fallback").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("커밋을 max-join-millis 안에 받지 못하면 무한 대기하지 않고 과부하 예외")
+    void boundInsertWait() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        coalescer = new SaleCoalescer(saleRepository, eventPublisher, salesRollupService, transactionTemplate,
+                orderNumberFilter, meterRegistry, true, 200, 2_000, 1, 50, 100);
+        coalescer.start();
+
+        try {
+            assertThatThrownBy(() -> coalescer.insert("ORD-1", "테스트 가맹점", () -> sale("ORD-1")))
+                    .isInstanceOf(ServiceOverloadedException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 쌓아 두지 않고 즉시 과부하 예외")
+    void rejectWhenQueueFull() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        coalescer = new SaleCoalescer(saleRepository, eventPublisher, salesRollupService, transactionTemplate,
+                orderNumberFilter, meterRegistry, true, 1, 2_000, 1, 5_000, 1);
+        coalescer.start();
+
+        try {
+            // 첫 건은 flusher 가 잡고 있고, 두 번째 건이 대기열 1칸을 채움
+            coalescer.submit("ORD-1", "테스트 가맹점", () -> sale("ORD-1"));
+            assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+            coalescer.submit("ORD-2", "테스트 가맹점", () -> sale("ORD-2"));
+
+            assertThatThrownBy(() -> coalescer.submit("ORD-3", "테스트 가맹점", () -> sale("ORD-3")))
+                    .isInstanceOf(ServiceOverloadedException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private SaleCoalescer coalescer(int maxBatchSize, long maxWaitMicros) {
+        return new SaleCoalescer(saleRepository, eventPublisher, salesRollupService, transactionTemplate,
+                orderNumberFilter, meterRegistry, true, maxBatchSize, maxWaitMicros, 1, 5_000, 10_000);
+    }
+
+    private SaleCoalescer.PendingSale pending(String orderNumber) {
+        return new SaleCoalescer.PendingSale(orderNumber, "테스트 가맹점", () -> sale(orderNumber));
+    }
+
+    private Sale sale(String orderNumber) {
+        return Sale.builder()
+                .store(Store.builder().id(1L).build())
+                .orderNumber(orderNumber)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.okpos.todaysales.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.okpos.todaysales.dto.SaleBatchResponse;
+import com.okpos.todaysales.dto.SaleImportReport;
+import com.okpos.todaysales.dto.SaleRequest;
+import com.okpos.todaysales.dto.SaleResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleImportServiceTest {
+
+    @Mock
+    private SalesService salesService;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private SaleImportService saleImportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        saleImportService = new SaleImportService(salesService, objectMapper,
+                new MappingJackson2CborHttpMessageConverter(cborMapper), 2, 300);
+
+        when(salesService.createSales(anyList())).thenAnswer(invocation -> {
+            List<SaleRequest> requests = invocation.getArgument(0);
+            List<SaleBatchResponse.ItemResult> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(SaleBatchResponse.ItemResult.builder()
+                        .index(i)
+                        .orderNumber(requests.get(i).getOrderNumber())
+                        .status(SaleBatchResponse.ItemStatus.CREATED)
+                        .sale(SaleResponse.builder().id((long) i + 100).build())
+                        .build());
+            }
+            return SaleBatchResponse.builder().results(results).build();
+        });
+    }
+
+    @Test
+    @DisplayName("chunk 단위로 등록하고, 잘못된 줄은 INVALID 로 보고하며 나머지 줄은 계속 처리")
+    void importLines() throws IOException {
+        String body = sale("ORDER-1") + "\n"
+                + "{not json}\n"
+                + "\n"
+                + sale("ORDER-2") + "\r\n"
+                + "{\"orderNumber\":\"" + "X".repeat(400) + "\"}\n"
+                + sale("ORDER-3");
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        SaleImportReport.Summary summary = saleImportService.importSales(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertThat(summary.getTotalCount()).isEqualTo(5);
+        assertThat(summary.getCreatedCount()).isEqualTo(3);
+        assertThat(summary.getInvalidCount()).isEqualTo(2);
+        verify(salesService, times(3)).createSales(anyList());
+
+        String[] lines = report.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(6);
+        assertThat(field(lines[0], "line")).isEqualTo("1");
+        assertThat(field(lines[0], "status")).isEqualTo("CREATED");
+        assertThat(field(lines[1], "line")).isEqualTo("2");
+        assertThat(field(lines[1], "status")).isEqualTo("INVALID");
+        assertThat(field(lines[2], "orderNumber")).isEqualTo("ORDER-2");
+        assertThat(field(lines[3], "line")).isEqualTo("5");
+        assertThat(field(lines[3], "message")).contains("최대 길이");
+        assertThat(field(lines[4], "orderNumber")).isEqualTo("ORDER-3");
+        assertThat(objectMapper.readTree(lines[5]).path("summary").path("createdCount").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("CBOR sequence 를 레코드 단위로 등록하고, 값 오류 레코드는 INVALID, 형식 오류에서는 중단")
+    void importCborSequence() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(cborMapper.writeValueAsBytes(objectMapper.readTree(sale("ORDER-1"))));
+        body.write(cborMapper.writeValueAsBytes(Map.of("orderNumber", "ORDER-X", "amount", "not-a-number")));
+        body.write(cborMapper.writeValueAsBytes(objectMapper.readTree(sale("ORDER-2"))));
+        // 길이가 64 바이트라고 선언한 뒤 끝나는 문자열 (형식 오류)
+        body.write(new byte[]{0x78, 0x40, 'A'});
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        SaleImportReport.Summary summary = saleImportService.importCborSequence(
+                new ByteArrayInputStream(body.toByteArray()), report);
+
+        assertThat(summary.getCreatedCount()).isEqualTo(2);
+        assertThat(summary.getInvalidCount()).isEqualTo(2);
+
+        String[] lines = report.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(5);
+        assertThat(field(lines[0], "orderNumber")).isEqualTo("ORDER-1");
+        assertThat(field(lines[1], "line")).isEqualTo("2");
+        assertThat(field(lines[1], "status")).isEqualTo("INVALID");
+        assertThat(field(lines[2], "orderNumber")).isEqualTo("ORDER-2");
+        assertThat(field(lines[3], "line")).isEqualTo("4");
+        assertThat(field(lines[3], "message")).contains("CBOR 형식");
+    }
+
+    private String field(String json, String name) throws IOException {
+        JsonNode node = objectMapper.readTree(json);
+        return node.path(name).asText();
+    }
+
+    private String sale(String orderNumber) {
+        return "{\"businessNumber\":\"123-45-67890\",\"transactionTime\":\"2024-01-15T10:00:00\","
+                + "\"amount\":10000,\"paymentType\":\"CARD\",\"channel\":\"OFFLINE\",\"orderNumber\":\"" + orderNumber + "\"}";
+    }
+}
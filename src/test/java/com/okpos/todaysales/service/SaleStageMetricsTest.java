@@ -0,0 +1,48 @@
+package com.okpos.todaysales.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SaleStageMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SaleStageMetrics stageMetrics = new SaleStageMetrics(meterRegistry, 60);
+
+    @Test
+    @DisplayName("반환된 시각을 다음 단계의 시작으로 이어 단계별 Timer 에 기록")
+    void recordConsecutiveStages() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+        long next = stageMetrics.record(SaleStageMetrics.Stage.STORE_LOOKUP, start);
+        stageMetrics.record(SaleStageMetrics.Stage.INSERT, next);
+
+        assertThat(meterRegistry.get("sales.create.stage").tag("stage", "store_lookup").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        assertThat(meterRegistry.get("sales.create.stage").tag("stage", "insert").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sales.create.stage").tag("stage", "commit").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("모든 단계의 건수와 p50/p95/p99/max 를 요약")
+    @SuppressWarnings("unchecked")
+    void summarizeAllStages() {
+        for (int i = 0; i < 100; i++) {
+            stageMetrics.record(SaleStageMetrics.Stage.EVENT_PUBLISH,
+                    System.nanoTime() - TimeUnit.MICROSECONDS.toNanos(100 + i));
+        }
+
+        Map<String, Object> summary = stageMetrics.summarize();
+
+        assertThat(summary).containsEntry("window_seconds", 60L);
+        Map<String, Object> stages = (Map<String, Object>) summary.get("stages_ms");
+        assertThat(stages).hasSize(SaleStageMetrics.Stage.values().length);
+        Map<String, Object> publish = (Map<String, Object>) stages.get("event_publish");
+        assertThat(publish).containsKeys("p50", "p95", "p99", "max").containsEntry("count", 100L);
+        assertThat((Double) publish.get("p99")).isGreaterThan(0.1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.dto.MonthlyReportResponse;
+import com.okpos.todaysales.dto.SaleDashboard;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesReportFolderTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 15);
+
+    @Test
+    @DisplayName("시간대 × 결제수단 행을 합계·결제수단별·시간대별 대시보드 통계로 변환")
+    void foldDashboard() {
+        List<Object[]> rows = Arrays.asList(
+                row(14, PaymentType.CARD, "10000", 1, "250"),
+                row(9, PaymentType.CASH, "5000", 1, "0"),
+                row(9, PaymentType.CARD, "15000", 1, "375"));
+
+        SaleDashboard dashboard = SalesReportFolder.foldDashboard(DATE, rows, 1_000L);
+
+        assertThat(dashboard.getDate()).isEqualTo(DATE);
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("30000");
+        assertThat(dashboard.getTotalCount()).isEqualTo(3);
+        assertThat(dashboard.getComputedAt()).isEqualTo(1_000L);
+
+        assertThat(dashboard.getPaymentTypeStatistics()).extracting(SaleDashboard.PaymentTypeStatistic::getPaymentType)
+                .containsExactly(PaymentType.CARD.getDescription(), PaymentType.CASH.getDescription());
+        SaleDashboard.PaymentTypeStatistic card = dashboard.getPaymentTypeStatistics().get(0);
+        assertThat(card.getAmount()).isEqualByComparingTo("25000");
+        assertThat(card.getCount()).isEqualTo(2);
+        assertThat(card.getFee()).isEqualByComparingTo("625");
+        assertThat(card.getNetAmount()).isEqualByComparingTo("24375");
+
+        assertThat(dashboard.getHourlyStatistics()).extracting(SaleDashboard.HourlyStatistic::getHour)
+                .containsExactly(9, 14);
+        assertThat(dashboard.getHourlyStatistics().get(0).getAmount()).isEqualByComparingTo("20000");
+        assertThat(dashboard.getHourlyStatistics().get(0).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("일자 × 결제수단 행을 월 합계·일별·결제수단별 통계로 변환")
+    void foldMonthlyReport() {
+        List<Object[]> rows = Arrays.asList(
+                row(DATE.plusDays(1), PaymentType.CASH, "5000", 2, "0"),
+                row(DATE, PaymentType.CARD, "20000", 2, "500"),
+                row(DATE, PaymentType.CASH, "3000", 1, "0"));
+
+        MonthlyReportResponse report = SalesReportFolder.foldMonthlyReport(YearMonth.from(DATE), rows);
+
+        assertThat(report.getTotalAmount()).isEqualByComparingTo("28000");
+        assertThat(report.getTotalCount()).isEqualTo(5);
+        assertThat(report.getTotalFee()).isEqualByComparingTo("500");
+        assertThat(report.getTotalNetAmount()).isEqualByComparingTo("27500");
+        assertThat(report.getDailyStatistics()).extracting(MonthlyReportResponse.DailyStatistic::getDay)
+                .containsExactly(15, 16);
+        assertThat(report.getDailyStatistics().get(0).getAmount()).isEqualByComparingTo("23000");
+        assertThat(report.getDailyStatistics().get(0).getCount()).isEqualTo(3);
+        assertThat(report.getPaymentTypeStatistics()).extracting(MonthlyReportResponse.PaymentTypeStatistic::getCount)
+                .containsExactly(2, 3);
+    }
+
+    @Test
+    @DisplayName("매출이 없으면 0 합계와 빈 통계")
+    void foldEmpty() {
+        SaleDashboard dashboard = SalesReportFolder.foldDashboard(DATE, Collections.emptyList(), 1_000L);
+        MonthlyReportResponse report = SalesReportFolder.foldMonthlyReport(YearMonth.from(DATE), Collections.emptyList());
+
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("0");
+        assertThat(dashboard.getTotalCount()).isZero();
+        assertThat(dashboard.getPaymentTypeStatistics()).isEmpty();
+        assertThat(dashboard.getHourlyStatistics()).isEmpty();
+        assertThat(report.getTotalFee()).isEqualByComparingTo("0");
+        assertThat(report.getDailyStatistics()).isEmpty();
+    }
+
+    private Object[] row(Object group, PaymentType paymentType, String amount, long count, String fee) {
+        BigDecimal saleAmount = new BigDecimal(amount);
+        BigDecimal saleFee = new BigDecimal(fee);
+        return new Object[]{group, paymentType, saleAmount, count, saleFee, saleAmount.subtract(saleFee)};
+    }
+}
@@ -0,0 +1,145 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.PaymentType;
+import com.okpos.todaysales.entity.enums.SaleChannel;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SalesRollupServiceTest {
+
+    private static final LocalDate JAN_15 = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private SalesHourlyRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LiveDashboardEngine liveDashboardEngine;
+
+    @Mock
+    private DashboardHashCache dashboardHashCache;
+
+    private SalesRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(liveDashboardEngine.today()).thenReturn(JAN_15.plusDays(10));
+        rollupService = new SalesRollupService(rollupRepository, transactionTemplate, liveDashboardEngine,
+                dashboardHashCache);
+    }
+
+    @Test
+    @DisplayName("여러 매출은 집계 키별로 합쳐 키 순서대로 한 번씩 upsert")
+    void groupAndOrderUpserts() {
+        rollupService.addAll(Arrays.asList(
+                sale(2L, 14, PaymentType.CARD, "10000", "250"),
+                sale(1L, 9, PaymentType.CARD, "5000", "125"),
+                sale(2L, 14, PaymentType.CARD, "20000", "500")));
+
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).upsert(1L, JAN_15, 9, "CARD", "OFFLINE",
+                new BigDecimal("5000"), new BigDecimal("125"), new BigDecimal("4875"), 1L);
+        order.verify(rollupRepository).upsert(2L, JAN_15, 14, "CARD", "OFFLINE",
+                new BigDecimal("30000"), new BigDecimal("750"), new BigDecimal("29250"), 2L);
+    }
+
+    @Test
+    @DisplayName("취소·환불은 매출 1건만큼 음수로 upsert 하고, 갱신된 행 version 과 함께 실시간 집계·대시보드 해시에서도 차감")
+    void subtractSale() {
+        when(rollupRepository.findVersion(1L, JAN_15, 9, "CASH", "OFFLINE")).thenReturn(7L);
+
+        rollupService.subtract(sale(1L, 9, PaymentType.CASH, "5000", "0"));
+
+        verify(rollupRepository).upsert(1L, JAN_15, 9, "CASH", "OFFLINE",
+                new BigDecimal("-5000"), new BigDecimal("0"), new BigDecimal("-5000"), -1L);
+        verify(liveDashboardEngine).apply(1L, JAN_15, 9, PaymentType.CASH, SaleChannel.OFFLINE, 7L,
+                -1L, new BigDecimal("-5000"), new BigDecimal("0"));
+        verify(dashboardHashCache).apply(1L, JAN_15, 9, PaymentType.CASH, SaleChannel.OFFLINE, 7L,
+                -1L, new BigDecimal("-5000"), new BigDecimal("0"));
+    }
+
+    @Test
+    @DisplayName("정산 시 수수료가 바뀐 경우에만 수수료·순액 차이를 반영")
+    void adjustFeeOnlyWhenChanged() {
+        Sale sale = sale(1L, 9, PaymentType.CARD, "10000", "300");
+
+        rollupService.adjustFee(sale, new BigDecimal("300.00"));
+        verify(rollupRepository, never()).upsert(anyLong(), any(), anyInt(), anyString(), anyString(),
+                any(), any(), any(), anyLong());
+
+        rollupService.adjustFee(sale, new BigDecimal("250"));
+        verify(rollupRepository).upsert(1L, JAN_15, 9, "CARD", "OFFLINE",
+                BigDecimal.ZERO, new BigDecimal("50"), new BigDecimal("-50"), 0L);
+    }
+
+    @Test
+    @DisplayName("재계산은 하루씩 별도 트랜잭션으로 지우고 이전보다 큰 version 으로 다시 집계한 뒤 해당 가맹점의 대시보드 해시를 지움")
+    void rebuildPerDay() {
+        when(rollupRepository.insertFromSales(any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(5);
+        when(rollupRepository.findMaxVersionBySaleDate(any())).thenReturn(0L);
+        when(rollupRepository.findMaxVersionBySaleDate(JAN_15)).thenReturn(41L);
+        when(rollupRepository.findStoreIdsBySaleDate(any())).thenReturn(Collections.emptyList());
+        when(rollupRepository.findStoreIdsBySaleDate(JAN_15))
+                .thenReturn(Collections.singletonList(1L), Arrays.asList(1L, 2L));
+
+        int rows = rollupService.rebuild(JAN_15, JAN_15.plusDays(2));
+
+        assertThat(rows).isEqualTo(15);
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(rollupRepository).deleteBySaleDateBetween(JAN_15, JAN_15);
+        verify(rollupRepository).insertFromSales(JAN_15.atStartOfDay(), JAN_15.plusDays(1).atStartOfDay(), 42L);
+        verify(rollupRepository).insertFromSales(JAN_15.plusDays(2).atStartOfDay(), JAN_15.plusDays(3).atStartOfDay(), 1L);
+        verify(liveDashboardEngine, never()).rebuild(any());
+        verify(dashboardHashCache).evict(new HashSet<>(Arrays.asList(1L, 2L)), JAN_15);
+    }
+
+    private Sale sale(Long storeId, int hour, PaymentType paymentType, String amount, String fee) {
+        BigDecimal saleAmount = new BigDecimal(amount);
+        BigDecimal saleFee = new BigDecimal(fee);
+        return Sale.builder()
+                .store(Store.builder().id(storeId).build())
+                .transactionTime(JAN_15.atTime(hour, 30))
+                .paymentType(paymentType)
+                .channel(SaleChannel.OFFLINE)
+                .amount(saleAmount)
+                .fee(saleFee)
+                .netAmount(saleAmount.subtract(saleFee))
+                .build();
+    }
+}
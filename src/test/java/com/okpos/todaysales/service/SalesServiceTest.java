@@ -1,30 +1,50 @@
 package com.okpos.todaysales.service;
 
+import com.okpos.todaysales.dto.SaleBatchResponse;
 import com.okpos.todaysales.dto.SaleDashboard;
 import com.okpos.todaysales.dto.SaleRequest;
 import com.okpos.todaysales.dto.SaleResponse;
 import com.okpos.todaysales.entity.Sale;
+import com.okpos.todaysales.entity.Settlement;
+import com.okpos.todaysales.entity.SettlementAdjustment;
 import com.okpos.todaysales.entity.Store;
 import com.okpos.todaysales.entity.enums.*;
+import com.okpos.todaysales.event.EventPublisher;
+import com.okpos.todaysales.exception.InvalidRequestException;
+import com.okpos.todaysales.exception.SaleNotFoundException;
+import com.okpos.todaysales.exception.StoreNotFoundException;
 import com.okpos.todaysales.repository.SaleRepository;
+import com.okpos.todaysales.repository.SalesHourlyRollupRepository;
+import com.okpos.todaysales.repository.SettlementAdjustmentRepository;
 import com.okpos.todaysales.repository.StoreRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -40,6 +60,48 @@ class SalesServiceTest {
     @Mock
     private StoreRepository storeRepository;
     
+    @Mock
+    private EventPublisher eventPublisher;
+    
+    @Mock
+    private MetricsService metricsService;
+    
+    @Mock
+    private Validator validator;
+    
+    @Mock
+    private OrderNumberFilter orderNumberFilter;
+    
+    @Mock
+    private StoreReferenceCache storeReferenceCache;
+    
+    @Mock
+    private FeePolicy feePolicy;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Mock
+    private SaleCoalescer saleCoalescer;
+    
+    @Mock
+    private SettlementAdjustmentRepository settlementAdjustmentRepository;
+    
+    @Mock
+    private SaleStageMetrics saleStageMetrics;
+    
+    @Mock
+    private SalesRollupService salesRollupService;
+    
+    @Mock
+    private SalesHourlyRollupRepository salesHourlyRollupRepository;
+    
+    @Mock
+    private LiveDashboardEngine liveDashboardEngine;
+    
+    @Mock
+    private DashboardHashCache dashboardHashCache;
+    
     @InjectMocks
     private SalesService salesService;
     
@@ -81,12 +143,50 @@ class SalesServiceTest {
                 .build();
     }
     
+    private void givenStoreLookup() {
+        when(storeReferenceCache.get("123-45-67890")).thenReturn(Optional.of(StoreReference.from(testStore)));
+    }
+    
+    private void givenSaleInsert() {
+        when(storeRepository.getReferenceById(1L)).thenReturn(testStore);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+    
+    private SaleRequest saleRequest(String businessNumber, String orderNumber) {
+        return SaleRequest.builder()
+                .businessNumber(businessNumber)
+                .transactionTime(LocalDateTime.now().minusMinutes(10))
+                .amount(new BigDecimal("10000"))
+                .paymentType(PaymentType.CARD)
+                .channel(SaleChannel.ONLINE)
+                .orderNumber(orderNumber)
+                .build();
+    }
+    
+    private Sale completedSale() {
+        return Sale.builder()
+                .id(10L)
+                .store(testStore)
+                .transactionTime(LocalDateTime.now().minusDays(1))
+                .amount(new BigDecimal("10000"))
+                .paymentType(PaymentType.CARD)
+                .channel(SaleChannel.ONLINE)
+                .orderNumber("ORDER-001")
+                .fee(new BigDecimal("250"))
+                .netAmount(new BigDecimal("9750"))
+                .status(SaleStatus.COMPLETED)
+                .build();
+    }
+    
     @Test
     @DisplayName("카드 결제 매출 생성 - 수수료 2.5% 적용")
     void createCardSale() {
         // given
-        when(storeRepository.findByBusinessNumber("123-45-67890"))
-                .thenReturn(Optional.of(testStore));
+        givenStoreLookup();
+        givenSaleInsert();
+        when(feePolicy.feeOf(eq(new BigDecimal("10000")), eq(PaymentType.CARD), any(), eq(1L), any()))
+                .thenReturn(new BigDecimal("250.00"));
         
         Sale expectedSale = Sale.builder()
                 .id(1L)
@@ -101,7 +201,7 @@ class SalesServiceTest {
                 .status(SaleStatus.COMPLETED)
                 .build();
         
-        when(saleRepository.save(any(Sale.class))).thenReturn(expectedSale);
+        when(saleRepository.saveAndFlush(any(Sale.class))).thenReturn(expectedSale);
         
         // when
         SaleResponse response = salesService.createSale(cardSaleRequest);
@@ -113,16 +213,19 @@ class SalesServiceTest {
         assertThat(response.getNetAmount()).isEqualTo(new BigDecimal("9750.00"));
         assertThat(response.getPaymentType()).isEqualTo(PaymentType.CARD);
         
-        verify(storeRepository).findByBusinessNumber("123-45-67890");
-        verify(saleRepository).save(any(Sale.class));
+        verify(saleRepository).saveAndFlush(argThat(sale -> sale.getFee().compareTo(new BigDecimal("250.00")) == 0));
+        verify(salesRollupService).add(expectedSale);
+        verify(eventPublisher).publishSaleCreated(expectedSale, "테스트 매장");
     }
     
     @Test
     @DisplayName("현금 결제 매출 생성 - 수수료 0% 적용")
     void createCashSale() {
         // given
-        when(storeRepository.findByBusinessNumber("123-45-67890"))
-                .thenReturn(Optional.of(testStore));
+        givenStoreLookup();
+        givenSaleInsert();
+        when(feePolicy.feeOf(eq(new BigDecimal("5000")), eq(PaymentType.CASH), any(), eq(1L), any()))
+                .thenReturn(BigDecimal.ZERO);
         
         Sale expectedSale = Sale.builder()
                 .id(2L)
@@ -137,7 +240,7 @@ class SalesServiceTest {
                 .status(SaleStatus.COMPLETED)
                 .build();
         
-        when(saleRepository.save(any(Sale.class))).thenReturn(expectedSale);
+        when(saleRepository.saveAndFlush(any(Sale.class))).thenReturn(expectedSale);
         
         // when
         SaleResponse response = salesService.createSale(cashSaleRequest);
@@ -154,8 +257,7 @@ class SalesServiceTest {
     @DisplayName("존재하지 않는 사업자번호로 매출 생성시 예외 발생")
     void createSaleWithInvalidBusinessNumber() {
         // given
-        when(storeRepository.findByBusinessNumber("999-99-99999"))
-                .thenReturn(Optional.empty());
+        when(storeReferenceCache.get("999-99-99999")).thenReturn(Optional.empty());
         
         SaleRequest invalidRequest = SaleRequest.builder()
                 .businessNumber("999-99-99999")
@@ -168,38 +270,284 @@ class SalesServiceTest {
         
         // when & then
         assertThatThrownBy(() -> salesService.createSale(invalidRequest))
-                .isInstanceOf(IllegalArgumentException.class)
+                .isInstanceOf(StoreNotFoundException.class)
                 .hasMessageContaining("가맹점을 찾을 수 없습니다");
+        verify(saleRepository, never()).saveAndFlush(any(Sale.class));
+    }
+    
+    @Test
+    @DisplayName("일괄 등록 - 필터가 모르는 기존 주문번호로 유니크 제약에 걸리면 전체 주문번호를 조회하여 다시 등록")
+    @SuppressWarnings("unchecked")
+    void createSalesRetriesWithFullLookupOnUniqueViolation() {
+        // given: 필터는 두 주문번호 모두 없다고 판정하지만 ORDER-001 은 다른 노드가 이미 등록
+        givenSaleInsert();
+        Sale savedCashSale = Sale.builder()
+                .id(2L)
+                .store(testStore)
+                .transactionTime(cashSaleRequest.getTransactionTime())
+                .amount(new BigDecimal("5000"))
+                .paymentType(PaymentType.CASH)
+                .channel(SaleChannel.OFFLINE)
+                .orderNumber("ORDER-002")
+                .fee(BigDecimal.ZERO)
+                .netAmount(new BigDecimal("5000"))
+                .status(SaleStatus.COMPLETED)
+                .build();
+        when(storeReferenceCache.getAll(any())).thenReturn(Collections.singletonMap("123-45-67890", StoreReference.from(testStore)));
+        when(feePolicy.feeOf(any(BigDecimal.class), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+        when(saleRepository.findExistingOrderNumbers(any())).thenReturn(Collections.singletonList("ORDER-001"));
+        when(saleRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate",
+                        new SQLException("Duplicate entry 'ORDER-001'", "23000", 1062)))
+                .thenReturn(Collections.singletonList(savedCashSale));
+        
+        // when
+        SaleBatchResponse response = salesService.createSales(Arrays.asList(cardSaleRequest, cashSaleRequest));
+        
+        // then
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        assertThat(response.getDuplicateCount()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(SaleBatchResponse.ItemResult::getStatus)
+                .containsExactly(SaleBatchResponse.ItemStatus.DUPLICATE, SaleBatchResponse.ItemStatus.CREATED);
+        
+        ArgumentCaptor<Collection<String>> lookup = ArgumentCaptor.forClass(Collection.class);
+        verify(saleRepository).findExistingOrderNumbers(lookup.capture());
+        assertThat(lookup.getValue()).containsExactlyInAnyOrder("ORDER-001", "ORDER-002");
+        verify(orderNumberFilter).put("ORDER-002");
+        verify(orderNumberFilter, never()).put("ORDER-001");
+    }
+    
+    @Test
+    @DisplayName("일괄 등록 - 등록·중복·검증 실패가 섞인 요청을 건별 index 로 반환하고 가맹점·중복 조회는 배치당 1회")
+    @SuppressWarnings("unchecked")
+    void createSalesWithMixedResults() {
+        // given
+        givenSaleInsert();
+        Store otherStore = Store.builder()
+                .id(2L)
+                .businessNumber("234-56-78901")
+                .storeName("두번째 매장")
+                .category(StoreCategory.CAFE)
+                .status(StoreStatus.ACTIVE)
+                .build();
+        Map<String, StoreReference> stores = new HashMap<>();
+        stores.put("123-45-67890", StoreReference.from(testStore));
+        stores.put("234-56-78901", StoreReference.from(otherStore));
+        when(storeRepository.getReferenceById(2L)).thenReturn(otherStore);
+        when(storeReferenceCache.getAll(any())).thenReturn(stores);
+        when(feePolicy.feeOf(any(BigDecimal.class), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+        when(orderNumberFilter.mightContain(anyString()))
+                .thenAnswer(invocation -> "ORDER-EXISTING".equals(invocation.getArgument(0)));
+        when(saleRepository.findExistingOrderNumbers(any())).thenReturn(Collections.singletonList("ORDER-EXISTING"));
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        SaleRequest futureRequest = saleRequest("123-45-67890", "ORDER-FUTURE");
+        futureRequest.setTransactionTime(LocalDateTime.now().plusHours(1));
+        List<SaleRequest> requests = Arrays.asList(
+                saleRequest("123-45-67890", "ORDER-101"),
+                saleRequest("123-45-67890", "ORDER-EXISTING"),
+                futureRequest,
+                saleRequest("234-56-78901", "ORDER-101"),
+                saleRequest("234-56-78901", "ORDER-102"));
+        
+        // when
+        SaleBatchResponse response = salesService.createSales(requests);
+        
+        // then
+        assertThat(response.getTotalCount()).isEqualTo(5);
+        assertThat(response.getCreatedCount()).isEqualTo(2);
+        assertThat(response.getDuplicateCount()).isEqualTo(2);
+        assertThat(response.getInvalidCount()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(SaleBatchResponse.ItemResult::getIndex)
+                .containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getResults()).extracting(SaleBatchResponse.ItemResult::getStatus)
+                .containsExactly(SaleBatchResponse.ItemStatus.CREATED, SaleBatchResponse.ItemStatus.DUPLICATE,
+                        SaleBatchResponse.ItemStatus.INVALID, SaleBatchResponse.ItemStatus.DUPLICATE,
+                        SaleBatchResponse.ItemStatus.CREATED);
+        assertThat(response.getResults().get(0).getSale().getStoreName()).isEqualTo("테스트 매장");
+        assertThat(response.getResults().get(4).getSale().getStoreName()).isEqualTo("두번째 매장");
+        assertThat(response.getResults().get(2).getMessage()).contains("거래시간");
+        
+        ArgumentCaptor<Collection<String>> storeLookup = ArgumentCaptor.forClass(Collection.class);
+        verify(storeReferenceCache).getAll(storeLookup.capture());
+        assertThat(storeLookup.getValue()).containsExactlyInAnyOrder("123-45-67890", "234-56-78901");
+        verify(storeReferenceCache, never()).get(anyString());
+        
+        ArgumentCaptor<Collection<String>> orderLookup = ArgumentCaptor.forClass(Collection.class);
+        verify(saleRepository).findExistingOrderNumbers(orderLookup.capture());
+        assertThat(orderLookup.getValue()).containsExactly("ORDER-EXISTING");
+        verify(saleRepository).saveAll(argThat(sales -> ((List<Sale>) sales).size() == 2));
+        verify(salesRollupService).addAll(anyList());
+    }
+    
+    @Test
+    @DisplayName("일괄 등록 - 같은 요청 안에서 반복된 주문번호는 첫 건만 등록하고 나머지는 중복 처리")
+    void createSalesWithRepeatedOrderNumber() {
+        // given
+        givenSaleInsert();
+        when(storeReferenceCache.getAll(any())).thenReturn(Collections.singletonMap("123-45-67890", StoreReference.from(testStore)));
+        when(feePolicy.feeOf(any(BigDecimal.class), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        SaleRequest repeated = saleRequest("123-45-67890", "ORDER-001");
+        repeated.setAmount(new BigDecimal("7000"));
+        
+        // when
+        SaleBatchResponse response = salesService.createSales(
+                Arrays.asList(saleRequest("123-45-67890", "ORDER-001"), repeated));
+        
+        // then
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        assertThat(response.getDuplicateCount()).isEqualTo(1);
+        SaleBatchResponse.ItemResult duplicate = response.getResults().get(1);
+        assertThat(duplicate.getIndex()).isEqualTo(1);
+        assertThat(duplicate.getStatus()).isEqualTo(SaleBatchResponse.ItemStatus.DUPLICATE);
+        assertThat(duplicate.getMessage()).isEqualTo("요청 내 중복된 주문번호입니다: ORDER-001");
+        assertThat(response.getResults().get(0).getSale().getAmount()).isEqualByComparingTo("10000");
+        
+        // 필터가 모르는 주문번호뿐이므로 DB 중복 조회 없이 등록
+        verify(saleRepository, never()).findExistingOrderNumbers(any());
+        verify(orderNumberFilter, times(1)).put("ORDER-001");
+    }
+    
+    @Test
+    @DisplayName("일괄 등록 - 존재하지 않는 사업자번호 건만 검증 실패로 반환하고 나머지는 등록")
+    void createSalesWithUnknownBusinessNumber() {
+        // given
+        givenSaleInsert();
+        when(storeReferenceCache.getAll(any())).thenReturn(Collections.singletonMap("123-45-67890", StoreReference.from(testStore)));
+        when(feePolicy.feeOf(any(BigDecimal.class), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // when
+        SaleBatchResponse response = salesService.createSales(Arrays.asList(
+                saleRequest("999-99-99999", "ORDER-001"),
+                saleRequest("123-45-67890", "ORDER-002")));
+        
+        // then
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        assertThat(response.getInvalidCount()).isEqualTo(1);
+        SaleBatchResponse.ItemResult invalid = response.getResults().get(0);
+        assertThat(invalid.getIndex()).isEqualTo(0);
+        assertThat(invalid.getStatus()).isEqualTo(SaleBatchResponse.ItemStatus.INVALID);
+        assertThat(invalid.getMessage()).contains("가맹점을 찾을 수 없습니다");
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(SaleBatchResponse.ItemStatus.CREATED);
+        verify(orderNumberFilter, never()).put("ORDER-001");
+        verify(orderNumberFilter).put("ORDER-002");
+    }
+    
+    @Test
+    @DisplayName("정산된 매출 환불 - 집계 차감 후 금액·수수료·순액을 음수로 한 정산 조정 기록")
+    void refundSettledSaleRecordsNegativeAdjustment() {
+        // given
+        Sale sale = completedSale();
+        sale.setIsSettled(true);
+        sale.setSettlement(Settlement.builder().id(7L).build());
+        when(saleRepository.findByOrderNumberForUpdate("ORDER-001")).thenReturn(Optional.of(sale));
+        
+        // when
+        SaleResponse response = salesService.refundSale("ORDER-001", "고객 요청");
+        
+        // then
+        assertThat(response.getStatus()).isEqualTo(SaleStatus.REFUNDED);
+        assertThat(response.getDuplicate()).isNull();
+        assertThat(sale.getReversedAt()).isNotNull();
+        verify(salesRollupService).subtract(sale);
+        
+        ArgumentCaptor<SettlementAdjustment> adjustment = ArgumentCaptor.forClass(SettlementAdjustment.class);
+        verify(settlementAdjustmentRepository).save(adjustment.capture());
+        assertThat(adjustment.getValue().getSaleId()).isEqualTo(10L);
+        assertThat(adjustment.getValue().getStoreId()).isEqualTo(1L);
+        assertThat(adjustment.getValue().getType()).isEqualTo(SaleStatus.REFUNDED);
+        assertThat(adjustment.getValue().getAmount()).isEqualByComparingTo("-10000");
+        assertThat(adjustment.getValue().getFee()).isEqualByComparingTo("-250");
+        assertThat(adjustment.getValue().getNetAmount()).isEqualByComparingTo("-9750");
+        assertThat(adjustment.getValue().getOriginalSettlementId()).isEqualTo(7L);
+        assertThat(adjustment.getValue().getReason()).isEqualTo("고객 요청");
+        verify(metricsService).recordSaleReversed(new BigDecimal("10000"), "REFUNDED", true);
+    }
+    
+    @Test
+    @DisplayName("정산 전 매출 취소 - 집계만 차감하고 정산 조정은 기록하지 않음")
+    void cancelUnsettledSaleSkipsAdjustment() {
+        // given
+        Sale sale = completedSale();
+        when(saleRepository.findByOrderNumberForUpdate("ORDER-001")).thenReturn(Optional.of(sale));
+        
+        // when
+        SaleResponse response = salesService.cancelSale("ORDER-001", "주문 취소");
+        
+        // then
+        assertThat(response.getStatus()).isEqualTo(SaleStatus.CANCELLED);
+        assertThat(sale.getReversedAt()).isNotNull();
+        verify(salesRollupService).subtract(sale);
+        verifyNoInteractions(settlementAdjustmentRepository);
+        verify(metricsService).recordSaleReversed(new BigDecimal("10000"), "CANCELLED", false);
+    }
+    
+    @Test
+    @DisplayName("이미 취소된 매출의 취소 재전송 - 변경 없이 duplicate 표시와 함께 반환")
+    void cancelReplayReturnsDuplicate() {
+        // given
+        Sale sale = completedSale();
+        sale.setStatus(SaleStatus.CANCELLED);
+        when(saleRepository.findByOrderNumberForUpdate("ORDER-001")).thenReturn(Optional.of(sale));
+        
+        // when
+        SaleResponse response = salesService.cancelSale("ORDER-001", "주문 취소");
+        
+        // then
+        assertThat(response.getStatus()).isEqualTo(SaleStatus.CANCELLED);
+        assertThat(response.getDuplicate()).isTrue();
+        assertThat(sale.getReversedAt()).isNull();
+        verifyNoInteractions(salesRollupService, settlementAdjustmentRepository, metricsService);
+    }
+    
+    @Test
+    @DisplayName("완료 상태가 아닌 매출 환불시 예외 발생")
+    void refundCancelledSaleRejected() {
+        // given
+        Sale sale = completedSale();
+        sale.setStatus(SaleStatus.CANCELLED);
+        when(saleRepository.findByOrderNumberForUpdate("ORDER-001")).thenReturn(Optional.of(sale));
+        
+        // when & then
+        assertThatThrownBy(() -> salesService.refundSale("ORDER-001", "고객 요청"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("취소 상태의 매출은 환불할 수 없습니다");
+        assertThat(sale.getStatus()).isEqualTo(SaleStatus.CANCELLED);
+        verifyNoInteractions(salesRollupService, settlementAdjustmentRepository);
+    }
+    
+    @Test
+    @DisplayName("존재하지 않는 주문번호 취소시 예외 발생")
+    void cancelUnknownOrderNumber() {
+        // given
+        when(saleRepository.findByOrderNumberForUpdate("ORDER-999")).thenReturn(Optional.empty());
+        
+        // when & then
+        assertThatThrownBy(() -> salesService.cancelSale("ORDER-999", "주문 취소"))
+                .isInstanceOf(SaleNotFoundException.class)
+                .hasMessageContaining("ORDER-999");
+        verifyNoInteractions(salesRollupService, settlementAdjustmentRepository);
     }
     
     @Test
     @DisplayName("대시보드 데이터 조회")
     void getDashboard() {
         // given
+        givenStoreLookup();
         LocalDate testDate = LocalDate.now();
         String businessNumber = "123-45-67890";
         
-        when(saleRepository.findTotalAmountByBusinessNumberAndDate(businessNumber, testDate))
-                .thenReturn(new BigDecimal("50000"));
-        when(saleRepository.countByBusinessNumberAndDate(businessNumber, testDate))
-                .thenReturn(5L);
-        
-        // 결제수단별 통계 모킹
-        List<Object[]> paymentStats = Arrays.asList(
-                new Object[]{PaymentType.CARD, new BigDecimal("30000"), 3L, new BigDecimal("750"), new BigDecimal("29250")},
-                new Object[]{PaymentType.CASH, new BigDecimal("20000"), 2L, BigDecimal.ZERO, new BigDecimal("20000")}
+        // 시간대 × 결제수단 집계 행 모킹 (시간대, 결제수단, 금액, 건수, 수수료, 순액)
+        List<Object[]> rows = Arrays.asList(
+                new Object[]{9, PaymentType.CARD, new BigDecimal("10000"), 1L, new BigDecimal("250"), new BigDecimal("9750")},
+                new Object[]{14, PaymentType.CARD, new BigDecimal("20000"), 2L, new BigDecimal("500"), new BigDecimal("19500")},
+                new Object[]{14, PaymentType.CASH, new BigDecimal("5000"), 1L, BigDecimal.ZERO, new BigDecimal("5000")},
+                new Object[]{19, PaymentType.CASH, new BigDecimal("15000"), 1L, BigDecimal.ZERO, new BigDecimal("15000")}
         );
-        when(saleRepository.findPaymentTypeStatisticsByBusinessNumberAndDate(businessNumber, testDate))
-                .thenReturn(paymentStats);
-        
-        // 시간대별 통계 모킹
-        List<Object[]> hourlyStats = Arrays.asList(
-                new Object[]{9, new BigDecimal("10000"), 1L},
-                new Object[]{14, new BigDecimal("25000"), 2L},
-                new Object[]{19, new BigDecimal("15000"), 2L}
-        );
-        when(saleRepository.findHourlyStatisticsByBusinessNumberAndDate(businessNumber, testDate))
-                .thenReturn(hourlyStats);
+        when(salesHourlyRollupRepository.findDashboardRows(1L, testDate)).thenReturn(rows);
         
         // when
         SaleDashboard dashboard = salesService.getDashboard(businessNumber, testDate);
@@ -207,25 +555,28 @@ class SalesServiceTest {
         // then
         assertThat(dashboard).isNotNull();
         assertThat(dashboard.getDate()).isEqualTo(testDate);
-        assertThat(dashboard.getTotalAmount()).isEqualTo(new BigDecimal("50000"));
+        assertThat(dashboard.getTotalAmount()).isEqualByComparingTo("50000");
         assertThat(dashboard.getTotalCount()).isEqualTo(5);
         assertThat(dashboard.getPaymentTypeStatistics()).hasSize(2);
         assertThat(dashboard.getHourlyStatistics()).hasSize(3);
+        verify(salesHourlyRollupRepository, atLeastOnce()).findDashboardRows(1L, testDate);
+        verifyNoInteractions(saleRepository);
     }
     
     @Test
-    @DisplayName("매출 목록 조회 - 페이징")
+    @DisplayName("매출 목록 조회 - 페이징, 종료 일시 포함")
     void getSalesWithPaging() {
         // given
+        givenStoreLookup();
         String businessNumber = "123-45-67890";
-        LocalDateTime startDate = LocalDateTime.now().minusDays(7);
-        LocalDateTime endDate = LocalDateTime.now();
+        LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
         Pageable pageable = PageRequest.of(0, 10);
         
         Sale sale1 = Sale.builder()
                 .id(1L)
                 .store(testStore)
-                .transactionTime(LocalDateTime.now().minusDays(1))
+                .transactionTime(endDate)
                 .amount(new BigDecimal("10000"))
                 .paymentType(PaymentType.CARD)
                 .channel(SaleChannel.ONLINE)
@@ -238,7 +589,7 @@ class SalesServiceTest {
         Sale sale2 = Sale.builder()
                 .id(2L)
                 .store(testStore)
-                .transactionTime(LocalDateTime.now().minusDays(2))
+                .transactionTime(endDate.minusDays(1))
                 .amount(new BigDecimal("5000"))
                 .paymentType(PaymentType.CASH)
                 .channel(SaleChannel.OFFLINE)
@@ -251,7 +602,8 @@ class SalesServiceTest {
         List<Sale> sales = Arrays.asList(sale1, sale2);
         Page<Sale> salesPage = new PageImpl<>(sales, pageable, 2);
         
-        when(saleRepository.findByBusinessNumberAndDateRange(businessNumber, startDate, endDate, pageable))
+        // 종료 일시까지 포함하도록 다음 마이크로초를 반열린 구간의 끝으로 조회
+        when(saleRepository.findByStoreIdAndDateRange(1L, startDate, endDate.plusNanos(1_000), pageable))
                 .thenReturn(salesPage);
         
         // when
@@ -0,0 +1,100 @@
+package com.okpos.todaysales.service;
+
+import com.okpos.todaysales.entity.Store;
+import com.okpos.todaysales.entity.enums.StoreCategory;
+import com.okpos.todaysales.entity.enums.StoreStatus;
+import com.okpos.todaysales.event.StoreChangedEvent;
+import com.okpos.todaysales.repository.StoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StoreReferenceCacheTest {
+
+    private static final String BUSINESS_NUMBER = "123-45-67890";
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    private StoreReferenceCache cache;
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StoreReferenceCache(storeRepository, new SimpleMeterRegistry(), 60);
+        store = Store.builder()
+                .id(1L)
+                .businessNumber(BUSINESS_NUMBER)
+                .storeName("테스트 매장")
+                .category(StoreCategory.RESTAURANT)
+                .status(StoreStatus.ACTIVE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("두 번째 조회부터는 DB 를 조회하지 않음")
+    void cachesSnapshot() {
+        when(storeRepository.findByBusinessNumber(BUSINESS_NUMBER)).thenReturn(Optional.of(store));
+
+        assertThat(cache.get(BUSINESS_NUMBER)).map(StoreReference::getStoreName).hasValue("테스트 매장");
+        assertThat(cache.get(BUSINESS_NUMBER)).map(StoreReference::getId).hasValue(1L);
+
+        verify(storeRepository, times(1)).findByBusinessNumber(BUSINESS_NUMBER);
+    }
+
+    @Test
+    @DisplayName("가맹점 변경 이벤트로 무효화된 후에는 변경된 가맹점 정보를 다시 조회")
+    void invalidate() {
+        when(storeRepository.findByBusinessNumber(BUSINESS_NUMBER)).thenReturn(Optional.of(store));
+        cache.get(BUSINESS_NUMBER);
+
+        store.setStatus(StoreStatus.SUSPENDED);
+        cache.onStoreChanged(new StoreChangedEvent(store.getId(), BUSINESS_NUMBER));
+
+        assertThat(cache.get(BUSINESS_NUMBER)).map(StoreReference::isActive).hasValue(false);
+        verify(storeRepository, times(2)).findByBusinessNumber(BUSINESS_NUMBER);
+    }
+
+    @Test
+    @DisplayName("조회 도중 무효화된 경우 조회 결과를 캐시하지 않음")
+    void skipCachingWhenInvalidatedDuringLoad() {
+        when(storeRepository.findByBusinessNumber(BUSINESS_NUMBER)).thenAnswer(invocation -> {
+            cache.invalidate(store.getId(), BUSINESS_NUMBER);
+            return Optional.of(store);
+        });
+
+        cache.get(BUSINESS_NUMBER);
+        cache.get(BUSINESS_NUMBER);
+
+        verify(storeRepository, times(2)).findByBusinessNumber(BUSINESS_NUMBER);
+    }
+
+    @Test
+    @DisplayName("일괄 조회 시 캐시에 없는 가맹점만 IN 쿼리로 조회")
+    void getAllLoadsMissingOnly() {
+        when(storeRepository.findByBusinessNumber(BUSINESS_NUMBER)).thenReturn(Optional.of(store));
+        cache.get(BUSINESS_NUMBER);
+
+        when(storeRepository.findByBusinessNumberIn(anyCollection())).thenReturn(Collections.emptyList());
+        Map<String, StoreReference> result = cache.getAll(Arrays.asList(BUSINESS_NUMBER, "999-99-99999"));
+
+        assertThat(result).containsOnlyKeys(BUSINESS_NUMBER);
+        verify(storeRepository).findByBusinessNumberIn(Collections.singletonList("999-99-99999"));
+    }
+}